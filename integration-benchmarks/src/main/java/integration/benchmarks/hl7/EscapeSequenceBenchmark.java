@@ -0,0 +1,69 @@
+package integration.benchmarks.hl7;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import integration.messaging.hl7.datamodel.EscapeSequenceEnum;
+
+/**
+ * Benchmarks for escaping and unescaping HL7 text.
+ * 
+ * @author Brendan Douglas
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EscapeSequenceBenchmark {
+
+    // The length of the text in characters.
+    @Param({"32", "1024", "32768"})
+    public int length;
+
+    // Does the text contain characters which need escaping?
+    @Param({"true", "false"})
+    public boolean containsSpecialCharacters;
+
+    private String text;
+    private String escapedText;
+
+    @Setup
+    public void setup() {
+        String sample = containsSpecialCharacters ? "Result 5.2 | ref 3.5^5.1 & see ~ note \\ " : "Result 5.2 within the reference range. ";
+
+        StringBuilder sb = new StringBuilder(length);
+
+        while (sb.length() < length) {
+            sb.append(sample);
+        }
+
+        text = sb.substring(0, length);
+        escapedText = EscapeSequenceEnum.escape(text);
+    }
+
+
+    @Benchmark
+    public String escape() {
+        return EscapeSequenceEnum.escape(text);
+    }
+
+
+    @Benchmark
+    public String unescape() {
+        return EscapeSequenceEnum.unescape(escapedText);
+    }
+}
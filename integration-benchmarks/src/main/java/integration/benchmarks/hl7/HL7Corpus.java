@@ -0,0 +1,96 @@
+package integration.benchmarks.hl7;
+
+/**
+ * Builds the HL7 messages used by the benchmarks.
+ * 
+ * The messages are generated rather than read from files so every run uses exactly the same input.  The ADT message is a typical
+ * admission.  The ORU messages are lab results with a varying number of OBX segments (and an NTE for every 5th result) so the effect of
+ * message size can be seen.
+ * 
+ * @author Brendan Douglas
+ *
+ */
+public final class HL7Corpus {
+    public static final String ADT_A01 = "ADT_A01";
+    public static final String ORU_R01_10 = "ORU_R01_10";
+    public static final String ORU_R01_100 = "ORU_R01_100";
+    public static final String ORU_R01_1000 = "ORU_R01_1000";
+
+    private static final String[][] TESTS = {
+        {"2345-7", "Glucose", "mg/dL", "70-110"},
+        {"2160-0", "Creatinine", "mg/dL", "0.6-1.3"},
+        {"2951-2", "Sodium", "mmol/L", "135-145"},
+        {"2823-3", "Potassium", "mmol/L", "3.5-5.1"},
+        {"718-7", "Hemoglobin", "g/dL", "13.5-17.5"},
+        {"6690-2", "Leukocytes", "10*3/uL", "4.5-11.0"}
+    };
+
+    private HL7Corpus() {
+    }
+
+
+    /**
+     * Returns a message by name.
+     * 
+     * @param name
+     * @return
+     */
+    public static String get(String name) {
+        switch (name) {
+        case ADT_A01:
+            return adtA01();
+        case ORU_R01_10:
+            return oruR01(10);
+        case ORU_R01_100:
+            return oruR01(100);
+        case ORU_R01_1000:
+            return oruR01(1000);
+        default:
+            throw new IllegalArgumentException("Unknown message: " + name);
+        }
+    }
+
+
+    public static String adtA01() {
+        StringBuilder sb = new StringBuilder();
+
+        sb.append("MSH|^~\\&|PAS|GENHOSP|RIS|GENHOSP|20240312083015||ADT^A01^ADT_A01|MSG00001|P|2.4|||AL|NE\r");
+        sb.append("EVN|A01|20240312083000|||JSMITH^Smith^John^^^Dr\r");
+        sb.append("PID|1||123456789^^^GENHOSP^MR~9876543210^^^NHS^NH||DOUGLAS^BRENDAN^J^^MR||19750412|M|||12 HIGH STREET^^SPRINGFIELD^^SP1 2AB^GBR^H||01632960123^PRN^PH~07700900123^ORN^CP||EN|M|C of E|A1234567|||||||||GBR\r");
+        sb.append("PD1|||GENERAL PRACTICE^^G12345|G1234567^JONES^ALAN^^^DR\r");
+        sb.append("NK1|1|DOUGLAS^JANE|SPO^Spouse|12 HIGH STREET^^SPRINGFIELD^^SP1 2AB^GBR|01632960124\r");
+        sb.append("PV1|1|I|WARD5^BED12^^GENHOSP||||C1234^BROWN^SARAH^^^DR|||MED||||19|||C1234^BROWN^SARAH^^^DR|IP|V0001234^^^GENHOSP^VN|||||||||||||||||||||||||20240312083000\r");
+        sb.append("AL1|1|DA|PEN^Penicillin^L|SV|Rash\r");
+        sb.append("AL1|2|FA|NUT^Peanuts^L|MO|Swelling\r");
+        sb.append("DG1|1|I10|J18.9^Pneumonia, unspecified^I10||20240312|A");
+
+        return sb.toString();
+    }
+
+
+    public static String oruR01(int numberOfResults) {
+        StringBuilder sb = new StringBuilder();
+
+        sb.append("MSH|^~\\&|LAB|GENHOSP|EPR|GENHOSP|20240312101500||ORU^R01^ORU_R01|MSG00002|P|2.4|||AL|NE\r");
+        sb.append("PID|1||123456789^^^GENHOSP^MR~9876543210^^^NHS^NH||DOUGLAS^BRENDAN^J^^MR||19750412|M|||12 HIGH STREET^^SPRINGFIELD^^SP1 2AB^GBR^H\r");
+        sb.append("PV1|1|I|WARD5^BED12^^GENHOSP||||C1234^BROWN^SARAH^^^DR\r");
+        sb.append("ORC|RE|ORD448811^EPR|LAB990011^LAB||CM||||20240312090000|||C1234^BROWN^SARAH^^^DR\r");
+        sb.append("OBR|1|ORD448811^EPR|LAB990011^LAB|24323-8^Comprehensive metabolic panel^LN|||20240312090000|||||||20240312091500||C1234^BROWN^SARAH^^^DR||||||20240312101000|||F");
+
+        for (int i = 1; i <= numberOfResults; i++) {
+            String[] test = TESTS[i % TESTS.length];
+            String flag = i % 7 == 0 ? "H" : "N";
+
+            sb.append("\rOBX|").append(i).append("|NM|").append(test[0]).append('^').append(test[1]).append("^LN||")
+                .append(50 + (i * 37) % 100).append('.').append(i % 10).append('|')
+                .append(test[2]).append("^^UCUM|").append(test[3]).append('|').append(flag)
+                .append("|||F|||20240312101000||LABTECH1^Technician^Lab");
+
+            if (i % 5 == 0) {
+                sb.append("\rNTE|1|L|Result verified by second analyser run \\T\\ checked against previous result.");
+            }
+        }
+
+        return sb.toString();
+    }
+}
@@ -0,0 +1,95 @@
+package integration.benchmarks.hl7;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import integration.messaging.hl7.datamodel.HL7Message;
+import integration.messaging.hl7.datamodel.Segment;
+
+/**
+ * Benchmarks for the HL7 message operations used when processing a message.
+ * 
+ * The components always create the HL7 message from the stored content so, apart from parse, each benchmark includes parsing the message
+ * followed by the operation.  Run with -prof gc to see the allocation per operation.
+ * 
+ * @author Brendan Douglas
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HL7MessageBenchmark {
+
+    @Param({HL7Corpus.ADT_A01, HL7Corpus.ORU_R01_10, HL7Corpus.ORU_R01_100, HL7Corpus.ORU_R01_1000})
+    public String messageName;
+
+    private String content;
+
+    @Setup
+    public void setup() {
+        content = HL7Corpus.get(messageName);
+    }
+
+
+    @Benchmark
+    public HL7Message parse() {
+        return new HL7Message(content);
+    }
+
+
+    @Benchmark
+    public String parseAndReadMessageType() throws Exception {
+        return new HL7Message(content).getMessageTypeField().value();
+    }
+
+
+    @Benchmark
+    public String parseAndToString() {
+        return new HL7Message(content).toString();
+    }
+
+
+    @Benchmark
+    public int getSegmentCount() throws Exception {
+        return new HL7Message(content).getSegmentCount("OBX");
+    }
+
+
+    @Benchmark
+    public List<Segment> getSegmentsMatchingValue() throws Exception {
+        return new HL7Message(content).getSegmentsMatchingValue("OBX", 3, 1, "2345-7");
+    }
+
+
+    @Benchmark
+    public String changeMessageVersion() throws Exception {
+        HL7Message message = new HL7Message(content);
+        message.changeMessageVersion("2.5");
+
+        return message.toString();
+    }
+
+
+    @Benchmark
+    public String removeAllSegments() throws Exception {
+        HL7Message message = new HL7Message(content);
+        message.removeAllSegments("NTE");
+
+        return message.toString();
+    }
+}
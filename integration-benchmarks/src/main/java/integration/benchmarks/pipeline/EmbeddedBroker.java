@@ -0,0 +1,59 @@
+package integration.benchmarks.pipeline;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.activemq.artemis.core.config.Configuration;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.JournalType;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+
+/**
+ * An Artemis broker running in the benchmark JVM.  The application connects to it using the in-vm acceptor.
+ * 
+ * When persistence is enabled the journal is written to a temporary directory with datasync enabled, the same as the broker
+ * configuration in apache-activemq-artemis/broker.xml, so the cost of persistent messaging is included in the results.
+ * 
+ * @author Brendan Douglas
+ */
+public class EmbeddedBroker implements AutoCloseable {
+    public static final String BROKER_URL = "vm://0";
+
+    private final EmbeddedActiveMQ server;
+
+    private EmbeddedBroker(EmbeddedActiveMQ server) {
+        this.server = server;
+    }
+
+
+    public static EmbeddedBroker start(boolean persistent) throws Exception {
+        Configuration config = new ConfigurationImpl();
+        config.setName("pipeline-benchmark");
+        config.setSecurityEnabled(false);
+        config.setPersistenceEnabled(persistent);
+        config.addAcceptorConfiguration("in-vm", BROKER_URL);
+
+        if (persistent) {
+            Path dataDirectory = Files.createTempDirectory("pipeline-benchmark-broker");
+
+            config.setJournalType(JournalType.NIO);
+            config.setJournalDatasync(true);
+            config.setJournalDirectory(dataDirectory.resolve("journal").toString());
+            config.setBindingsDirectory(dataDirectory.resolve("bindings").toString());
+            config.setPagingDirectory(dataDirectory.resolve("paging").toString());
+            config.setLargeMessagesDirectory(dataDirectory.resolve("large-messages").toString());
+        }
+
+        EmbeddedActiveMQ server = new EmbeddedActiveMQ();
+        server.setConfiguration(config);
+        server.start();
+
+        return new EmbeddedBroker(server);
+    }
+
+
+    @Override
+    public void close() throws Exception {
+        server.stop();
+    }
+}
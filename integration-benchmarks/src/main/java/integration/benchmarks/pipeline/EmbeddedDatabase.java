@@ -0,0 +1,66 @@
+package integration.benchmarks.pipeline;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Statement;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * A Postgres server running as a child process of the benchmark.  The integration database is created using the same script as the
+ * postgres container (postgres/init) so the benchmark uses the real schema, indexes and SKIP LOCKED event selection.
+ * 
+ * @author Brendan Douglas
+ */
+public class EmbeddedDatabase implements AutoCloseable {
+    private static final String DATABASE_NAME = "integration";
+    private static final String USER_NAME = "postgres";
+    private static final String SCHEMA_SCRIPT = "/schema/01-create-table-structure.sql";
+
+    private final EmbeddedPostgres postgres;
+
+    private EmbeddedDatabase(EmbeddedPostgres postgres) {
+        this.postgres = postgres;
+    }
+
+
+    public static EmbeddedDatabase start() throws Exception {
+        EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+
+        try (Connection connection = postgres.getPostgresDatabase().getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE DATABASE " + DATABASE_NAME);
+        }
+
+        // The script contains DO blocks so is sent as a single statement rather than being split.
+        try (InputStream in = EmbeddedDatabase.class.getResourceAsStream(SCHEMA_SCRIPT)) {
+            if (in == null) {
+                throw new IllegalStateException("Schema script not found: " + SCHEMA_SCRIPT);
+            }
+
+            String script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+
+            try (Connection connection = postgres.getDatabase(USER_NAME, DATABASE_NAME).getConnection(); Statement statement = connection.createStatement()) {
+                statement.execute(script);
+            }
+        }
+
+        return new EmbeddedDatabase(postgres);
+    }
+
+
+    public String getJdbcUrl() {
+        return "jdbc:postgresql://localhost:" + postgres.getPort() + "/" + DATABASE_NAME;
+    }
+
+
+    public String getUserName() {
+        return USER_NAME;
+    }
+
+
+    @Override
+    public void close() throws Exception {
+        postgres.close();
+    }
+}
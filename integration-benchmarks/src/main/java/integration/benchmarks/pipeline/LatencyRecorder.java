@@ -0,0 +1,55 @@
+package integration.benchmarks.pipeline;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records latencies into a preallocated array so recording does not allocate and distort the heap allocation figures.
+ * Latencies recorded after the array is full are dropped.
+ * 
+ * @author Brendan Douglas
+ */
+class LatencyRecorder {
+    private final long[] latencies;
+    private final AtomicInteger count = new AtomicInteger();
+
+    LatencyRecorder(int capacity) {
+        this.latencies = new long[capacity];
+    }
+
+
+    void record(long latencyNanos) {
+        int index = count.getAndIncrement();
+
+        if (index < latencies.length) {
+            latencies[index] = latencyNanos;
+        }
+    }
+
+
+    int getCount() {
+        return Math.min(count.get(), latencies.length);
+    }
+
+
+    /**
+     * Returns the percentile in milliseconds.
+     * 
+     * @param percentile between 0 and 100.
+     * @return
+     */
+    double getPercentileMillis(double percentile) {
+        int size = getCount();
+
+        if (size == 0) {
+            return 0;
+        }
+
+        long[] sorted = Arrays.copyOf(latencies, size);
+        Arrays.sort(sorted);
+
+        int index = (int)Math.ceil(percentile / 100.0 * size) - 1;
+
+        return sorted[Math.max(0, Math.min(size - 1, index))] / 1_000_000.0;
+    }
+}
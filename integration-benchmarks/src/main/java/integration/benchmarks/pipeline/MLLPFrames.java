@@ -0,0 +1,128 @@
+package integration.benchmarks.pipeline;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads and writes MLLP framed HL7 messages for the load driver and sink.
+ * 
+ * @author Brendan Douglas
+ */
+final class MLLPFrames {
+    private static final int START_BLOCK = 0x0b;
+    private static final int END_BLOCK = 0x1c;
+    private static final int CARRIAGE_RETURN = 0x0d;
+
+    private MLLPFrames() {
+    }
+
+
+    static void write(OutputStream out, String message) throws IOException {
+        out.write(START_BLOCK);
+        out.write(message.getBytes(StandardCharsets.UTF_8));
+        out.write(END_BLOCK);
+        out.write(CARRIAGE_RETURN);
+        out.flush();
+    }
+
+
+    /**
+     * Reads the next message.  Returns null when the connection has been closed.
+     * 
+     * @param in
+     * @return
+     * @throws IOException
+     */
+    static String read(InputStream in) throws IOException {
+        int b = in.read();
+
+        while (b != -1 && b != START_BLOCK) {
+            b = in.read();
+        }
+
+        if (b == -1) {
+            return null;
+        }
+
+        ByteArrayOutputStream message = new ByteArrayOutputStream(1024);
+
+        while ((b = in.read()) != -1) {
+            if (b == END_BLOCK) {
+                in.read(); // The trailing carriage return.
+                return message.toString(StandardCharsets.UTF_8);
+            }
+
+            message.write(b);
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Returns MSH-10 (message control id).
+     * 
+     * @param message
+     * @return
+     */
+    static String getControlId(String message) {
+        int start = nthFieldSeparator(message, 9);
+        
+        if (start == -1) {
+            return null;
+        }
+        
+        int end = message.indexOf('|', start + 1);
+
+        return message.substring(start + 1, end == -1 ? message.length() : end);
+    }
+
+
+    /**
+     * Returns a copy of the message with MSH-10 (message control id) replaced.
+     * 
+     * @param message
+     * @param controlId
+     * @return
+     */
+    static String withControlId(String message, String controlId) {
+        int start = nthFieldSeparator(message, 9);
+        int end = message.indexOf('|', start + 1);
+
+        return message.substring(0, start + 1) + controlId + message.substring(end);
+    }
+
+
+    /**
+     * Creates an ACK for the message.
+     * 
+     * @param controlId
+     * @return
+     */
+    static String ack(String controlId) {
+        return "MSH|^~\\&|SINK|BENCHMARK|||||ACK|" + controlId + "|P|2.5\rMSA|AA|" + controlId;
+    }
+
+
+    static boolean isPositiveAck(String ack) {
+        return ack != null && (ack.contains("MSA|AA") || ack.contains("MSA|CA"));
+    }
+
+
+    private static int nthFieldSeparator(String message, int n) {
+        int index = -1;
+
+        for (int i = 0; i < n; i++) {
+            index = message.indexOf('|', index + 1);
+
+            if (index == -1) {
+                return -1;
+            }
+        }
+
+        return index;
+    }
+}
@@ -0,0 +1,105 @@
+package integration.benchmarks.pipeline;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends messages to the inbound MLLP adapter at a fixed rate over one or more connections and waits for each ACK.
+ * 
+ * The send time recorded for each message is the time it was scheduled to be sent rather than when it was actually sent.  If the
+ * engine cannot keep up the queueing delay is included in the latency instead of being hidden by the driver slowing down.
+ * 
+ * @author Brendan Douglas
+ */
+public class MLLPLoadDriver {
+    public static final String THREAD_NAME_PREFIX = "benchmark-driver-";
+
+    private final int port;
+    private final int connections;
+    private final Map<String, Long> sendTimes;
+
+    public MLLPLoadDriver(int port, int connections, Map<String, Long> sendTimes) {
+        this.port = port;
+        this.connections = connections;
+        this.sendTimes = sendTimes;
+    }
+
+
+    /**
+     * Sends the messages and waits for all of them to be acknowledged.
+     * 
+     * @param message the message to send.  Each copy is given a unique control id.
+     * @param numberOfMessages
+     * @param rate messages per second across all the connections.  0 sends as fast as the ACKs are returned.
+     * @param controlIdPrefix
+     * @return the number of messages which were not positively acknowledged.
+     * @throws Exception
+     */
+    public int send(String message, int numberOfMessages, int rate, String controlIdPrefix) throws Exception {
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        long intervalNanos = rate > 0 ? 1_000_000_000L / rate : 0;
+        long startNanos = System.nanoTime();
+
+        List<Thread> threads = new ArrayList<>();
+        List<Exception> errors = new ArrayList<>();
+
+        for (int i = 0; i < connections; i++) {
+            Thread thread = new Thread(() -> {
+                try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port); 
+                        InputStream in = new BufferedInputStream(socket.getInputStream()); 
+                        OutputStream out = new BufferedOutputStream(socket.getOutputStream())) {
+                    
+                    socket.setTcpNoDelay(true);
+
+                    int index;
+
+                    while ((index = next.getAndIncrement()) < numberOfMessages) {
+                        long scheduledNanos = startNanos + index * intervalNanos;
+                        long waitNanos = scheduledNanos - System.nanoTime();
+
+                        if (waitNanos > 0) {
+                            LockSupport.parkNanos(waitNanos);
+                        }
+
+                        String controlId = controlIdPrefix + index;
+                        sendTimes.put(controlId, intervalNanos > 0 ? scheduledNanos : System.nanoTime());
+
+                        MLLPFrames.write(out, MLLPFrames.withControlId(message, controlId));
+
+                        if (!MLLPFrames.isPositiveAck(MLLPFrames.read(in))) {
+                            failed.incrementAndGet();
+                        }
+                    }
+                } catch (IOException e) {
+                    synchronized (errors) {
+                        errors.add(e);
+                    }
+                }
+            }, THREAD_NAME_PREFIX + i);
+
+            threads.add(thread);
+            thread.start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        if (!errors.isEmpty()) {
+            throw errors.get(0);
+        }
+
+        return failed.get();
+    }
+}
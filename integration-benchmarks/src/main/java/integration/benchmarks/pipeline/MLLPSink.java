@@ -0,0 +1,151 @@
+package integration.benchmarks.pipeline;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The MLLP server the outbound adapter sends to.  Every message is acknowledged and the end to end latency recorded using
+ * the time the load driver sent the message with the same control id.
+ * 
+ * @author Brendan Douglas
+ */
+public class MLLPSink implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MLLPSink.class);
+
+    public static final String THREAD_NAME_PREFIX = "benchmark-sink-";
+
+    private final ServerSocket serverSocket;
+    private final Map<String, Long> sendTimes;
+    private final AtomicInteger threadNumber = new AtomicInteger(1);
+    private final AtomicLong received = new AtomicLong();
+
+    private volatile LatencyRecorder latencies;
+    private volatile long lastReceivedNanos;
+
+    public MLLPSink(Map<String, Long> sendTimes) throws IOException {
+        this.sendTimes = sendTimes;
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+
+        Thread acceptor = new Thread(this::acceptConnections, THREAD_NAME_PREFIX + "acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+
+    /**
+     * Resets the received count and starts recording latencies for a new phase.
+     * 
+     * @param expected
+     */
+    public void reset(int expected) {
+        this.latencies = new LatencyRecorder(expected);
+        this.received.set(0);
+    }
+
+
+    public long getReceived() {
+        return received.get();
+    }
+
+
+    public long getLastReceivedNanos() {
+        return lastReceivedNanos;
+    }
+
+
+    public LatencyRecorder getLatencies() {
+        return latencies;
+    }
+
+
+    /**
+     * Waits until the expected number of messages have been received.
+     * 
+     * @param expected
+     * @param timeout
+     * @param unit
+     * @return true if all the messages were received.
+     * @throws InterruptedException
+     */
+    public boolean await(long expected, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+
+        while (received.get() < expected) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+
+            Thread.sleep(10);
+        }
+
+        return true;
+    }
+
+
+    private void acceptConnections() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+
+                Thread handler = new Thread(() -> handleConnection(socket), THREAD_NAME_PREFIX + threadNumber.getAndIncrement());
+                handler.setDaemon(true);
+                handler.start();
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    LOGGER.warn("Sink unable to accept connection", e);
+                }
+            }
+        }
+    }
+
+
+    private void handleConnection(Socket socket) {
+        try (socket; InputStream in = new BufferedInputStream(socket.getInputStream()); OutputStream out = new BufferedOutputStream(socket.getOutputStream())) {
+            String message;
+
+            while ((message = MLLPFrames.read(in)) != null) {
+                long now = System.nanoTime();
+                String controlId = MLLPFrames.getControlId(message);
+
+                Long sendTime = sendTimes.get(controlId);
+
+                if (sendTime != null) {
+                    latencies.record(now - sendTime);
+                }
+
+                lastReceivedNanos = now;
+                received.incrementAndGet();
+
+                MLLPFrames.write(out, MLLPFrames.ack(controlId));
+            }
+        } catch (IOException e) {
+            if (!serverSocket.isClosed()) {
+                LOGGER.warn("Sink connection closed", e);
+            }
+        }
+    }
+
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+}
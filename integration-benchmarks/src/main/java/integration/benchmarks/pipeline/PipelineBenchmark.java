@@ -0,0 +1,174 @@
+package integration.benchmarks.pipeline;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import integration.benchmarks.hl7.HL7Corpus;
+import integration.messaging.hl7.datamodel.HL7Message;
+
+/**
+ * End to end throughput benchmark.  Starts an embedded Postgres database and Artemis broker, boots the {@link integration.benchmarks.pipeline.route.PipelineBenchmarkRoute}
+ * route (MLLP inbound adapter, transformer, filter, splitter and MLLP outbound adapter) and a local MLLP sink.  The load driver then sends
+ * messages at the requested rate and the results are written to standard out.
+ * 
+ * A warmup phase is run first and is not included in the results.
+ * 
+ * @author Brendan Douglas
+ */
+public class PipelineBenchmark {
+    private static final String ROUTE_NAME = "Pipeline-Benchmark";
+
+    public static void main(String[] args) throws Exception {
+        PipelineBenchmarkOptions options = PipelineBenchmarkOptions.parse(args);
+
+        String message = HL7Corpus.get(options.getMessage());
+        int splitCount = new HL7Message(message).getSegmentCount("OBX");
+
+        if (splitCount == 0) {
+            throw new IllegalArgumentException("The message must contain OBX segments to pass through the splitter: " + options.getMessage());
+        }
+
+        Map<String, Long> sendTimes = new ConcurrentHashMap<>();
+
+        try (EmbeddedDatabase database = EmbeddedDatabase.start(); 
+                EmbeddedBroker broker = EmbeddedBroker.start(options.isBrokerPersistence()); 
+                MLLPSink sink = new MLLPSink(sendTimes)) {
+
+            int inboundPort = findFreePort();
+            Path routeConfig = writeRouteConfig(inboundPort, sink.getPort());
+
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(PipelineBenchmarkApp.class)
+                    .properties("spring.config.name=pipeline-benchmark")
+                    .properties("spring.datasource.url=" + database.getJdbcUrl())
+                    .properties("spring.datasource.username=" + database.getUserName())
+                    .properties("integration.config.file=" + routeConfig)
+                    .run(options.getApplicationArgs());
+
+            try {
+                MLLPLoadDriver driver = new MLLPLoadDriver(inboundPort, options.getConnections(), sendTimes);
+                
+                // Warmup.  Not included in the results.
+                run(driver, sink, message, options.getWarmup(), splitCount, options, "W");
+                
+                PipelineMetrics metrics = PipelineMetrics.start(context);
+                long startNanos = System.nanoTime();
+
+                PhaseResult result = run(driver, sink, message, options.getMessages(), splitCount, options, "M");
+
+                long elapsedNanos = (result.complete ? sink.getLastReceivedNanos() : System.nanoTime()) - startNanos;
+
+                report(options, splitCount, result, sink, metrics, elapsedNanos);
+            } finally {
+                context.close();
+            }
+        }
+        
+        System.exit(0);
+    }
+
+
+    private static PhaseResult run(MLLPLoadDriver driver, MLLPSink sink, String message, int numberOfMessages, int splitCount, PipelineBenchmarkOptions options, String controlIdPrefix) throws Exception {
+        int expected = numberOfMessages * splitCount;
+
+        sink.reset(expected);
+
+        long sendStart = System.nanoTime();
+        int failed = driver.send(message, numberOfMessages, options.getRate(), controlIdPrefix);
+        long sendNanos = System.nanoTime() - sendStart;
+
+        boolean complete = sink.await(expected, options.getTimeoutSeconds(), TimeUnit.SECONDS);
+
+        return new PhaseResult(failed, sendNanos, complete);
+    }
+
+
+    private static void report(PipelineBenchmarkOptions options, int splitCount, PhaseResult result, MLLPSink sink, PipelineMetrics metrics, long elapsedNanos) {
+        int sent = options.getMessages();
+        long delivered = sink.getReceived();
+        double elapsedSeconds = elapsedNanos / 1_000_000_000.0;
+        LatencyRecorder latencies = sink.getLatencies();
+
+        System.out.println();
+        System.out.println("Pipeline benchmark");
+        System.out.printf("  Message:                   %s (%d OBX segments)%n", options.getMessage(), splitCount);
+        System.out.printf("  Target rate:               %s%n", options.getRate() > 0 ? options.getRate() + " msgs/sec" : "unthrottled");
+        System.out.printf("  Connections:               %d%n", options.getConnections());
+        System.out.printf("  Messages sent:             %d (%d not acknowledged)%n", sent, result.failed);
+        System.out.printf("  Messages delivered:        %d of %d%s%n", delivered, (long)sent * splitCount, result.complete ? "" : " (timed out)");
+        System.out.printf("  Inbound ACK rate:          %.1f msgs/sec%n", sent / (result.sendNanos / 1_000_000_000.0));
+        System.out.printf("  Inbound throughput:        %.1f msgs/sec%n", sent / elapsedSeconds);
+        System.out.printf("  Outbound throughput:       %.1f msgs/sec%n", delivered / elapsedSeconds);
+        System.out.printf("  End to end latency:        p50 %.1f ms, p99 %.1f ms%n", latencies.getPercentileMillis(50), latencies.getPercentileMillis(99));
+        System.out.println("  Hop latency:");
+
+        for (Map<String, Object> hop : metrics.getHopLatencies()) {
+            System.out.printf("    %-32s p50 %.1f ms, p99 %.1f ms%n", hop.get("name"), ((Number)hop.get("p50")).doubleValue(), ((Number)hop.get("p99")).doubleValue());
+        }
+
+        System.out.printf("  DB statements per message: %.1f%n", metrics.getStatements() / (double)sent);
+        System.out.printf("  Heap allocated per message: %.1f KB%n", metrics.getAllocatedBytes() / 1024.0 / sent);
+        System.out.println();
+    }
+
+
+    /**
+     * The route config read by the RouteConfigLoader.  Contains the inbound port and the sink address.
+     * 
+     * @param inboundPort
+     * @param sinkPort
+     * @return
+     * @throws IOException
+     */
+    private static Path writeRouteConfig(int inboundPort, int sinkPort) throws IOException {
+        String config = """
+                {
+                  "routes": [
+                    {
+                      "name": "%s",
+                      "components": [
+                        {
+                          "name": "Benchmark-MLLP-Inbound-Adapter",
+                          "properties": {
+                            "PORT": "%d"
+                          }
+                        },
+                        {
+                          "name": "Benchmark-MLLP-Outbound-Adapter",
+                          "properties": {
+                            "TARGET_HOST": "localhost",
+                            "TARGET_PORT": "%d"
+                          }
+                        }
+                      ]
+                    }
+                  ]
+                }
+                """.formatted(ROUTE_NAME, inboundPort, sinkPort);
+
+        Path path = Files.createTempFile("pipeline-benchmark-route-config", ".json");
+        Files.writeString(path, config);
+        path.toFile().deleteOnExit();
+
+        return path;
+    }
+
+
+    private static int findFreePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            return socket.getLocalPort();
+        }
+    }
+
+
+    private record PhaseResult(int failed, long sendNanos, boolean complete) {
+    }
+}
@@ -0,0 +1,75 @@
+package integration.benchmarks.pipeline;
+
+import java.util.Collections;
+
+import org.apache.activemq.artemis.jms.client.ActiveMQConnectionFactory;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.cache.CacheAtomicityMode;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.spi.discovery.tcp.TcpDiscoverySpi;
+import org.apache.ignite.spi.discovery.tcp.ipfinder.vm.TcpDiscoveryVmIpFinder;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jms.connection.CachingConnectionFactory;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import integration.core.util.IgniteConfig;
+import jakarta.jms.ConnectionFactory;
+
+/**
+ * The Spring Boot application started by the pipeline benchmark.  This is the same as the example applications except the
+ * JMS connection factory and Ignite node are local to the JVM so nothing outside the benchmark needs to be running.
+ * 
+ * @author Brendan Douglas
+ */
+@SpringBootApplication
+@EnableJpaRepositories(basePackages = "integration.core")
+@EntityScan(basePackages = "integration.core")
+@ComponentScan(basePackages = {"integration"}, excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = IgniteConfig.class))
+@EnableAsync
+@EnableScheduling
+public class PipelineBenchmarkApp {
+
+    /**
+     * Connects to the embedded broker started by {@link EmbeddedBroker}.
+     * 
+     * @return
+     */
+    @Bean
+    @Primary
+    public ConnectionFactory connectionFactory() {
+        return new CachingConnectionFactory(new ActiveMQConnectionFactory(EmbeddedBroker.BROKER_URL));
+    }
+
+
+    /**
+     * A single Ignite server node which only discovers nodes on this host.  Only used when the lock based event selection mode is used.
+     * 
+     * @return
+     */
+    @Bean
+    public Ignite igniteInstance() {
+        IgniteConfiguration cfg = new IgniteConfiguration();
+        cfg.setIgniteInstanceName("pipeline-benchmark");
+
+        TcpDiscoveryVmIpFinder ipFinder = new TcpDiscoveryVmIpFinder();
+        ipFinder.setAddresses(Collections.singletonList("127.0.0.1:47500..47509"));
+        cfg.setDiscoverySpi(new TcpDiscoverySpi().setLocalAddress("127.0.0.1").setIpFinder(ipFinder));
+
+        CacheConfiguration<String, Object> cacheCfg = new CacheConfiguration<>();
+        cacheCfg.setName("eventCache3");
+        cacheCfg.setAtomicityMode(CacheAtomicityMode.TRANSACTIONAL);
+
+        cfg.setCacheConfiguration(cacheCfg);
+
+        return Ignition.start(cfg);
+    }
+}
@@ -0,0 +1,116 @@
+package integration.benchmarks.pipeline;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import integration.benchmarks.hl7.HL7Corpus;
+
+/**
+ * The command line options for the pipeline benchmark.  Options which are not recognised are passed to the application so
+ * any engine property can be changed for a run, eg. --integration.dispatch.pool-size=100
+ * 
+ * @author Brendan Douglas
+ */
+public class PipelineBenchmarkOptions {
+    private int rate = 0;
+    private int messages = 1000;
+    private int warmup = 200;
+    private int connections = 4;
+    private String message = HL7Corpus.ORU_R01_10;
+    private int timeoutSeconds = 300;
+    private boolean brokerPersistence = true;
+    private final List<String> applicationArgs = new ArrayList<>();
+
+    public static PipelineBenchmarkOptions parse(String[] args) {
+        PipelineBenchmarkOptions options = new PipelineBenchmarkOptions();
+
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+
+            if (!arg.startsWith("--") || equals == -1) {
+                throw new IllegalArgumentException("Options must be in the form --name=value: " + arg);
+            }
+
+            String name = arg.substring(2, equals);
+            String value = arg.substring(equals + 1);
+
+            switch (name) {
+            case "rate":
+                options.rate = Integer.parseInt(value);
+                break;
+            case "messages":
+                options.messages = Integer.parseInt(value);
+                break;
+            case "warmup":
+                options.warmup = Integer.parseInt(value);
+                break;
+            case "connections":
+                options.connections = Integer.parseInt(value);
+                break;
+            case "message":
+                options.message = value;
+                break;
+            case "timeout":
+                options.timeoutSeconds = Integer.parseInt(value);
+                break;
+            case "broker-persistence":
+                options.brokerPersistence = Boolean.parseBoolean(value);
+                break;
+            default:
+                options.applicationArgs.add(arg);
+            }
+        }
+
+        return options;
+    }
+
+
+    /**
+     * The target rate in messages per second.  0 sends as fast as the engine acknowledges.
+     * 
+     * @return
+     */
+    public int getRate() {
+        return rate;
+    }
+
+
+    public int getMessages() {
+        return messages;
+    }
+
+
+    public int getWarmup() {
+        return warmup;
+    }
+
+
+    public int getConnections() {
+        return connections;
+    }
+
+
+    /**
+     * The name of the {@link HL7Corpus} message to send.
+     * 
+     * @return
+     */
+    public String getMessage() {
+        return message;
+    }
+
+
+    public int getTimeoutSeconds() {
+        return timeoutSeconds;
+    }
+
+
+    public boolean isBrokerPersistence() {
+        return brokerPersistence;
+    }
+
+
+    public String[] getApplicationArgs() {
+        return applicationArgs.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,103 @@
+package integration.benchmarks.pipeline;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Takes a snapshot of the engine counters at the start of the measurement so the difference can be reported at the end.
+ * 
+ * Database statements are counted by Hibernate so statements run directly with JDBC are not included.  Heap allocation is the
+ * sum of the bytes allocated by the live engine threads.  The load driver, sink and benchmark main threads are excluded.  Allocation by threads which
+ * finish during the measurement is not included so the figure is a lower bound.
+ * 
+ * @author Brendan Douglas
+ */
+public class PipelineMetrics {
+    private static final String HOP_LATENCY_SQL = """
+            SELECT c.name,
+                   percentile_cont(0.5) WITHIN GROUP (ORDER BY EXTRACT(EPOCH FROM (child.created_date - parent.created_date)) * 1000) AS p50,
+                   percentile_cont(0.99) WITHIN GROUP (ORDER BY EXTRACT(EPOCH FROM (child.created_date - parent.created_date)) * 1000) AS p99
+            FROM message_flow child
+            JOIN message_flow parent ON parent.id = child.parent_message_flow_id
+            JOIN component c ON c.id = child.component_id
+            WHERE child.id > ?
+            AND child.component_id <> parent.component_id
+            GROUP BY c.name
+            ORDER BY MIN(child.id)
+            """;
+
+    private final Statistics statistics;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final long startStatements;
+    private final long startAllocatedBytes;
+    private final long startMessageFlowId;
+
+    private PipelineMetrics(Statistics statistics, JdbcTemplate jdbcTemplate) {
+        this.statistics = statistics;
+        this.jdbcTemplate = jdbcTemplate;
+
+        this.startStatements = statistics.getPrepareStatementCount();
+        this.startAllocatedBytes = getEngineAllocatedBytes();
+        this.startMessageFlowId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM message_flow", Long.class);
+    }
+
+
+    public static PipelineMetrics start(ApplicationContext context) {
+        Statistics statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+        return new PipelineMetrics(statistics, context.getBean(JdbcTemplate.class));
+    }
+
+
+    public long getStatements() {
+        return statistics.getPrepareStatementCount() - startStatements;
+    }
+
+
+    public long getAllocatedBytes() {
+        return getEngineAllocatedBytes() - startAllocatedBytes;
+    }
+
+
+    /**
+     * The time taken for a message to reach each component from the previous component.  Includes the time the event waited
+     * to be selected and the JMS hop.
+     * 
+     * @return
+     */
+    public List<Map<String, Object>> getHopLatencies() {
+        return jdbcTemplate.queryForList(HOP_LATENCY_SQL, startMessageFlowId);
+    }
+
+
+    private static long getEngineAllocatedBytes() {
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+
+        long total = 0;
+
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            String name = thread.getName();
+
+            if (thread == Thread.currentThread() || name.startsWith(MLLPLoadDriver.THREAD_NAME_PREFIX) || name.startsWith(MLLPSink.THREAD_NAME_PREFIX)) {
+                continue;
+            }
+
+            long allocated = threadBean.getThreadAllocatedBytes(thread.getId());
+
+            if (allocated > 0) {
+                total += allocated;
+            }
+        }
+
+        return total;
+    }
+}
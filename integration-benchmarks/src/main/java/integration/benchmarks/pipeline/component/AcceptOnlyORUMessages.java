@@ -0,0 +1,30 @@
+package integration.benchmarks.pipeline.component;
+
+import org.springframework.stereotype.Component;
+
+import integration.messaging.hl7.component.handler.filter.MessageTypeFilter;
+
+/**
+ * A message type filter. Will only accept ORU^R01 messages.
+ * 
+ * @author Brendan Douglas
+ */
+@Component("benchmarkAcceptORU^R01")
+public class AcceptOnlyORUMessages extends MessageTypeFilter {
+    private static final String NAME = "Accept ORU^R01 Only";
+
+    @Override
+    public String[] getAllowedMessageTypes() {
+        return new String[] { "ORU^R01^ORU_R01" };
+    }
+    
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    protected String getFilteredReason() {
+        return "The message was not an ORU^R01";
+    }
+}
@@ -0,0 +1,19 @@
+package integration.benchmarks.pipeline.component;
+
+import integration.core.domain.configuration.ContentTypeEnum;
+import integration.core.runtime.messaging.component.AllowedContentType;
+import integration.core.runtime.messaging.component.annotation.IntegrationComponent;
+import integration.core.runtime.messaging.component.type.handler.filter.BaseFilterComponent;
+import integration.core.runtime.messaging.component.type.handler.filter.annotation.AcceptancePolicy;
+
+/**
+ * Only accepts ORU^R01 messages.
+ * 
+ * @author Brendan Douglas
+ */
+@IntegrationComponent(name = "Benchmark-Filter")
+@AcceptancePolicy(name = "benchmarkAcceptORU^R01")
+@AllowedContentType(ContentTypeEnum.HL7)
+public class BenchmarkFilter extends BaseFilterComponent {
+
+}
@@ -0,0 +1,17 @@
+package integration.benchmarks.pipeline.component;
+
+import integration.core.domain.configuration.ContentTypeEnum;
+import integration.core.runtime.messaging.component.AllowedContentType;
+import integration.core.runtime.messaging.component.annotation.IntegrationComponent;
+import integration.messaging.hl7.component.adapter.mllp.inbound.BaseMLLPInboundAdapter;
+
+/**
+ * Receives the messages sent by the load driver.
+ * 
+ * @author Brendan Douglas
+ */
+@IntegrationComponent(name = "Benchmark-MLLP-Inbound-Adapter")
+@AllowedContentType(ContentTypeEnum.HL7)
+public class BenchmarkMLLPInboundAdapter extends BaseMLLPInboundAdapter {
+
+}
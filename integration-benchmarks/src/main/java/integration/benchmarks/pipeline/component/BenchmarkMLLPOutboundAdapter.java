@@ -0,0 +1,17 @@
+package integration.benchmarks.pipeline.component;
+
+import integration.core.domain.configuration.ContentTypeEnum;
+import integration.core.runtime.messaging.component.AllowedContentType;
+import integration.core.runtime.messaging.component.annotation.IntegrationComponent;
+import integration.messaging.hl7.component.adapter.mllp.outbound.BaseMLLPOutboundAdapter;
+
+/**
+ * Sends the messages to the benchmark sink.
+ * 
+ * @author Brendan Douglas
+ */
+@IntegrationComponent(name = "Benchmark-MLLP-Outbound-Adapter")
+@AllowedContentType(ContentTypeEnum.HL7)
+public class BenchmarkMLLPOutboundAdapter extends BaseMLLPOutboundAdapter {
+
+}
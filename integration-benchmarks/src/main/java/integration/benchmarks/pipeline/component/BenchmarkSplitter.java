@@ -0,0 +1,19 @@
+package integration.benchmarks.pipeline.component;
+
+import integration.core.domain.configuration.ContentTypeEnum;
+import integration.core.runtime.messaging.component.AllowedContentType;
+import integration.core.runtime.messaging.component.annotation.IntegrationComponent;
+import integration.core.runtime.messaging.component.type.handler.splitter.BaseSplitterComponent;
+import integration.core.runtime.messaging.component.type.handler.splitter.annotation.UsesSplitter;
+
+/**
+ * Creates a message for each OBX segment.
+ * 
+ * @author Brendan Douglas
+ */
+@IntegrationComponent(name = "Benchmark-Splitter")
+@UsesSplitter(name = "benchmarkSplitOnOBXSegments")
+@AllowedContentType(ContentTypeEnum.HL7)
+public class BenchmarkSplitter extends BaseSplitterComponent {
+
+}
@@ -0,0 +1,19 @@
+package integration.benchmarks.pipeline.component;
+
+import integration.core.domain.configuration.ContentTypeEnum;
+import integration.core.runtime.messaging.component.AllowedContentType;
+import integration.core.runtime.messaging.component.annotation.IntegrationComponent;
+import integration.core.runtime.messaging.component.type.handler.transformation.BaseTransformationComponent;
+import integration.core.runtime.messaging.component.type.handler.transformation.annotation.UsesTransformer;
+
+/**
+ * Changes the message version.
+ * 
+ * @author Brendan Douglas
+ */
+@IntegrationComponent(name = "Benchmark-Transformer")
+@UsesTransformer(name = "benchmarkChangeVersionTo2.5")
+@AllowedContentType(ContentTypeEnum.HL7)
+public class BenchmarkTransformer extends BaseTransformationComponent {
+
+}
@@ -0,0 +1,28 @@
+package integration.benchmarks.pipeline.component;
+
+import org.springframework.stereotype.Component;
+
+import integration.core.dto.MessageFlowDto;
+import integration.core.runtime.messaging.component.type.handler.splitter.MessageSplitter;
+import integration.core.runtime.messaging.component.type.handler.splitter.SplitterException;
+import integration.messaging.hl7.datamodel.HL7Message;
+
+/**
+ * Creates a copy of the message for each OBX segment.
+ * 
+ * @author Brendan Douglas
+ */
+@Component("benchmarkSplitOnOBXSegments")
+public class SplitOnOBXSegments extends MessageSplitter {
+
+    @Override
+    public int splitMessage(MessageFlowDto messageFlow) throws SplitterException {
+        try {
+            HL7Message hl7Message = messageFlow.getParsedMessage(HL7Message.class, HL7Message::new);
+            
+            return hl7Message.getSegmentCount("OBX");
+        } catch (Exception e) {
+            throw new SplitterException("Error splitting the message", messageFlow.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package integration.benchmarks.pipeline.route;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+import integration.benchmarks.pipeline.component.BenchmarkFilter;
+import integration.benchmarks.pipeline.component.BenchmarkMLLPInboundAdapter;
+import integration.benchmarks.pipeline.component.BenchmarkMLLPOutboundAdapter;
+import integration.benchmarks.pipeline.component.BenchmarkSplitter;
+import integration.benchmarks.pipeline.component.BenchmarkTransformer;
+import integration.core.runtime.messaging.BaseRoute;
+import integration.core.runtime.messaging.IntegrationRoute;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * The route measured by the pipeline benchmark.  Messages received by the inbound MLLP adapter are transformed, filtered, split
+ * and then sent to the benchmark sink by the outbound MLLP adapter so every component type is included.
+ * 
+ * @author Brendan Douglas
+ */
+@IntegrationRoute(name = "Pipeline-Benchmark")
+public class PipelineBenchmarkRoute extends BaseRoute {
+
+    @Autowired
+    private BenchmarkMLLPInboundAdapter mllpInboundAdapter;
+
+    @Autowired
+    private BenchmarkTransformer transformer;
+
+    @Autowired
+    private BenchmarkFilter filter;
+
+    @Autowired
+    private BenchmarkSplitter splitter;
+
+    @Autowired
+    private BenchmarkMLLPOutboundAdapter mllpOutboundAdapter;
+
+    @Override
+    @PostConstruct
+    public void configureRoute() throws Exception {
+        addInboundFlow(mllpInboundAdapter, transformer);
+        addInternalFlow(transformer, filter);
+        addInternalFlow(filter, splitter);
+        addOutboundFlow(splitter, mllpOutboundAdapter);
+        
+        applyConfiguration();
+    }
+}
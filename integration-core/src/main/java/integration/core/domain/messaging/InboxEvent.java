@@ -30,6 +30,9 @@ public class InboxEvent extends BaseIntegrationDomain {
     private int retryCount;
     private String owner;
     private String error;
+    private String claimedBy;
+    private Date claimExpires;
+    private Date parkedDate;
     private String jmsMessageId;
 
     @ManyToOne
@@ -121,5 +124,44 @@ public class InboxEvent extends BaseIntegrationDomain {
     
     public void setJmsMessageId(String jmsMessageId) {
         this.jmsMessageId = jmsMessageId;
-    } 
+    }
+
+
+    @Column(name = "claimed_by")
+    public String getClaimedBy() {
+        return claimedBy;
+    }
+
+
+    public void setClaimedBy(String claimedBy) {
+        this.claimedBy = claimedBy;
+    }
+
+
+    @Column(name = "claim_expires")
+    @Temporal(TemporalType.TIMESTAMP)
+    public Date getClaimExpires() {
+        return claimExpires;
+    }
+
+
+    public void setClaimExpires(Date claimExpires) {
+        this.claimExpires = claimExpires;
+    }
+
+
+    /**
+     * When the event was parked because it failed too many times or could not be retried.  Parked events are not selected for processing
+     * until they are replayed.  Null if the event is not parked.
+     */
+    @Column(name = "parked_date")
+    @Temporal(TemporalType.TIMESTAMP)
+    public Date getParkedDate() {
+        return parkedDate;
+    }
+
+
+    public void setParkedDate(Date parkedDate) {
+        this.parkedDate = parkedDate;
+    }
 }
@@ -2,46 +2,128 @@ package integration.core.domain.messaging;
 
 import integration.core.domain.BaseIntegrationDomain;
 import integration.core.domain.configuration.ContentTypeEnum;
+import integration.core.util.Utils;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 
 /**
  * A message.
  * 
+ * Messages are content addressed.  The content hash is used to find an existing message with the same content so identical content is only
+ * stored once.  Large content can optionally be stored compressed.
+ * 
  * @author Brendan Douglas
  *
  */
 @Entity
 @Table(name = "message")
 public class Message extends BaseIntegrationDomain {
-    private String content;
+    private String storedContent;
+    private byte[] compressedContent;
+    private String contentHash;
     private ContentTypeEnum contentType;
+    
+    // The decompressed content.  Only populated when the content is stored compressed.
+    private String decompressedContent;
        
     public Message() {
         
     }
 
     public Message(String content, ContentTypeEnum contentType) {
-        this.content = content;
+        setContent(content);
         this.contentType = contentType;
     }
+    
+    
+    /**
+     * Creates a message with the content stored compressed.
+     * 
+     * @param content
+     * @param contentType
+     * @return
+     */
+    public static Message compressed(String content, ContentTypeEnum contentType) {
+        Message message = new Message();
+        message.contentType = contentType;
+        message.contentHash = Utils.sha256Hex(content);
+        message.compressedContent = Utils.compress(content);
+        message.decompressedContent = content;
+        
+        return message;
+    }
 
+    
+    /**
+     * The uncompressed content as stored in the database.  Null if the content is compressed.
+     * 
+     * @return
+     */
     @Column(name = "content")
+    public String getStoredContent() {
+        return storedContent;
+    }
+
+    public void setStoredContent(String storedContent) {
+        this.storedContent = storedContent;
+    }
+
+    
+    @Column(name = "compressed_content")
+    public byte[] getCompressedContent() {
+        return compressedContent;
+    }
+
+    public void setCompressedContent(byte[] compressedContent) {
+        this.compressedContent = compressedContent;
+        this.decompressedContent = null;
+    }
+
+    
+    @Column(name = "content_hash")
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    
+    /**
+     * Returns the message content, decompressing it if required.
+     * 
+     * @return
+     */
+    @Transient
     public String getContent() {
-        return content;
+        if (compressedContent == null) {
+            return storedContent;
+        }
+        
+        if (decompressedContent == null) {
+            decompressedContent = Utils.decompress(compressedContent);
+        }
+        
+        return decompressedContent;
     }
 
+    
     public void setContent(String content) {
-        this.content = content;
+        this.storedContent = content;
+        this.compressedContent = null;
+        this.decompressedContent = null;
+        this.contentHash = content == null ? null : Utils.sha256Hex(content);
     }
 
     
     @Override
     public String toString() {
-        return content;
+        return getContent();
     }
 
     @Column(name = "content_type")
@@ -53,7 +53,7 @@ public class MessageFlow extends BaseIntegrationDomain {
         this.component = component;
     }
 
-    @ManyToOne(cascade = CascadeType.ALL,fetch = FetchType.LAZY)
+    @ManyToOne(cascade = {CascadeType.PERSIST, CascadeType.MERGE}, fetch = FetchType.LAZY)
     @JoinColumn(name = "message_id")
     public Message getMessage() {
         return message;
@@ -156,10 +156,10 @@ public class MessageFlow extends BaseIntegrationDomain {
         if (property == null) {
             property = new MessageFlowProperty(key, String.valueOf(value));
             property.setMessageFlow(this);
+            
+            this.properties.add(property);
         } else {
             property.setValue(String.valueOf(value));
         }
-        
-        this.properties.add(property);
     }
 }
@@ -30,6 +30,9 @@ public class OutboxEvent extends BaseIntegrationDomain {
     private int retryCount;
     private String owner;
     private String error;
+    private String claimedBy;
+    private Date claimExpires;
+    private Date parkedDate;
 
     @ManyToOne
     @JoinColumn(name = "message_flow_id")
@@ -109,5 +112,44 @@ public class OutboxEvent extends BaseIntegrationDomain {
 
     public void setError(String error) {
         this.error = error;
-    } 
+    }
+
+
+    @Column(name = "claimed_by")
+    public String getClaimedBy() {
+        return claimedBy;
+    }
+
+
+    public void setClaimedBy(String claimedBy) {
+        this.claimedBy = claimedBy;
+    }
+
+
+    @Column(name = "claim_expires")
+    @Temporal(TemporalType.TIMESTAMP)
+    public Date getClaimExpires() {
+        return claimExpires;
+    }
+
+
+    public void setClaimExpires(Date claimExpires) {
+        this.claimExpires = claimExpires;
+    }
+
+
+    /**
+     * When the event was parked because it failed too many times or could not be retried.  Parked events are not selected for processing
+     * until they are replayed.  Null if the event is not parked.
+     */
+    @Column(name = "parked_date")
+    @Temporal(TemporalType.TIMESTAMP)
+    public Date getParkedDate() {
+        return parkedDate;
+    }
+
+
+    public void setParkedDate(Date parkedDate) {
+        this.parkedDate = parkedDate;
+    }
 }
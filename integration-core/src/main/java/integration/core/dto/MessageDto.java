@@ -1,10 +1,18 @@
 package integration.core.dto;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
 import integration.core.domain.configuration.ContentTypeEnum;
 
 /**
  * A single message
  * 
+ * The content can be parsed into a typed object (eg. a HL7 message) once and shared by the policies, transformer and splitter of a component.
+ * Parsed content is discarded when the content changes.
+ * 
  * @author Brendan Douglas
  */
 public class MessageDto extends BaseDto {
@@ -13,6 +21,9 @@ public class MessageDto extends BaseDto {
     private String content;
     private ContentTypeEnum contentType;
     
+    // Parsed versions of the content by type.
+    private transient Map<Class<?>, Object> parsedContent;
+    
     
     public String getContent() {
         return content;
@@ -20,8 +31,56 @@ public class MessageDto extends BaseDto {
 
     
     public void setContent(String content) {
+        if (parsedContent != null && !Objects.equals(this.content, content)) {
+            parsedContent.clear();
+        }
+        
         this.content = content;
     }
+    
+    
+    /**
+     * Sets new content along with the already parsed version of it.  Used when the content was produced by changing a parsed object so it does
+     * not need to be parsed again.
+     * 
+     * @param content
+     * @param parsed
+     */
+    public void setContent(String content, Object parsed) {
+        setContent(content);
+        
+        if (parsedContent == null) {
+            parsedContent = new HashMap<>();
+        }
+        
+        parsedContent.clear();
+        parsedContent.put(parsed.getClass(), parsed);
+    }
+    
+    
+    /**
+     * Returns the content parsed into the supplied type.  The content is only parsed the first time it is requested.
+     * 
+     * Callers must not modify the returned object unless they replace the content with {@link #setContent(String, Object)}.
+     * 
+     * @param type
+     * @param parser
+     * @return
+     */
+    public <T> T getParsedContent(Class<T> type, Function<String, T> parser) {
+        if (parsedContent == null) {
+            parsedContent = new HashMap<>();
+        }
+        
+        Object parsed = parsedContent.get(type);
+        
+        if (parsed == null) {
+            parsed = parser.apply(content);
+            parsedContent.put(type, parsed);
+        }
+        
+        return type.cast(parsed);
+    }
 
     
     public ContentTypeEnum getContentType() {
@@ -2,6 +2,7 @@ package integration.core.dto;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * Details about the current flow.
@@ -27,6 +28,18 @@ public class MessageFlowDto extends BaseDto {
     public String getMessageContent() {
         return message.getContent();
     }
+    
+    
+    /**
+     * Returns the message content parsed into the supplied type.  The message is only parsed once no matter how many times this is called.
+     * 
+     * @param type
+     * @param parser
+     * @return
+     */
+    public <T> T getParsedMessage(Class<T> type, Function<String, T> parser) {
+        return message.getParsedContent(type, parser);
+    }
 
 
     public List<MessageFlowPropertyDto> getProperties() {
@@ -40,6 +53,6 @@ public class MessageFlowDto extends BaseDto {
     
     
     public void addProperty(MessageFlowPropertyDto property) {
-        
+        properties.add(property);
     }
 }
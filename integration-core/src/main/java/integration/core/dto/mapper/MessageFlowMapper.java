@@ -1,8 +1,11 @@
 package integration.core.dto.mapper;
 
+import java.util.Map;
+
 import integration.core.domain.messaging.MessageFlow;
 import integration.core.domain.messaging.MessageFlowProperty;
 import integration.core.dto.MessageFlowDto;
+import integration.core.dto.MessageFlowPropertyDto;
 
 /**
  * Maps a message flow domain object to a message flow dto.
@@ -12,10 +15,24 @@ import integration.core.dto.MessageFlowDto;
 public class MessageFlowMapper extends BaseMapper<MessageFlowDto, MessageFlow> {
     
     private boolean includeMessage = false;
+    private Map<String, String> effectiveProperties;
     
     public MessageFlowMapper(boolean includeMessage) {
         this.includeMessage = includeMessage; 
     }
+    
+    
+    /**
+     * Maps the supplied effective properties (the message flows own properties plus those inherited from its parents) instead of
+     * only the properties stored against the message flow.
+     * 
+     * @param includeMessage
+     * @param effectiveProperties
+     */
+    public MessageFlowMapper(boolean includeMessage, Map<String, String> effectiveProperties) {
+        this.includeMessage = includeMessage;
+        this.effectiveProperties = effectiveProperties;
+    }
 
     
     @Override
@@ -32,10 +49,16 @@ public class MessageFlowMapper extends BaseMapper<MessageFlowDto, MessageFlow> {
         }
         
         
-        MessageFlowPropertyMapper messageFlowPropertyMapper = new MessageFlowPropertyMapper();
-        
-        for (MessageFlowProperty property : source.getProperties()) {
-            destination.addProperty(messageFlowPropertyMapper.doMapping(property));
+        if (effectiveProperties != null) {
+            for (Map.Entry<String, String> entry : effectiveProperties.entrySet()) {
+                destination.addProperty(new MessageFlowPropertyDto(entry.getKey(), entry.getValue()));
+            }
+        } else {
+            MessageFlowPropertyMapper messageFlowPropertyMapper = new MessageFlowPropertyMapper();
+            
+            for (MessageFlowProperty property : source.getProperties()) {
+                destination.addProperty(messageFlowPropertyMapper.doMapping(property));
+            }
         }
 
         return destination;
@@ -39,6 +39,8 @@ public abstract class BaseRoute {
     
     private final List<MessagingComponent> components = new ArrayList<>();
     
+    private final IntegrationRoute integrationRoute = getClass().getAnnotation(IntegrationRoute.class);
+    
     @Autowired
     protected ProducerTemplate producerTemplate;
     
@@ -163,13 +165,11 @@ public abstract class BaseRoute {
 
     
     public String getName() throws RouteConfigurationException {
-        IntegrationRoute annotation = this.getClass().getAnnotation(IntegrationRoute.class);
-        
-        if (annotation == null) {
+        if (integrationRoute == null) {
             throw new RouteConfigurationException("@IntegrationRoute annotation not found.  It is mandatory for all routes", getIdentifier());
         }
         
-        return annotation.name();
+        return integrationRoute.name();
     }
 
     
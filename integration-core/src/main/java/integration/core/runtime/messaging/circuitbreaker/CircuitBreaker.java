@@ -0,0 +1,230 @@
+package integration.core.runtime.messaging.circuitbreaker;
+
+import java.util.Date;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A circuit breaker for the destination of an outbound adapter.
+ * 
+ * The circuit opens after a number of consecutive failures to send.  While it is open the adapter's outbox is not polled so a destination
+ * which is down does not cost a transaction and a retry for every waiting event.  Once the open time has passed a single event is polled
+ * as a probe.  If it is sent the circuit closes, otherwise it opens again.  If the probe is never sent, eg. there were no events, another
+ * is allowed after the open time.
+ * 
+ * @author Brendan Douglas
+ */
+public class CircuitBreaker {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CircuitBreaker.class);
+    
+    private final long componentId;
+    private final String componentPath;
+    private final int failureThreshold;
+    private final long openMillis;
+    
+    private CircuitBreakerState state = CircuitBreakerState.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private long probeAllowedAt;
+    private String lastError;
+    
+    private volatile Consumer<CircuitBreakerStatus> changeListener;
+    
+    
+    /**
+     * @param componentId
+     * @param componentPath
+     * @param failureThreshold the number of consecutive failures which opens the circuit.
+     * @param openMillis how long the circuit stays open before a probe is sent.
+     */
+    public CircuitBreaker(long componentId, String componentPath, int failureThreshold, long openMillis) {
+        if (failureThreshold < 1 || openMillis < 0) {
+            throw new IllegalArgumentException("Invalid circuit breaker.  failureThreshold: " + failureThreshold + ", openMillis: " + openMillis);
+        }
+        
+        this.componentId = componentId;
+        this.componentPath = componentPath;
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+    }
+
+    
+    /**
+     * Returns how many events the outbox poll may select.  Zero while the circuit is open and one when a probe can be sent.
+     * 
+     * @param limit the number of events the poll would select with the circuit closed.
+     * @return
+     */
+    public int getPollLimit(int limit) {
+        CircuitBreakerStatus transition = null;
+        int pollLimit;
+        
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            
+            switch (state) {
+                case CLOSED:
+                    pollLimit = limit;
+                    break;
+                
+                case OPEN:
+                    if (now < openedAt + openMillis) {
+                        pollLimit = 0;
+                        break;
+                    }
+                    
+                    LOGGER.info("Circuit half open for component: {}.  Sending a probe", componentPath);
+                    state = CircuitBreakerState.HALF_OPEN;
+                    probeAllowedAt = now;
+                    transition = new CircuitBreakerStatus(this);
+                    pollLimit = 1;
+                    break;
+                
+                default: // HALF_OPEN
+                    if (now < probeAllowedAt + openMillis) {
+                        pollLimit = 0;
+                        break;
+                    }
+                    
+                    probeAllowedAt = now;
+                    pollLimit = 1;
+            }
+        }
+        
+        stateChanged(transition);
+        return pollLimit;
+    }
+    
+    
+    /**
+     * Returns false while the circuit is open.  Events which were selected before the circuit opened are not sent.
+     * 
+     * @return
+     */
+    public synchronized boolean isCallPermitted() {
+        return state != CircuitBreakerState.OPEN;
+    }
+    
+    
+    public void recordSuccess() {
+        CircuitBreakerStatus transition = null;
+        
+        synchronized (this) {
+            if (state != CircuitBreakerState.CLOSED) {
+                LOGGER.info("Circuit closed for component: {}", componentPath);
+                
+                state = CircuitBreakerState.CLOSED;
+                transition = new CircuitBreakerStatus(this);
+            }
+            
+            consecutiveFailures = 0;
+        }
+        
+        stateChanged(transition);
+    }
+    
+    
+    public void recordFailure(Throwable cause) {
+        CircuitBreakerStatus transition = null;
+        
+        synchronized (this) {
+            consecutiveFailures++;
+            lastError = String.valueOf(cause);
+            
+            if (state == CircuitBreakerState.HALF_OPEN || (state == CircuitBreakerState.CLOSED && consecutiveFailures >= failureThreshold)) {
+                LOGGER.warn("Circuit opened for component: {} after {} consecutive failures.  Last error: {}", componentPath, consecutiveFailures, lastError);
+                
+                state = CircuitBreakerState.OPEN;
+                openedAt = System.currentTimeMillis();
+                transition = new CircuitBreakerStatus(this);
+            }
+        }
+        
+        stateChanged(transition);
+    }
+    
+    
+    /**
+     * Closes the circuit.  Used to resume sending without waiting for a probe.
+     */
+    public void reset() {
+        CircuitBreakerStatus transition;
+        
+        synchronized (this) {
+            LOGGER.info("Circuit reset for component: {}", componentPath);
+            
+            state = CircuitBreakerState.CLOSED;
+            consecutiveFailures = 0;
+            transition = new CircuitBreakerStatus(this);
+        }
+        
+        stateChanged(transition);
+    }
+    
+    
+    /**
+     * Sets a listener called with a snapshot of the circuit breaker whenever its state changes.  Called on the thread which changed the
+     * state after the circuit breaker's lock has been released so a slow listener never holds up the senders.
+     * 
+     * @param changeListener
+     */
+    public void setChangeListener(Consumer<CircuitBreakerStatus> changeListener) {
+        this.changeListener = changeListener;
+    }
+    
+    
+    private void stateChanged(CircuitBreakerStatus transition) {
+        Consumer<CircuitBreakerStatus> listener = changeListener;
+        
+        if (transition != null && listener != null) {
+            listener.accept(transition);
+        }
+    }
+    
+    
+    public long getComponentId() {
+        return componentId;
+    }
+
+    
+    public String getComponentPath() {
+        return componentPath;
+    }
+
+    
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+
+    
+    public long getOpenMillis() {
+        return openMillis;
+    }
+
+    
+    public synchronized CircuitBreakerState getState() {
+        return state;
+    }
+
+    
+    public synchronized int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    
+    /**
+     * When an open circuit will next allow a probe.  Null if the circuit is not open.
+     * 
+     * @return
+     */
+    public synchronized Date getOpenUntil() {
+        return state == CircuitBreakerState.OPEN ? new Date(openedAt + openMillis) : null;
+    }
+
+    
+    public synchronized String getLastError() {
+        return lastError;
+    }
+}
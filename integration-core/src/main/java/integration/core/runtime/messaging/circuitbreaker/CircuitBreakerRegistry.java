@@ -0,0 +1,139 @@
+package integration.core.runtime.messaging.circuitbreaker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.cache.Cache;
+import javax.cache.CacheException;
+
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * The circuit breakers of the outbound adapters running in this JVM.  Keyed by component id.
+ * 
+ * The state of each circuit breaker is published to a cluster wide Ignite cache when it opens, closes or goes half open so it can be
+ * read from any node, including nodes which run no routes.  Resets are broadcast to every node and applied by the nodes running the component.  When a
+ * component runs on several nodes the cache holds the state of the breaker which changed most recently.
+ * 
+ * @author Brendan Douglas
+ */
+@Component
+public class CircuitBreakerRegistry {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CircuitBreakerRegistry.class);
+    
+    private static final String STATUS_CACHE = "circuitBreakerStatus";
+    private static final String RESET_TOPIC = "circuitBreakerReset";
+    
+    private final Map<Long, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+    
+    @Autowired
+    private Ignite ignite;
+    
+    private IgniteCache<Long, CircuitBreakerStatus> statusCache;
+    
+    
+    @PostConstruct
+    public void CircuitBreakerRegistryInit() {
+        statusCache = ignite.getOrCreateCache(STATUS_CACHE);
+        
+        ignite.message().localListen(RESET_TOPIC, (nodeId, componentId) -> {
+            CircuitBreaker circuitBreaker = circuitBreakers.get((Long)componentId);
+            
+            if (circuitBreaker != null) {
+                circuitBreaker.reset();
+            }
+            
+            return true;
+        });
+    }
+    
+    
+    public void register(CircuitBreaker circuitBreaker) {
+        circuitBreakers.put(circuitBreaker.getComponentId(), circuitBreaker);
+        
+        circuitBreaker.setChangeListener(this::publish);
+        publish(new CircuitBreakerStatus(circuitBreaker));
+    }
+    
+    
+    /**
+     * Returns the circuit breaker for a component or null if the component does not have one in this JVM.
+     * 
+     * @param componentId
+     * @return
+     */
+    public CircuitBreaker get(long componentId) {
+        return circuitBreakers.get(componentId);
+    }
+    
+    
+    public List<CircuitBreaker> getAll() {
+        return new ArrayList<>(circuitBreakers.values());
+    }
+    
+    
+    /**
+     * Returns the last published state of a component's circuit breaker from any node or null if none has been published.
+     * 
+     * @param componentId
+     * @return
+     */
+    public CircuitBreakerStatus getStatus(long componentId) {
+        return statusCache.get(componentId);
+    }
+    
+    
+    /**
+     * Returns the last published state of all the circuit breakers in the cluster.
+     * 
+     * @return
+     */
+    public List<CircuitBreakerStatus> getAllStatuses() {
+        List<CircuitBreakerStatus> statuses = new ArrayList<>();
+        
+        for (Cache.Entry<Long, CircuitBreakerStatus> entry : statusCache) {
+            statuses.add(entry.getValue());
+        }
+        
+        return statuses;
+    }
+    
+    
+    /**
+     * Asks every node running the component to close its circuit breaker.
+     * 
+     * @param componentId
+     */
+    public void requestReset(long componentId) {
+        ignite.message().send(RESET_TOPIC, componentId);
+    }
+    
+    
+    /**
+     * Publishing is asynchronous and best effort.  The state is recorded on the threads which send and read acknowledgements so a slow
+     * or failed publish must not hold them up or stop the adapter sending.
+     */
+    private void publish(CircuitBreakerStatus status) {
+        try {
+            statusCache.putAsync(status.getComponentId(), status).listen(future -> {
+                try {
+                    future.get();
+                } catch(IgniteException | CacheException e) {
+                    LOGGER.warn("Unable to publish the circuit breaker state for component: {}", status.getComponentPath(), e);
+                }
+            });
+        } catch(IgniteException | CacheException e) {
+            LOGGER.warn("Unable to publish the circuit breaker state for component: {}", status.getComponentPath(), e);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package integration.core.runtime.messaging.circuitbreaker;
+
+/**
+ * The states of a circuit breaker.
+ * 
+ * @author Brendan Douglas
+ */
+public enum CircuitBreakerState {
+    CLOSED, OPEN, HALF_OPEN;
+}
@@ -0,0 +1,74 @@
+package integration.core.runtime.messaging.circuitbreaker;
+
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * A snapshot of a circuit breaker's state.  Published to a cluster wide cache so the state can be read from any node.  Only published
+ * when the state changes so the failure count and last error are as they were at the last change.
+ * 
+ * @author Brendan Douglas
+ */
+public class CircuitBreakerStatus implements Serializable {
+    private static final long serialVersionUID = 1L;
+    
+    private long componentId;
+    private String componentPath;
+    private CircuitBreakerState state;
+    private int consecutiveFailures;
+    private int failureThreshold;
+    private Date openUntil;
+    private String lastError;
+    private Date updatedDate;
+    
+    public CircuitBreakerStatus(CircuitBreaker circuitBreaker) {
+        this.componentId = circuitBreaker.getComponentId();
+        this.componentPath = circuitBreaker.getComponentPath();
+        this.state = circuitBreaker.getState();
+        this.consecutiveFailures = circuitBreaker.getConsecutiveFailures();
+        this.failureThreshold = circuitBreaker.getFailureThreshold();
+        this.openUntil = circuitBreaker.getOpenUntil();
+        this.lastError = circuitBreaker.getLastError();
+        this.updatedDate = new Date();
+    }
+
+    
+    public long getComponentId() {
+        return componentId;
+    }
+
+
+    public String getComponentPath() {
+        return componentPath;
+    }
+
+
+    public CircuitBreakerState getState() {
+        return state;
+    }
+
+
+    public int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+
+
+    public Date getOpenUntil() {
+        return openUntil;
+    }
+
+
+    public String getLastError() {
+        return lastError;
+    }
+
+
+    public Date getUpdatedDate() {
+        return updatedDate;
+    }
+}
@@ -1,18 +1,35 @@
 package integration.core.runtime.messaging.component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.apache.camel.Exchange;
 import org.apache.camel.ProducerTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 
 import integration.core.domain.IdentifierType;
+import integration.core.domain.configuration.IntegrationComponentStateEnum;
+import integration.core.dto.OutboxEventDto;
 import integration.core.runtime.messaging.exception.retryable.JMSForwardingException;
+import integration.core.runtime.messaging.exception.retryable.MessageFlowProcessingException;
+import integration.core.runtime.messaging.exception.retryable.OutboxEventProcessingException;
 import integration.core.runtime.messaging.exception.retryable.OutboxEventSchedulerException;
+import integration.core.runtime.messaging.metrics.EventTiming;
+import integration.core.runtime.messaging.service.InboxService;
 import integration.core.runtime.messaging.service.OutboxService;
 
 /**
  * A processor to write a message flow id to JMS so it can be consumed by other components.
+ *
+ * When local delivery is enabled the message flow is handed straight to the consumers inboxes in the same transaction
+ * as the outbox event delete instead.  The consumers are always in the same route, and so the same JVM, as the producer.
+ * JMS is still used between routes by the route connectors.
+ *
+ * A batch of events is handled in a single transaction.  The events are deleted and the message flows updated with one statement each and all
+ * the message flow ids are sent to the topic before the transaction commits.
  */
-public abstract class BaseComponentConnectorOutboxEventProcessor<T extends MessagingComponent> extends BaseMessageFlowProcessor<MessagingComponent>implements OutboxEventProcessor {
+public abstract class BaseComponentConnectorOutboxEventProcessor<T extends MessagingComponent> extends BaseMessageFlowProcessor<MessagingComponent>implements BatchOutboxEventProcessor {
     
     @Autowired
     private ProducerTemplate producerTemplate;
@@ -20,6 +37,12 @@ public abstract class BaseComponentConnectorOutboxEventProcessor<T extends Messa
     @Autowired
     private OutboxService outboxService;
     
+    @Autowired
+    private InboxService inboxService;
+    
+    @Value("${integration.local-delivery.enabled:false}")
+    private boolean localDeliveryEnabled;
+    
     @Override
     public void process(Exchange exchange) throws Exception {
         
@@ -33,9 +56,19 @@ public abstract class BaseComponentConnectorOutboxEventProcessor<T extends Messa
             
             messageFlowService.updatePendingForwardingToForwardedAction(messageFlowId);
             
+            // Hand the message flow straight to the consumers when they are all running locally.
+            List<Long> localConsumerIds = getLocalConsumerIds();
+            
+            if (localConsumerIds != null) {
+                inboxService.recordLocalEvents(messageFlowId, localConsumerIds, component.getOwner());
+                return;
+            }
+            
             // Write the message flow if to the topic.
             try {               
+                long sendStart = System.nanoTime();
                 producerTemplate.sendBody("jms:topic:VirtualTopic." + component.getComponentPath(), messageFlowId);
+                EventTiming.addSendTime(System.nanoTime() - sendStart);
             } catch(Exception e) {
                 throw new JMSForwardingException(eventId, component.getIdentifier(), messageFlowId, e);
             }
@@ -43,4 +76,70 @@ public abstract class BaseComponentConnectorOutboxEventProcessor<T extends Messa
             throw new OutboxEventSchedulerException(component.getIdentifier(), messageFlowId, e);
         }  
     }
+
+    
+    @Override
+    public void processBatch(List<OutboxEventDto> events) throws Exception {
+        List<Long> eventIds = new ArrayList<>(events.size());
+        List<Long> messageFlowIds = new ArrayList<>(events.size());
+        
+        for (OutboxEventDto event : events) {
+            eventIds.add(event.getId());
+            messageFlowIds.add(event.getMessageFlowId());
+        }
+        
+        // Another node may have processed an event after its claim expired.  Roll back rather than forward a message flow twice.
+        if (outboxService.deleteEvents(eventIds) != eventIds.size()) {
+            throw new OutboxEventProcessingException("Some of the events in the batch have already been processed", null);
+        }
+        
+        if (messageFlowService.updatePendingForwardingToForwardedActions(messageFlowIds) != messageFlowIds.size()) {
+            throw new MessageFlowProcessingException("Some of the message flows in the batch are not pending forwarding", null);
+        }
+        
+        List<Long> localConsumerIds = getLocalConsumerIds();
+        
+        if (localConsumerIds != null) {
+            for (Long messageFlowId : messageFlowIds) {
+                inboxService.recordLocalEvents(messageFlowId, localConsumerIds, component.getOwner());
+            }
+            
+            return;
+        }
+        
+        long sendStart = System.nanoTime();
+        
+        for (Long messageFlowId : messageFlowIds) {
+            producerTemplate.sendBody("jms:topic:VirtualTopic." + component.getComponentPath(), messageFlowId);
+        }
+        
+        EventTiming.addSendTime(System.nanoTime() - sendStart);
+    }
+
+    
+    /**
+     * Returns the ids of the consumers to deliver to locally, or null if the message flow must be sent via JMS.
+     *
+     * A consumer with a stopped inbound state does not take messages from JMS so the messages wait on the broker until it is started.  To keep
+     * that behaviour the message flow goes via JMS unless every consumer is running.
+     *
+     * @return
+     */
+    private List<Long> getLocalConsumerIds() {
+        if (!localDeliveryEnabled || !(component instanceof MessageProducer producer) || producer.getMessageConsumers().isEmpty()) {
+            return null;
+        }
+        
+        List<Long> consumerIds = new ArrayList<>();
+        
+        for (MessageConsumer consumer : producer.getMessageConsumers()) {
+            if (consumer.getInboundState() != IntegrationComponentStateEnum.RUNNING) {
+                return null;
+            }
+            
+            consumerIds.add(consumer.getIdentifier());
+        }
+        
+        return consumerIds;
+    }
 }
@@ -7,12 +7,12 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.UUID;
 import java.util.concurrent.locks.Lock;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
 import org.apache.camel.ProducerTemplate;
 import org.apache.camel.builder.RouteBuilder;
 import org.apache.ignite.Ignite;
@@ -20,6 +20,7 @@ import org.apache.ignite.IgniteCache;
 import org.apache.ignite.IgniteSet;
 import org.apache.ignite.configuration.CollectionConfiguration;
 import org.slf4j.Logger;
+import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.core.env.Environment;
@@ -33,17 +34,25 @@ import integration.core.dto.ComponentDto;
 import integration.core.dto.InboxEventDto;
 import integration.core.dto.MessageFlowDto;
 import integration.core.dto.OutboxEventDto;
-import integration.core.exception.ExceptionIdentifier;
 import integration.core.exception.IntegrationException;
 import integration.core.runtime.messaging.BaseRoute;
 import integration.core.runtime.messaging.component.annotation.ComponentType;
 import integration.core.runtime.messaging.component.annotation.IntegrationComponent;
+import integration.core.runtime.messaging.component.annotation.Retry;
+import integration.core.runtime.messaging.dispatch.AdaptivePollController;
+import integration.core.runtime.messaging.dispatch.EventDispatcher;
+import integration.core.runtime.messaging.dispatch.EventNotifier;
 import integration.core.runtime.messaging.exception.nonretryable.ComponentConfigurationException;
 import integration.core.runtime.messaging.exception.nonretryable.MessageFlowNotFoundException;
 import integration.core.runtime.messaging.exception.nonretryable.RouteConfigurationException;
 import integration.core.runtime.messaging.exception.retryable.InboxEventSchedulerException;
 import integration.core.runtime.messaging.exception.retryable.MessageFlowProcessingException;
+import integration.core.runtime.messaging.exception.retryable.OutboxEventProcessingException;
 import integration.core.runtime.messaging.exception.retryable.OutboxEventSchedulerException;
+import integration.core.runtime.messaging.metrics.ComponentMeters;
+import integration.core.runtime.messaging.metrics.EventTiming;
+import integration.core.runtime.messaging.metrics.MessagingMetrics;
+import integration.core.runtime.messaging.retry.RetryPolicy;
 import integration.core.runtime.messaging.service.InboxService;
 import integration.core.runtime.messaging.service.MessageFlowPropertyService;
 import integration.core.runtime.messaging.service.MessageFlowService;
@@ -65,6 +74,15 @@ import jakarta.annotation.PostConstruct;
  *
  */
 public abstract class BaseMessagingComponent extends RouteBuilder implements MessagingComponent {   
+    
+    // The number of events selected by the first poll.  After that the batch size adapts to the backlog.
+    protected static final int EVENT_POLL_LIMIT = 50;
+    
+    // Uniquely identifies this JVM when claiming events.
+    protected static final String NODE_ID = UUID.randomUUID().toString();
+    
+    // The retry policy bean used by components without a @Retry annotation.
+    protected static final String DEFAULT_RETRY_POLICY = "defaultRetryPolicy";
           
     protected long identifier;
     protected BaseRoute route;
@@ -103,8 +121,29 @@ public abstract class BaseMessagingComponent extends RouteBuilder implements Mes
     
     @Autowired
     protected MessageFlowPropertyService messageFlowPropertyService;
+    
+    @Autowired
+    protected EventDispatcher eventDispatcher;
+    
+    @Autowired
+    protected EventNotifier eventNotifier;
+    
+    @Autowired
+    protected MessagingMetrics messagingMetrics;
+    
+    protected ComponentMeters meters;
        
     protected final Set<Class<? extends Annotation>> requiredAnnotations = new LinkedHashSet<>();
+    
+    // The annotation metadata of this component's class.
+    protected final ComponentDescriptor descriptor = ComponentDescriptor.of(getClass());
+    
+    private String componentPath;
+    
+    private RetryPolicy retryPolicy;
+    
+    private AdaptivePollController inboxPollController;
+    private AdaptivePollController outboxPollController;
 
     public abstract Logger getLogger();
 
@@ -150,6 +189,49 @@ public abstract class BaseMessagingComponent extends RouteBuilder implements Mes
     protected abstract void configureRequiredAnnotations();
     
     
+    /**
+     * Components which use beans named in their annotations override this to look them up once at startup.
+     */
+    @Override
+    public void bindConfiguredBeans() throws ComponentConfigurationException {
+        getRetryPolicy();
+    }
+    
+    
+    /**
+     * The policy which decides when a failed event is tried again and when it is parked.  From the @Retry annotation if the component has one.
+     * 
+     * @return
+     * @throws ComponentConfigurationException
+     */
+    public RetryPolicy getRetryPolicy() throws ComponentConfigurationException {
+        if (retryPolicy == null) {
+            Retry retry = descriptor.getAnnotation(Retry.class);
+            retryPolicy = getConfiguredBean(retry == null ? DEFAULT_RETRY_POLICY : retry.policy(), RetryPolicy.class);
+        }
+        
+        return retryPolicy;
+    }
+    
+    
+    /**
+     * A helper method to get a bean named in one of the component's annotations.
+     * 
+     * @param <T>
+     * @param name
+     * @param beanClass
+     * @return
+     * @throws ComponentConfigurationException
+     */
+    protected <T> T getConfiguredBean(String name, Class<T> beanClass) throws ComponentConfigurationException {
+        try {
+            return springContext.getBean(name, beanClass);
+        } catch(BeansException e) {
+            throw new ComponentConfigurationException("Unable to find the " + beanClass.getSimpleName() + " bean named " + name, getIdentifier(), e);
+        }
+    }
+    
+    
     /**
      * The full component path.  route-path
      * @throws ComponentConfigurationException 
@@ -157,7 +239,21 @@ public abstract class BaseMessagingComponent extends RouteBuilder implements Mes
      */
     @Override
     public String getComponentPath() throws ComponentConfigurationException, RouteConfigurationException {
-        return route.getName() + "-" + getName();
+        if (componentPath == null) {
+            componentPath = route.getName() + "-" + getName();
+        }
+        
+        return componentPath;
+    }
+
+    
+    public ComponentDescriptor getDescriptor() {
+        return descriptor;
+    }
+
+    
+    public ComponentMeters getMeters() {
+        return meters;
     }
 
     
@@ -190,13 +286,19 @@ public abstract class BaseMessagingComponent extends RouteBuilder implements Mes
             
             Long eventId = getEventId(theException, exchange);
             
-            // If there was an event id we can mark the event for retry.
-            if (theException.isRetryable() && eventId != null) {
-                outboxService.markEventForRetry(eventId, theException);
+            // If there was an event id we can mark the event for retry or park it if it cannot succeed.
+            if (eventId != null) {
+                if (!theException.isRetryable()) {
+                    outboxService.parkEvent(eventId, theException);
+                    meters.parked();
+                } else if (outboxService.markEventForRetry(eventId, theException, getRetryPolicy())) {
+                    meters.retry(theException);
+                } else {
+                    meters.parked();
+                }
+                
                 exchange.setRollbackOnly(true);
             }
-            
-            //TODO need to set event as failed if not retryable.
         })
         .handled(exchange -> {
             OutboxEventSchedulerException ex = exchange.getProperty(Exchange.EXCEPTION_CAUGHT, OutboxEventSchedulerException.class);
@@ -214,13 +316,19 @@ public abstract class BaseMessagingComponent extends RouteBuilder implements Mes
             
             Long eventId = getEventId(theException, exchange);
             
-            // If there was an event id we can mark the event for retry.
-            if (theException.isRetryable() && eventId != null) {
-                inboxService.markEventForRetry(eventId, theException);
+            // If there was an event id we can mark the event for retry or park it if it cannot succeed.
+            if (eventId != null) {
+                if (!theException.isRetryable()) {
+                    inboxService.parkEvent(eventId, theException);
+                    meters.parked();
+                } else if (inboxService.markEventForRetry(eventId, theException, getRetryPolicy())) {
+                    meters.retry(theException);
+                } else {
+                    meters.parked();
+                }
+                
                 exchange.setRollbackOnly(true);
             }
-            
-            //TODO need to set event as failed if not retryable.
         })
         .handled(exchange -> {
             InboxEventSchedulerException ex = exchange.getProperty(Exchange.EXCEPTION_CAUGHT, InboxEventSchedulerException.class);
@@ -256,83 +364,100 @@ public abstract class BaseMessagingComponent extends RouteBuilder implements Mes
 
     
     protected void configureOutboxRoutes() throws ComponentConfigurationException, RouteConfigurationException {       
-        ExecutorService executor = Executors.newFixedThreadPool(20);
-        IgniteCache<String, Integer> cache = ignite.getOrCreateCache("eventCache3");
-        IgniteSet<Long> igniteOutboxEventInProgressSet = ignite.set("processingOutboxEvents" + getIdentifier(), new CollectionConfiguration());
-
-       
-        // Event processor routes.
-        from("timer://outboxEventProcessorTimer-" + getIdentifier() + "?period=300&delay=2000")
-        .routeId("outboxEventProcessorTimer-" + getIdentifier())
-        .process(exchange -> {
-            Lock eventSelectionLock = cache.lock("outbox-event-selection-lock-" + getIdentifier());
+        eventDispatcher.register(getIdentifier());
+        meters = messagingMetrics.register(getIdentifier(), getName(), route.getName());
+        
+        inboxPollController = createPollController();
+        outboxPollController = createPollController();
+        
+        // The Ignite lock and in progress sets are only needed when not using claim based event selection.
+        boolean claimBased = isClaimBasedEventSelection();
+        IgniteCache<String, Integer> eventSelectionCache = claimBased ? null : ignite.getOrCreateCache("eventCache3");
+        IgniteSet<Long> outboxEventInProgressSet = claimBased ? null : ignite.set("processingOutboxEvents" + getIdentifier(), new CollectionConfiguration());
+        IgniteSet<Long> inboxEventInProgressSet = claimBased ? null : ignite.set("processingInboxEvents" + getIdentifier(), new CollectionConfiguration());
 
+        Processor outboxEventPoller = exchange -> {
+            // Only select as many events as the dispatcher can accept.
+            int capacity = eventDispatcher.getAvailableCapacity(getIdentifier());
+            if (capacity == 0) {
+                return;
+            }
+            
+            int numberToRead = getOutboxPollLimit(Math.min(outboxPollController.getBatchSize(), capacity));
+            if (numberToRead == 0) {
+                return;
+            }
+            
             List<OutboxEventDto> events = null;
             
-            eventSelectionLock.lock();
-            try {
-                List<Long> idsToExclude = new ArrayList<>();
-                if (igniteOutboxEventInProgressSet != null && !igniteOutboxEventInProgressSet.isEmpty()) {
-                    idsToExclude.addAll(igniteOutboxEventInProgressSet);
-                }
+            if (claimBased) {
+                events = outboxService.claimEventsForComponent(getIdentifier(), numberToRead, getEventClaimOwner(), getEventClaimLeaseSeconds());
+            } else {
+                events = selectOutboxEventsWithLock(eventSelectionCache, outboxEventInProgressSet, numberToRead);
+            }
+            
+            meters.outboxEventsSelected(events.size());
+            outboxPollController.recordPoll(events.size(), numberToRead);
 
-                // Select the records to process while holding the lock.
-                events = outboxService.getEventsForComponent(getIdentifier(), 50, idsToExclude);
+            if (events.size() > 1 && isOutboxBatchPublishEnabled()) {
+                List<OutboxEventDto> batch = events;
                 
-
+                eventDispatcher.dispatch(getIdentifier(), () -> processOutboxEventBatch(batch, claimBased, outboxEventInProgressSet), () -> {
+                    for (OutboxEventDto event : batch) {
+                        releaseOutboxEvent(event, claimBased, outboxEventInProgressSet);
+                    }
+                });
+            } else {
                 for (OutboxEventDto event : events) {
-                    igniteOutboxEventInProgressSet.add(event.getId());
-                }   
-            } finally {
-                eventSelectionLock.unlock();
+                    eventDispatcher.dispatch(getIdentifier(), () -> processOutboxEvent(event, claimBased, outboxEventInProgressSet), () -> releaseOutboxEvent(event, claimBased, outboxEventInProgressSet));                   
+                }
             }
-
-            for (OutboxEventDto event : events) {
-                executor.submit(() -> {
-                    
-                    try {
-                        Map<String, Object> headers = new HashMap<>();
-                        headers.put(IdentifierType.MESSAGE_FLOW_ID.name(), event.getMessageFlowId());
-                        headers.put(IdentifierType.EVENT_ID.name(), event.getId());
-
-                        producerTemplate.sendBodyAndHeaders("direct:processOutboxEvent-" + event.getComponentId(), event.getMessageFlowId(), headers);   
-                    } finally {
-                        igniteOutboxEventInProgressSet.remove(event.getId());
-                    }
-                });                   
+            
+            // A full batch means there are probably more events waiting.
+            if (events.size() == numberToRead) {
+                wakeupOutboxEventProcessor();
+            }
+        };
+       
+        // Event processor routes.  The timer is a safety net when event notification is enabled.  It runs at the shortest poll interval
+        // and only polls when the adaptive interval has passed.
+        from("timer://outboxEventProcessorTimer-" + getIdentifier() + "?period=" + outboxPollController.getMinIntervalMillis() + "&delay=2000")
+        .routeId("outboxEventProcessorTimer-" + getIdentifier())
+        .process(exchange -> {
+            if (outboxPollController.isDue()) {
+                outboxEventPoller.process(exchange);
             }
         });    
 
+        from(getOutboxEventWakeupUri())
+        .routeId("outboxEventProcessorWakeup-" + getIdentifier())
+        .process(outboxEventPoller);
         
-        IgniteSet<Long> igniteInboxEventInProgressSet = ignite.set("processingInboxEvents" + getIdentifier(), new CollectionConfiguration());
         
-        // Event processor routes.
-        from("timer://inboxEventProcessorTimer-" + getIdentifier() + "?period=300&delay=2000")
-        .routeId("inboxEventProcessorTimer-" + getIdentifier())
-        .process(exchange -> {
-            Lock eventSelectionLock = cache.lock("inbox-event-selection-lock-" + getIdentifier());
-
+        Processor inboxEventPoller = exchange -> {
+            // Only select as many events as the dispatcher can accept.
+            int capacity = eventDispatcher.getAvailableCapacity(getIdentifier());
+            if (capacity == 0) {
+                return;
+            }
+            
+            int numberToRead = Math.min(inboxPollController.getBatchSize(), capacity);
+            
             List<InboxEventDto> events = null;
             
-            eventSelectionLock.lock();
-            try {
-                List<Long> idsToExclude = new ArrayList<>();
-                if (igniteInboxEventInProgressSet != null && !igniteInboxEventInProgressSet.isEmpty()) {
-                    idsToExclude.addAll(igniteInboxEventInProgressSet);
-                }
-
-                // Select the records to process while holding the lock.
-                events = inboxService.getEventsForComponent(getIdentifier(), 50, idsToExclude);
-                
-                for (InboxEventDto event : events) {
-                    igniteInboxEventInProgressSet.add(event.getId());
-                }   
-            } finally {
-                eventSelectionLock.unlock();
+            if (claimBased) {
+                events = inboxService.claimEventsForComponent(getIdentifier(), numberToRead, getEventClaimOwner(), getEventClaimLeaseSeconds());
+            } else {
+                events = selectInboxEventsWithLock(eventSelectionCache, inboxEventInProgressSet, numberToRead);
             }
+            
+            meters.inboxEventsSelected(events.size());
+            inboxPollController.recordPoll(events.size(), numberToRead);
 
             for (InboxEventDto event : events) {
-                executor.submit(() -> {
+                eventDispatcher.dispatch(getIdentifier(), () -> {
+                    EventTiming timing = EventTiming.start();
+                    long start = System.nanoTime();
                     
                     try {
                         Map<String, Object> headers = new HashMap<>();
@@ -340,13 +465,56 @@ public abstract class BaseMessagingComponent extends RouteBuilder implements Mes
                         headers.put(IdentifierType.EVENT_ID.name(), event.getId());
 
                         producerTemplate.sendBodyAndHeaders("direct:processInboxEvent-" + event.getComponentId(), event.getMessageFlowId(), headers);   
+                        
+                        // Includes the transaction commit.
+                        meters.recordInboxEvent(System.nanoTime() - start, timing);
+                    } catch(RuntimeException e) {
+                        // The event was not processed so make it available again straight away rather than waiting for the lease to expire.
+                        if (claimBased) {
+                            releaseInboxEventClaim(event.getId());
+                        }
+                        
+                        throw e;
                     } finally {
-                        igniteInboxEventInProgressSet.remove(event.getId());
+                        if (!claimBased) {
+                            inboxEventInProgressSet.remove(event.getId());
+                        }
+                        
+                        // Capacity has been freed so check for more events.
+                        wakeupInboxEventProcessor();
+                    }
+                }, () -> {
+                    if (claimBased) {
+                        releaseInboxEventClaim(event.getId());
+                    } else {
+                        inboxEventInProgressSet.remove(event.getId());
                     }
                 });                   
             }
+            
+            // A full batch means there are probably more events waiting.
+            if (events.size() == numberToRead) {
+                wakeupInboxEventProcessor();
+            }
+        };
+        
+        // Event processor routes.  The timer is a safety net when event notification is enabled.  It runs at the shortest poll interval
+        // and only polls when the adaptive interval has passed.
+        from("timer://inboxEventProcessorTimer-" + getIdentifier() + "?period=" + inboxPollController.getMinIntervalMillis() + "&delay=2000")
+        .routeId("inboxEventProcessorTimer-" + getIdentifier())
+        .process(exchange -> {
+            if (inboxPollController.isDue()) {
+                inboxEventPoller.process(exchange);
+            }
         });  
 
+        from(getInboxEventWakeupUri())
+        .routeId("inboxEventProcessorWakeup-" + getIdentifier())
+        .process(inboxEventPoller);
+        
+        eventNotifier.registerInboxListener(getIdentifier(), this::wakeupInboxEventProcessor);
+        eventNotifier.registerOutboxListener(getIdentifier(), this::wakeupOutboxEventProcessor);
+
         
         from("direct:processInboxEvent-" + getIdentifier())
         .routeId("processInboxEvent-" + getIdentifier())
@@ -360,6 +528,356 @@ public abstract class BaseMessagingComponent extends RouteBuilder implements Mes
         .routeGroup(getComponentPath())
         .transacted("jpaTransactionPolicy")
             .process(getOutboxEventProcessor());  
+        
+        
+        if (getOutboxEventProcessor() instanceof BatchOutboxEventProcessor batchProcessor) {
+            from("direct:processOutboxEventBatch-" + getIdentifier())
+            .routeId("processOutboxEventBatch-" + getIdentifier())
+            .routeGroup(getComponentPath())
+            .transacted("jpaTransactionPolicy")
+                .process(exchange -> batchProcessor.processBatch(toOutboxEvents(exchange.getMessage().getBody(List.class))));
+        }
+    }
+
+    
+    /**
+     * Converts the body of a batch exchange back to the outbox events which were sent.  Each element is checked so no unchecked cast is needed.
+     */
+    private static List<OutboxEventDto> toOutboxEvents(List<?> body) {
+        return body.stream().map(OutboxEventDto.class::cast).toList();
+    }
+
+    
+    /**
+     * Processes a single outbox event in its own transaction.
+     * 
+     * @param event
+     * @param claimBased
+     * @param inProgressSet
+     */
+    private void processOutboxEvent(OutboxEventDto event, boolean claimBased, IgniteSet<Long> inProgressSet) {
+        EventTiming timing = EventTiming.start();
+        long start = System.nanoTime();
+        
+        try {
+            Map<String, Object> headers = new HashMap<>();
+            headers.put(IdentifierType.MESSAGE_FLOW_ID.name(), event.getMessageFlowId());
+            headers.put(IdentifierType.EVENT_ID.name(), event.getId());
+
+            producerTemplate.sendBodyAndHeaders("direct:processOutboxEvent-" + event.getComponentId(), event.getMessageFlowId(), headers);   
+            
+            // Includes the transaction commit.
+            meters.recordOutboxEvent(System.nanoTime() - start, timing);
+        } catch(RuntimeException e) {
+            // The event was not processed so make it available again straight away rather than waiting for the lease to expire.
+            if (claimBased) {
+                releaseOutboxEventClaim(event.getId());
+            }
+            
+            throw e;
+        } finally {
+            if (!claimBased) {
+                inProgressSet.remove(event.getId());
+            }
+            
+            // Capacity has been freed so check for more events.
+            wakeupOutboxEventProcessor();
+        }
+    }
+
+    
+    /**
+     * Processes a batch of outbox events in a single transaction.  If the batch fails the events are processed one at a time so each event
+     * gets the normal retry handling.
+     * 
+     * @param events
+     * @param claimBased
+     * @param inProgressSet
+     */
+    private void processOutboxEventBatch(List<OutboxEventDto> events, boolean claimBased, IgniteSet<Long> inProgressSet) {
+        EventTiming timing = EventTiming.start();
+        long start = System.nanoTime();
+        
+        try {
+            producerTemplate.sendBody("direct:processOutboxEventBatch-" + getIdentifier(), events);
+            
+            // Includes the transaction commit.
+            meters.recordOutboxEvent(System.nanoTime() - start, timing);
+        } catch(RuntimeException e) {
+            getLogger().warn("Unable to process a batch of {} outbox events.  Processing them one at a time", events.size(), e);
+            
+            for (OutboxEventDto event : events) {
+                try {
+                    processOutboxEvent(event, claimBased, inProgressSet);
+                } catch(RuntimeException eventException) {
+                    getLogger().warn("Unable to process outbox event {}", event.getId(), eventException);
+                }
+            }
+        } finally {
+            if (!claimBased) {
+                for (OutboxEventDto event : events) {
+                    inProgressSet.remove(event.getId());
+                }
+            }
+            
+            // Capacity has been freed so check for more events.
+            wakeupOutboxEventProcessor();
+        }
+    }
+
+    
+    /**
+     * Makes an event which was not processed available for selection again.
+     * 
+     * @param event
+     * @param claimBased
+     * @param inProgressSet
+     */
+    private void releaseOutboxEvent(OutboxEventDto event, boolean claimBased, IgniteSet<Long> inProgressSet) {
+        if (claimBased) {
+            releaseOutboxEventClaim(event.getId());
+        } else {
+            inProgressSet.remove(event.getId());
+        }
+    }
+
+    
+
+    /**
+     * Selects outbox events while holding a cluster wide Ignite lock.  Events already in progress are excluded.
+     * 
+     * @param cache
+     * @param inProgressSet
+     * @param numberToRead
+     * @return
+     * @throws MessageFlowProcessingException
+     * @throws OutboxEventProcessingException
+     */
+    protected List<OutboxEventDto> selectOutboxEventsWithLock(IgniteCache<String, Integer> cache, IgniteSet<Long> inProgressSet, int numberToRead) throws MessageFlowProcessingException, OutboxEventProcessingException {
+        Lock eventSelectionLock = cache.lock("outbox-event-selection-lock-" + getIdentifier());
+
+        List<OutboxEventDto> events = null;
+        
+        eventSelectionLock.lock();
+        try {
+            List<Long> idsToExclude = new ArrayList<>();
+            if (inProgressSet != null && !inProgressSet.isEmpty()) {
+                idsToExclude.addAll(inProgressSet);
+            }
+
+            // Select the records to process while holding the lock.
+            events = outboxService.getEventsForComponent(getIdentifier(), numberToRead, idsToExclude);
+            
+            for (OutboxEventDto event : events) {
+                inProgressSet.add(event.getId());
+            }   
+        } finally {
+            eventSelectionLock.unlock();
+        }
+        
+        return events;
+    }
+    
+
+    /**
+     * Selects inbox events while holding a cluster wide Ignite lock.  Events already in progress are excluded.
+     * 
+     * @param cache
+     * @param inProgressSet
+     * @param numberToRead
+     * @return
+     * @throws MessageFlowProcessingException
+     * @throws OutboxEventProcessingException
+     */
+    protected List<InboxEventDto> selectInboxEventsWithLock(IgniteCache<String, Integer> cache, IgniteSet<Long> inProgressSet, int numberToRead) throws MessageFlowProcessingException, OutboxEventProcessingException {
+        Lock eventSelectionLock = cache.lock("inbox-event-selection-lock-" + getIdentifier());
+
+        List<InboxEventDto> events = null;
+        
+        eventSelectionLock.lock();
+        try {
+            List<Long> idsToExclude = new ArrayList<>();
+            if (inProgressSet != null && !inProgressSet.isEmpty()) {
+                idsToExclude.addAll(inProgressSet);
+            }
+
+            // Select the records to process while holding the lock.
+            events = inboxService.getEventsForComponent(getIdentifier(), numberToRead, idsToExclude);
+            
+            for (InboxEventDto event : events) {
+                inProgressSet.add(event.getId());
+            }   
+        } finally {
+            eventSelectionLock.unlock();
+        }
+        
+        return events;
+    }
+    
+    
+    protected void releaseInboxEventClaim(long eventId) {
+        try {
+            inboxService.releaseClaim(eventId, getEventClaimOwner());
+        } catch(OutboxEventProcessingException e) {
+            // Not fatal.  The event will be selected again once the lease expires.
+            getLogger().warn("Unable to release claim on inbox event: {}", eventId, e);
+        }
+    }
+    
+    
+    protected void releaseOutboxEventClaim(long eventId) {
+        try {
+            outboxService.releaseClaim(eventId, getEventClaimOwner());
+        } catch(OutboxEventProcessingException e) {
+            // Not fatal.  The event will be selected again once the lease expires.
+            getLogger().warn("Unable to release claim on outbox event: {}", eventId, e);
+        }
+    }
+    
+    
+    /**
+     * Claim based selection uses SELECT ... FOR UPDATE SKIP LOCKED and a lease on each selected event so nodes can select
+     * events concurrently without a cluster lock.  Setting integration.event.selection-mode=lock uses the Ignite lock and
+     * in progress sets instead.
+     * 
+     * @return
+     */
+    protected boolean isClaimBasedEventSelection() {
+        return !"lock".equalsIgnoreCase(env.getProperty("integration.event.selection-mode", "claim"));
+    }
+    
+    
+    /**
+     * How long a claimed event is hidden from other selections.  Must be longer than the time taken to process an event.
+     * 
+     * @return
+     */
+    protected int getEventClaimLeaseSeconds() {
+        return env.getProperty("integration.event.claim-lease-seconds", Integer.class, 300);
+    }
+    
+    
+    /**
+     * Identifies this node as the claimer of an event.
+     * 
+     * @return
+     */
+    protected String getEventClaimOwner() {
+        return getOwner() + "-" + NODE_ID;
+    }
+    
+    
+    /**
+     * Creates the controller for the batch size and interval of an inbox or outbox poll.  The bounds can be set for a component with the
+     * EVENT_POLL_MIN_BATCH_SIZE, EVENT_POLL_MAX_BATCH_SIZE, EVENT_POLL_MIN_INTERVAL and EVENT_POLL_MAX_INTERVAL component properties.  The
+     * intervals are in milliseconds.
+     * 
+     * @return
+     * @throws ComponentConfigurationException
+     */
+    protected AdaptivePollController createPollController() throws ComponentConfigurationException {
+        try {
+            int minBatchSize = getIntConfiguration("EVENT_POLL_MIN_BATCH_SIZE", "integration.event.poll.min-batch-size", 10);
+            int maxBatchSize = getIntConfiguration("EVENT_POLL_MAX_BATCH_SIZE", "integration.event.poll.max-batch-size", 500);
+            int minInterval = getIntConfiguration("EVENT_POLL_MIN_INTERVAL", "integration.event.poll.min-interval", (int)getEventPollPeriod());
+            int maxInterval = getIntConfiguration("EVENT_POLL_MAX_INTERVAL", "integration.event.poll.max-interval", Math.max(10000, minInterval));
+            
+            return new AdaptivePollController(EVENT_POLL_LIMIT, minBatchSize, maxBatchSize, minInterval, maxInterval);
+        } catch(IllegalArgumentException e) {
+            throw new ComponentConfigurationException("Invalid event poll configuration", getIdentifier(), e);
+        }
+    }
+    
+    
+    /**
+     * The number of outbox events the next poll may select.  Components override this to poll fewer events or none at all.
+     * 
+     * @param limit the number of events the dispatcher can accept.
+     * @return
+     */
+    protected int getOutboxPollLimit(int limit) {
+        return limit;
+    }
+    
+    
+    /**
+     * Returns a setting from the component's configuration properties.  If the component does not set it the application property is used
+     * and then the default.
+     * 
+     * @param componentProperty
+     * @param applicationProperty
+     * @param defaultValue
+     * @return
+     */
+    protected int getIntConfiguration(String componentProperty, String applicationProperty, int defaultValue) {
+        String value = componentProperties == null ? null : componentProperties.get(componentProperty);
+        
+        if (value == null || value.isBlank()) {
+            return env.getProperty(applicationProperty, Integer.class, defaultValue);
+        }
+        
+        return Integer.parseInt(value.trim());
+    }
+    
+    
+    /**
+     * When enabled and the outbox event processor supports it the outbox events selected by a poll are processed as a batch in a single
+     * transaction.  Useful for splitters which record many outbox events at once.
+     * 
+     * @return
+     */
+    protected boolean isOutboxBatchPublishEnabled() {
+        return env.getProperty("integration.outbox.batch-publish.enabled", Boolean.class, false) && getOutboxEventProcessor() instanceof BatchOutboxEventProcessor;
+    }
+    
+    
+    /**
+     * The period of the inbox and outbox event timers.  When event notification is enabled the timers are only a safety net
+     * so can run much less often.
+     * 
+     * @return
+     */
+    protected long getEventPollPeriod() {
+        if (eventNotifier.isEnabled()) {
+            return env.getProperty("integration.event.safety-poll-period", Long.class, 5000L);
+        }
+        
+        return env.getProperty("integration.event.poll-period", Long.class, 300L);
+    }
+    
+    
+    /**
+     * The wakeup queue holds at most one signal so multiple signals received while a poll is running are coalesced into a single poll.
+     * 
+     * @return
+     */
+    protected String getInboxEventWakeupUri() {
+        return "seda:inboxEventWakeup-" + getIdentifier() + "?size=1&discardWhenFull=true";
+    }
+    
+    
+    protected String getOutboxEventWakeupUri() {
+        return "seda:outboxEventWakeup-" + getIdentifier() + "?size=1&discardWhenFull=true";
+    }
+    
+    
+    /**
+     * Triggers an immediate poll of this components inbox events.
+     */
+    public void wakeupInboxEventProcessor() {
+        if (eventNotifier.isEnabled()) {
+            producerTemplate.sendBody(getInboxEventWakeupUri(), getIdentifier());
+        }
+    }
+    
+    
+    /**
+     * Triggers an immediate poll of this components outbox events.
+     */
+    public void wakeupOutboxEventProcessor() {
+        if (eventNotifier.isEnabled()) {
+            producerTemplate.sendBody(getOutboxEventWakeupUri(), getIdentifier());
+        }
     }
 
     
@@ -469,6 +987,7 @@ public abstract class BaseMessagingComponent extends RouteBuilder implements Mes
     @Override
     public void setRoute(BaseRoute route) {
         this.route = route;
+        this.componentPath = null;
     }
 
     
@@ -520,9 +1039,11 @@ public abstract class BaseMessagingComponent extends RouteBuilder implements Mes
      */
     @Override
     public String getName() throws ComponentConfigurationException {
-        IntegrationComponent annotation = getRequiredAnnotation(IntegrationComponent.class);
+        if (descriptor.getName() == null) {
+            throw missingAnnotation(IntegrationComponent.class);
+        }
 
-        return annotation.name();
+        return descriptor.getName();
     }
 
     
@@ -532,9 +1053,11 @@ public abstract class BaseMessagingComponent extends RouteBuilder implements Mes
      */
     @Override
     public IntegrationComponentTypeEnum getType() throws ComponentConfigurationException {
-        ComponentType annotation = getRequiredAnnotation(ComponentType.class);
+        if (descriptor.getType() == null) {
+            throw missingAnnotation(ComponentType.class);
+        }
 
-        return annotation.type();
+        return descriptor.getType();
     }
 
     
@@ -545,8 +1068,11 @@ public abstract class BaseMessagingComponent extends RouteBuilder implements Mes
      * @throws ComponentConfigurationException 
      */
     public ContentTypeEnum getContentType() throws ComponentConfigurationException {
-        AllowedContentType annotation = getRequiredAnnotation(AllowedContentType.class);
-        return annotation.value();
+        if (descriptor.getContentType() == null) {
+            throw missingAnnotation(AllowedContentType.class);
+        }
+        
+        return descriptor.getContentType();
     }
 
     
@@ -558,18 +1084,21 @@ public abstract class BaseMessagingComponent extends RouteBuilder implements Mes
      * @return
      */
     protected <T extends Annotation> T getRequiredAnnotation(Class<T> annotationClass) throws ComponentConfigurationException {
-        T annotation = this.getClass().getAnnotation(annotationClass);
+        T annotation = descriptor.getAnnotation(annotationClass);
 
         if (annotation == null) {
-            List<ExceptionIdentifier>identifiers = new ArrayList<>();
-            identifiers.add(new ExceptionIdentifier(IdentifierType.COMPONENT_ID, getIdentifier()));
-            throw new ComponentConfigurationException("Missing required annotation @" + annotationClass.getSimpleName() + " on class " + this.getClass().getName() + " or its hierarchy.", getIdentifier());
+            throw missingAnnotation(annotationClass);
         }
 
         return annotation;
     }
     
     
+    private ComponentConfigurationException missingAnnotation(Class<? extends Annotation> annotationClass) {
+        return new ComponentConfigurationException("Missing required annotation @" + annotationClass.getSimpleName() + " on class " + this.getClass().getName() + " or its hierarchy.", getIdentifier());
+    }
+    
+    
     /**
      * A helper method to get an annotation.
      * 
@@ -578,7 +1107,7 @@ public abstract class BaseMessagingComponent extends RouteBuilder implements Mes
      * @return
      */
     public <T extends Annotation> T getAnnotation(Class<T> annotationClass) throws ComponentConfigurationException {
-        return this.getClass().getAnnotation(annotationClass);
+        return descriptor.getAnnotation(annotationClass);
     }
     
     
@@ -0,0 +1,19 @@
+package integration.core.runtime.messaging.component;
+
+import java.util.List;
+
+import integration.core.dto.OutboxEventDto;
+
+/**
+ * Classes which implement this interface are outbox event processors which can also process a batch of outbox events in a single transaction.
+ */
+public interface BatchOutboxEventProcessor extends OutboxEventProcessor {
+
+    /**
+     * Processes a batch of outbox events.  Any exception rolls back the whole batch.
+     * 
+     * @param events
+     * @throws Exception
+     */
+    void processBatch(List<OutboxEventDto> events) throws Exception;
+}
@@ -0,0 +1,139 @@
+package integration.core.runtime.messaging.component;
+
+import java.lang.annotation.Annotation;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import integration.core.domain.configuration.ContentTypeEnum;
+import integration.core.domain.configuration.IntegrationComponentCategoryEnum;
+import integration.core.domain.configuration.IntegrationComponentTypeEnum;
+import integration.core.runtime.messaging.component.annotation.ComponentType;
+import integration.core.runtime.messaging.component.annotation.IntegrationComponent;
+import integration.core.runtime.messaging.component.type.adapter.annotation.AdapterOption;
+import integration.core.runtime.messaging.component.type.adapter.annotation.InjectHeader;
+
+/**
+ * The annotation metadata of a component class.  Read once per class so the annotations are not looked up by reflection while messages
+ * are being processed.
+ *
+ * Annotations are found the same way as Class.getAnnotation so only annotations marked @Inherited are picked up from super classes.
+ * A value is null if the class does not have the annotation it comes from.
+ *
+ * @author Brendan Douglas
+ */
+public final class ComponentDescriptor {
+    private static final ClassValue<ComponentDescriptor> DESCRIPTORS = new ClassValue<>() {
+
+        @Override
+        protected ComponentDescriptor computeValue(Class<?> componentClass) {
+            return new ComponentDescriptor(componentClass);
+        }
+    };
+
+    private final Map<Class<? extends Annotation>, Annotation> annotations;
+    private final String name;
+    private final IntegrationComponentTypeEnum type;
+    private final ContentTypeEnum contentType;
+    private final Set<String> injectedHeaders;
+    private final Map<String, String> adapterOptions;
+
+
+    private ComponentDescriptor(Class<?> componentClass) {
+        Map<Class<? extends Annotation>, Annotation> classAnnotations = new HashMap<>();
+        for (Annotation annotation : componentClass.getAnnotations()) {
+            classAnnotations.put(annotation.annotationType(), annotation);
+        }
+
+        this.annotations = Collections.unmodifiableMap(classAnnotations);
+
+        IntegrationComponent integrationComponent = getAnnotation(IntegrationComponent.class);
+        this.name = integrationComponent == null ? null : integrationComponent.name();
+
+        ComponentType componentType = getAnnotation(ComponentType.class);
+        this.type = componentType == null ? null : componentType.type();
+
+        AllowedContentType allowedContentType = getAnnotation(AllowedContentType.class);
+        this.contentType = allowedContentType == null ? null : allowedContentType.value();
+
+        Set<String> headers = new LinkedHashSet<>();
+        for (InjectHeader header : componentClass.getAnnotationsByType(InjectHeader.class)) {
+            headers.add(header.name());
+        }
+
+        this.injectedHeaders = Collections.unmodifiableSet(headers);
+
+        // The options declared on each class in the hierarchy.  Where a key is declared more than once the super class value is used.
+        Map<String, String> options = new LinkedHashMap<>();
+        Class<?> clazz = componentClass;
+
+        while (clazz != null) {
+            for (AdapterOption option : clazz.getDeclaredAnnotationsByType(AdapterOption.class)) {
+                options.put(option.key(), option.value());
+            }
+
+            clazz = clazz.getSuperclass();
+        }
+
+        this.adapterOptions = Collections.unmodifiableMap(options);
+    }
+
+
+    /**
+     * Returns the descriptor for a component class.
+     *
+     * @param componentClass
+     * @return
+     */
+    public static ComponentDescriptor of(Class<?> componentClass) {
+        return DESCRIPTORS.get(componentClass);
+    }
+
+
+    public <T extends Annotation> T getAnnotation(Class<T> annotationClass) {
+        return annotationClass.cast(annotations.get(annotationClass));
+    }
+
+
+    public String getName() {
+        return name;
+    }
+
+
+    public IntegrationComponentTypeEnum getType() {
+        return type;
+    }
+
+
+    public IntegrationComponentCategoryEnum getCategory() {
+        return type == null ? null : type.getCategory();
+    }
+
+
+    public ContentTypeEnum getContentType() {
+        return contentType;
+    }
+
+
+    /**
+     * The names of the message flow properties to set as headers.  From @InjectHeader.
+     *
+     * @return
+     */
+    public Set<String> getInjectedHeaders() {
+        return injectedHeaders;
+    }
+
+
+    /**
+     * The Camel URI options from @AdapterOption.  The values may contain property placeholders.
+     *
+     * @return
+     */
+    public Map<String, String> getAdapterOptions() {
+        return adapterOptions;
+    }
+}
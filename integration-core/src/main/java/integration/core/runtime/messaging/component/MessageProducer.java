@@ -1,5 +1,7 @@
 package integration.core.runtime.messaging.component;
 
+import java.util.List;
+
 import integration.core.runtime.messaging.component.type.handler.filter.MessageForwardingPolicy;
 import integration.core.runtime.messaging.exception.nonretryable.ComponentConfigurationException;
 import integration.core.runtime.messaging.exception.nonretryable.RouteConfigurationException;
@@ -17,6 +19,14 @@ public interface MessageProducer extends MessagingComponent {
     void addMessageConsumer(MessageConsumer messageConsumer);
     
     
+    /**
+     * Gets the message consumers of this message producer.  These are always in the same route as the producer.
+     * 
+     * @return
+     */
+    List<MessageConsumer> getMessageConsumers();
+    
+    
     /**
      * Gets the message forwarding policy for this message producer.
      * 
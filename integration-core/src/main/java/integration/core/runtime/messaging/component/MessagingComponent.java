@@ -40,5 +40,13 @@ public interface MessagingComponent {
 
     void validateAnnotations() throws ComponentConfigurationException;
     
+    /**
+     * Looks up the beans named in the component's annotations (policies, resolvers, strategies etc) so they are not looked up while messages
+     * are being processed.
+     * 
+     * @throws ComponentConfigurationException
+     */
+    void bindConfiguredBeans() throws ComponentConfigurationException;
+    
     String getOwner();
 }
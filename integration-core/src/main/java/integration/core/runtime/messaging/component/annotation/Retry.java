@@ -0,0 +1,22 @@
+package integration.core.runtime.messaging.component.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * The name of the RetryPolicy bean used when an event for the component fails.  Optional.  Components without it use defaultRetryPolicy.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+@Component
+public @interface Retry {
+    String policy();
+}
@@ -6,7 +6,6 @@ import java.util.Map;
 import integration.core.dto.ComponentDto;
 import integration.core.dto.ComponentPropertyDto;
 import integration.core.runtime.messaging.component.BaseMessagingComponent;
-import integration.core.runtime.messaging.component.type.adapter.annotation.AdapterOption;
 
 /**
  * Base class for all adapters.  An adapter communications with external entities.
@@ -15,28 +14,34 @@ import integration.core.runtime.messaging.component.type.adapter.annotation.Adap
  */
 public abstract class BaseAdapter extends BaseMessagingComponent  {
     private final Map<String, String>uriOptions = new HashMap<>();
+    
+    // The options string built from uriOptions.  Rebuilt when an option is added.
+    private String adapterOptions;
        
     /**
      * Adds camel URI options.
      *
      */
-    protected void addURIOption(String key, String value) {
+    protected synchronized void addURIOption(String key, String value) {
         uriOptions.put(key, value);
+        adapterOptions = null;
     }
 
     
-    public String constructAdapterOptions() {
-        Class<?> clazz = this.getClass();
-        
-        while (clazz != null) {
-            AdapterOption[] options = clazz.getDeclaredAnnotationsByType(AdapterOption.class);
-            for (AdapterOption option : options) {
-                addURIOption(option.key(), env.resolvePlaceholders(option.value()));
+    public synchronized String constructAdapterOptions() {
+        if (adapterOptions == null) {
+            for (Map.Entry<String, String> option : descriptor.getAdapterOptions().entrySet()) {
+                uriOptions.put(option.getKey(), env.resolvePlaceholders(option.getValue()));
             }
-            clazz = clazz.getSuperclass();
+            
+            adapterOptions = buildOptionsString();
         }
         
-        
+        return adapterOptions;
+    }
+    
+    
+    private String buildOptionsString() {
         if (uriOptions.isEmpty()) {
             return "";
         }
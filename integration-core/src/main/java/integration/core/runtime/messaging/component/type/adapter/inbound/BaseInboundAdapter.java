@@ -1,6 +1,7 @@
 package integration.core.runtime.messaging.component.type.adapter.inbound;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import integration.core.runtime.messaging.component.MessageConsumer;
@@ -20,6 +21,8 @@ import integration.core.runtime.messaging.exception.nonretryable.ComponentConfig
 public abstract class BaseInboundAdapter extends BaseAdapter implements MessageProducer {
     protected final List<MessageConsumer> messageConsumers = new ArrayList<>();
     
+    private MessageForwardingPolicy forwardingPolicy;
+    
     
     @Override
     public void addMessageConsumer(MessageConsumer messageConsumer) {
@@ -30,11 +33,27 @@ public abstract class BaseInboundAdapter extends BaseAdapter implements MessageP
     }
 
     
+    @Override
+    public List<MessageConsumer> getMessageConsumers() {
+        return Collections.unmodifiableList(messageConsumers);
+    }
+
+    
     @Override
     public MessageForwardingPolicy getMessageForwardingPolicy() throws ComponentConfigurationException {
-        ForwardingPolicy annotation = getRequiredAnnotation(ForwardingPolicy.class);
-               
-        return springContext.getBean(annotation.name(), MessageForwardingPolicy.class);
+        if (forwardingPolicy == null) {
+            forwardingPolicy = getConfiguredBean(getRequiredAnnotation(ForwardingPolicy.class).name(), MessageForwardingPolicy.class);
+        }
+        
+        return forwardingPolicy;
+    }
+
+    
+    @Override
+    public void bindConfiguredBeans() throws ComponentConfigurationException {
+        super.bindConfiguredBeans();
+        
+        getMessageForwardingPolicy();
     }
 
     
@@ -10,16 +10,13 @@ import integration.core.runtime.messaging.component.InboxEventProcessor;
 import integration.core.runtime.messaging.component.type.handler.filter.MessageFlowPolicyResult;
 import integration.core.runtime.messaging.exception.retryable.InboxEventSchedulerException;
 import integration.core.runtime.messaging.service.InboxService;
-import integration.core.runtime.messaging.service.OutboxService;
+import integration.core.runtime.messaging.service.MessageFlowChain;
 
 /**
  * Inbox event processor for a all inbound adapter.
  */
 public abstract class BaseInboundAdapterInboxEventProcessor extends BaseMessageFlowProcessor<BaseInboundAdapter> implements InboxEventProcessor {
     
-    @Autowired
-    private OutboxService outboxService;
-    
     @Autowired
     private InboxService inboxService;
     
@@ -39,8 +36,8 @@ public abstract class BaseInboundAdapterInboxEventProcessor extends BaseMessageF
             MessageFlowPolicyResult result = component.getMessageForwardingPolicy().applyPolicy(messageFlowDto);
                                                            
             if (result.isSuccess()) {
-                messageFlowId = messageFlowService.recordMessagePendingForwarding(component.getIdentifier(), messageFlowId);
-                outboxService.recordEvent(messageFlowId,component.getIdentifier(), component.getRoute().getIdentifier(), component.getOwner());
+                MessageFlowChain chain = new MessageFlowChain(component.getIdentifier(), messageFlowId).pendingForwarding();
+                messageFlowService.recordMessageFlowChain(chain.outboxEvent(component.getRoute().getIdentifier(), component.getOwner()));
             } else {
                 messageFlowService.recordMessageNotForwarded(component.getIdentifier(), messageFlowId, result);
             }  
@@ -2,7 +2,6 @@ package integration.core.runtime.messaging.component.type.adapter.outbound;
 
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -12,11 +11,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import integration.core.domain.configuration.IntegrationComponentStateEnum;
 import integration.core.dto.MessageFlowDto;
 import integration.core.dto.MessageFlowPropertyDto;
+import integration.core.runtime.messaging.circuitbreaker.CircuitBreaker;
+import integration.core.runtime.messaging.circuitbreaker.CircuitBreakerRegistry;
 import integration.core.runtime.messaging.component.MessageConsumer;
 import integration.core.runtime.messaging.component.MessageProducer;
 import integration.core.runtime.messaging.component.WriteToInboxProcessor;
 import integration.core.runtime.messaging.component.type.adapter.BaseAdapter;
-import integration.core.runtime.messaging.component.type.adapter.annotation.InjectHeader;
 import integration.core.runtime.messaging.component.type.handler.filter.MessageAcceptancePolicy;
 import integration.core.runtime.messaging.component.type.handler.filter.annotation.AcceptancePolicy;
 import integration.core.runtime.messaging.exception.nonretryable.ComponentConfigurationException;
@@ -37,6 +37,13 @@ public abstract class BaseOutboundAdapter extends BaseAdapter implements Message
     @Autowired
     protected WriteToInboxProcessor writeToInboxProcessor;
     
+    @Autowired
+    protected CircuitBreakerRegistry circuitBreakerRegistry;
+    
+    private MessageAcceptancePolicy acceptancePolicy;
+    
+    private CircuitBreaker circuitBreaker;
+    
     @PostConstruct
     public void BaseOutboundAdapterInit() {
         writeToInboxProcessor.setComponent(this);
@@ -54,9 +61,19 @@ public abstract class BaseOutboundAdapter extends BaseAdapter implements Message
     
     @Override
     public MessageAcceptancePolicy getMessageAcceptancePolicy() throws ComponentConfigurationException {
-        AcceptancePolicy annotation = getRequiredAnnotation(AcceptancePolicy.class);
-                       
-        return springContext.getBean(annotation.name(), MessageAcceptancePolicy.class);
+        if (acceptancePolicy == null) {
+            acceptancePolicy = getConfiguredBean(getRequiredAnnotation(AcceptancePolicy.class).name(), MessageAcceptancePolicy.class);
+        }
+        
+        return acceptancePolicy;
+    }
+
+    
+    @Override
+    public void bindConfiguredBeans() throws ComponentConfigurationException {
+        super.bindConfiguredBeans();
+        
+        getMessageAcceptancePolicy();
     }
 
     
@@ -74,6 +91,50 @@ public abstract class BaseOutboundAdapter extends BaseAdapter implements Message
     }
 
     
+    @Override
+    protected void configureOutboxRoutes() throws ComponentConfigurationException, RouteConfigurationException {
+        int failureThreshold = getIntConfiguration("CIRCUIT_BREAKER_FAILURE_THRESHOLD", "integration.circuit-breaker.failure-threshold", 5);
+        int openSeconds = getIntConfiguration("CIRCUIT_BREAKER_OPEN_SECONDS", "integration.circuit-breaker.open-seconds", 30);
+        
+        circuitBreaker = new CircuitBreaker(getIdentifier(), getComponentPath(), failureThreshold, openSeconds * 1000L);
+        circuitBreakerRegistry.register(circuitBreaker);
+        
+        super.configureOutboxRoutes();
+    }
+
+    
+    /**
+     * The outbox is not polled while the circuit to the destination is open.
+     */
+    @Override
+    protected int getOutboxPollLimit(int limit) {
+        return circuitBreaker.getPollLimit(limit);
+    }
+
+    
+    /**
+     * The circuit breaker for this adapter's destination.  The outbox event processor records each send on it.
+     * 
+     * @return
+     */
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    
+    /**
+     * Leaves an outbox event which was selected but not sent to be selected again later.  Unlike a failure the event's retry count is not
+     * changed.  Used for events selected before the circuit opened.
+     * 
+     * @param eventId
+     */
+    public void deferOutboxEvent(long eventId) {
+        if (isClaimBasedEventSelection()) {
+            releaseOutboxEventClaim(eventId);
+        }
+    }
+
+    
     @Override
     protected void configureRequiredAnnotations() {    
         requiredAnnotations.add(AcceptancePolicy.class);
@@ -89,13 +150,7 @@ public abstract class BaseOutboundAdapter extends BaseAdapter implements Message
     public Map<String,Object>getHeaders(MessageFlowDto messageFlowDto) {
         Map<String, Object> headers = new HashMap<>();
 
-        InjectHeader[] loadHeaders = this.getClass().getAnnotationsByType(InjectHeader.class);
-
-        // Collect allowed keys
-        Set<String> allowedKeys = new HashSet<>();
-        for (InjectHeader header : loadHeaders) {
-            allowedKeys.add(header.name());
-        }
+        Set<String> allowedKeys = descriptor.getInjectedHeaders();
 
         for (MessageFlowPropertyDto property : messageFlowDto.getProperties()) {
             if (allowedKeys.contains(property.getKey())) {
@@ -10,6 +10,7 @@ import integration.core.runtime.messaging.component.InboxEventProcessor;
 import integration.core.runtime.messaging.component.type.handler.filter.MessageFlowPolicyResult;
 import integration.core.runtime.messaging.exception.retryable.InboxEventSchedulerException;
 import integration.core.runtime.messaging.service.InboxService;
+import integration.core.runtime.messaging.service.MessageFlowChain;
 import integration.core.runtime.messaging.service.OutboxService;
 
 
@@ -38,11 +39,10 @@ public abstract class BaseOutboundAdapterInboxEventProcessor extends BaseMessage
             // Apply acceptance policy.
             MessageFlowPolicyResult result = component.getMessageAcceptancePolicy().applyPolicy(messageFlowDto);
             if (result.isSuccess()) {
-                messageFlowId = messageFlowService.recordMessageAccepted(component.getIdentifier(), messageFlowId);
-                messageFlowId = messageFlowService.recordMessagePendingForwarding(component.getIdentifier(), messageFlowId);
+                MessageFlowChain chain = new MessageFlowChain(component.getIdentifier(), messageFlowId).accepted().pendingForwarding();
                                   
                 // Record an event so the message can be forwarded to other components for processing.
-                outboxService.recordEvent(messageFlowId,component.getIdentifier(), component.getRoute().getIdentifier(), component.getOwner()); 
+                messageFlowService.recordMessageFlowChain(chain.outboxEvent(component.getRoute().getIdentifier(), component.getOwner())); 
             } else {
                 messageFlowService.recordMessageNotAccepted(component.getIdentifier(), messageFlowId, result);
             } 
@@ -7,6 +7,8 @@ import integration.core.runtime.messaging.component.annotation.ComponentType;
 import integration.core.runtime.messaging.component.type.adapter.outbound.BaseOutboundAdapter;
 import integration.core.runtime.messaging.component.type.adapter.outbound.BaseOutboundAdapterInboxEventProcessor;
 import integration.core.runtime.messaging.component.type.adapter.smb.annotation.FileNaming;
+import integration.core.runtime.messaging.component.type.adapter.smb.annotation.FileNamingStrategy;
+import integration.core.runtime.messaging.exception.nonretryable.ComponentConfigurationException;
 import jakarta.annotation.PostConstruct;
 
 /**
@@ -25,6 +27,8 @@ public abstract class BaseSMBOutboundAdapter extends BaseOutboundAdapter {
     @Autowired
     private SMBOutboundAdapterInboxEventProcessor inboxEventProcessor;
     
+    private FileNamingStrategy fileNamingStrategy;
+    
     @PostConstruct
     public void BaseSMBOutboundAdapterInit() {
         outboxEventProcessor.setComponent(this);
@@ -42,6 +46,33 @@ public abstract class BaseSMBOutboundAdapter extends BaseOutboundAdapter {
     }
 
     
+    /**
+     * The strategy from @FileNaming or null if the component does not have the annotation.
+     * 
+     * @return
+     * @throws ComponentConfigurationException
+     */
+    public FileNamingStrategy getFileNamingStrategy() throws ComponentConfigurationException {
+        if (fileNamingStrategy == null) {
+            FileNaming annotation = getAnnotation(FileNaming.class);
+            
+            if (annotation != null) {
+                fileNamingStrategy = getConfiguredBean(annotation.strategy(), FileNamingStrategy.class);
+            }
+        }
+        
+        return fileNamingStrategy;
+    }
+
+    
+    @Override
+    public void bindConfiguredBeans() throws ComponentConfigurationException {
+        super.bindConfiguredBeans();
+        
+        getFileNamingStrategy();
+    }
+
+    
     @Override
     protected void configureRequiredAnnotations() {    
         super.configureRequiredAnnotations();
@@ -6,15 +6,14 @@ import org.apache.camel.Exchange;
 import org.apache.camel.ProducerTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
-import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
 import integration.core.domain.IdentifierType;
 import integration.core.dto.MessageFlowDto;
+import integration.core.runtime.messaging.circuitbreaker.CircuitBreaker;
 import integration.core.runtime.messaging.component.BaseMessageFlowProcessor;
 import integration.core.runtime.messaging.component.OutboxEventProcessor;
-import integration.core.runtime.messaging.component.type.adapter.smb.annotation.FileNaming;
 import integration.core.runtime.messaging.component.type.adapter.smb.annotation.FileNamingStrategy;
 import integration.core.runtime.messaging.exception.retryable.OutboxEventSchedulerException;
 import integration.core.runtime.messaging.service.OutboxService;
@@ -28,9 +27,6 @@ import integration.core.runtime.messaging.service.OutboxService;
 public class SMBOutboundAdapterOutboxEventProcessor extends BaseMessageFlowProcessor<BaseSMBOutboundAdapter> implements OutboxEventProcessor {
     private static final String CAMEL_FILE_NAME = "CamelFileName";
     
-    @Autowired
-    protected ApplicationContext springContext;
-    
     @Autowired
     protected ProducerTemplate producerTemplate;
     
@@ -45,20 +41,27 @@ public class SMBOutboundAdapterOutboxEventProcessor extends BaseMessageFlowProce
         try {
             messageFlowId = exchange.getMessage().getBody(Long.class);
             exchange.getMessage().setHeader(IdentifierType.MESSAGE_FLOW_ID.name(), messageFlowId);
-            messageFlowDto = messageFlowService.retrieveMessageFlow(messageFlowId, true);
             
             Long eventId = (Long)exchange.getMessage().getHeader(IdentifierType.EVENT_ID.name());
             
+            CircuitBreaker circuitBreaker = component.getCircuitBreaker();
+            
+            // The destination is down so leave the event until the circuit closes rather than using up one of its retries.
+            if (!circuitBreaker.isCallPermitted()) {
+                component.deferOutboxEvent(eventId);
+                return;
+            }
+            
+            messageFlowDto = messageFlowService.retrieveMessageFlow(messageFlowId, true);
+            
             outboxService.deleteEvent(eventId);
             
             Map<String, Object> headers = component.getHeaders(messageFlowDto);
             
             // Apply the file name strategy if the annotation exists.
-            FileNaming annotation = component.getAnnotation(FileNaming.class);
+            FileNamingStrategy strategy = component.getFileNamingStrategy();
              
-            if (annotation != null) {
-                FileNamingStrategy strategy = springContext.getBean(annotation.strategy(), FileNamingStrategy.class);
-                
+            if (strategy != null) {
                 String fileName = strategy.getFilename(exchange, messageFlowId);
     
                 if (fileName != null) {
@@ -74,8 +77,11 @@ public class SMBOutboundAdapterOutboxEventProcessor extends BaseMessageFlowProce
             try {
                 producerTemplate.sendBodyAndHeaders(uri, messageFlowDto.getMessageContent(), headers);
             } catch(Exception e) {
+                circuitBreaker.recordFailure(e);
                 throw new SMBForwardingException(eventId, component.getIdentifier(), messageFlowId, e);
             }
+            
+            circuitBreaker.recordSuccess();
         } catch(Exception e) {
             throw new OutboxEventSchedulerException(component.getIdentifier(), messageFlowId, e);
         }         
@@ -1,6 +1,7 @@
 package integration.core.runtime.messaging.component.type.connector.inbound;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.slf4j.Logger;
@@ -39,6 +40,8 @@ public abstract class BaseInboundRouteConnectorComponent extends BaseRouteConnec
     
     @Autowired
     protected WriteToInboxProcessor writeToInboxProcessor;
+    
+    private MessageForwardingPolicy forwardingPolicy;
 
     
     
@@ -66,11 +69,27 @@ public abstract class BaseInboundRouteConnectorComponent extends BaseRouteConnec
     }
 
     
+    @Override
+    public List<MessageConsumer> getMessageConsumers() {
+        return Collections.unmodifiableList(messageConsumers);
+    }
+
+    
     @Override
     public MessageForwardingPolicy getMessageForwardingPolicy() throws ComponentConfigurationException {
-        ForwardingPolicy annotation = getRequiredAnnotation(ForwardingPolicy.class);
+        if (forwardingPolicy == null) {
+            forwardingPolicy = getConfiguredBean(getRequiredAnnotation(ForwardingPolicy.class).name(), MessageForwardingPolicy.class);
+        }
+        
+        return forwardingPolicy;
+    }
 
-        return springContext.getBean(annotation.name(), MessageForwardingPolicy.class);
+    
+    @Override
+    public void bindConfiguredBeans() throws ComponentConfigurationException {
+        super.bindConfiguredBeans();
+        
+        getMessageForwardingPolicy();
     }
 
     
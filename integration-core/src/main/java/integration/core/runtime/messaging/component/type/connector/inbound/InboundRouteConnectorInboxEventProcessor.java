@@ -13,6 +13,7 @@ import integration.core.runtime.messaging.component.InboxEventProcessor;
 import integration.core.runtime.messaging.component.type.handler.filter.MessageFlowPolicyResult;
 import integration.core.runtime.messaging.exception.retryable.InboxEventSchedulerException;
 import integration.core.runtime.messaging.service.InboxService;
+import integration.core.runtime.messaging.service.MessageFlowChain;
 import integration.core.runtime.messaging.service.OutboxService;
 
 
@@ -45,8 +46,8 @@ public class InboundRouteConnectorInboxEventProcessor extends BaseMessageFlowPro
             MessageFlowPolicyResult result = component.getMessageForwardingPolicy().applyPolicy(messageFlowDto);
                                                            
             if (result.isSuccess()) {
-                messageFlowId = messageFlowService.recordMessagePendingForwarding(component.getIdentifier(), messageFlowId);
-                outboxService.recordEvent(messageFlowId,component.getIdentifier(), component.getRoute().getIdentifier(), component.getOwner());
+                MessageFlowChain chain = new MessageFlowChain(component.getIdentifier(), messageFlowId).pendingForwarding();
+                messageFlowService.recordMessageFlowChain(chain.outboxEvent(component.getRoute().getIdentifier(), component.getOwner()));
             } else {
                 messageFlowService.recordMessageNotForwarded(component.getIdentifier(), messageFlowId, result);
             }  
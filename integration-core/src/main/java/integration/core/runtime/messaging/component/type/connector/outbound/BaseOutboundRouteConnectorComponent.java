@@ -45,6 +45,12 @@ public abstract class BaseOutboundRouteConnectorComponent extends BaseRouteConne
     @Autowired
     protected WriteToInboxProcessor writeToInboxProcessor;
     
+    private MessageAcceptancePolicy acceptancePolicy;
+    
+    // Set once the destination annotations have been read.  Only one is set.
+    private String staticConnectorName;
+    private DynamicDestinationResolver destinationResolver;
+    
     @PostConstruct
     public void BaseOutboundRouteConnectorComponentInit() {
         inboxEventProcessor.setComponent(this);
@@ -70,9 +76,20 @@ public abstract class BaseOutboundRouteConnectorComponent extends BaseRouteConne
     
     @Override
     public MessageAcceptancePolicy getMessageAcceptancePolicy() throws ComponentConfigurationException {
-        AcceptancePolicy annotation = getRequiredAnnotation(AcceptancePolicy.class);
+        if (acceptancePolicy == null) {
+            acceptancePolicy = getConfiguredBean(getRequiredAnnotation(AcceptancePolicy.class).name(), MessageAcceptancePolicy.class);
+        }
+        
+        return acceptancePolicy;
+    }
+
+    
+    @Override
+    public void bindConfiguredBeans() throws ComponentConfigurationException {
+        super.bindConfiguredBeans();
         
-        return springContext.getBean(annotation.name(), MessageAcceptancePolicy.class);
+        getMessageAcceptancePolicy();
+        bindDestination();
     }
 
     
@@ -99,8 +116,26 @@ public abstract class BaseOutboundRouteConnectorComponent extends BaseRouteConne
      * @throws ComponentConfigurationException 
      */
     public String getConnectorName(Exchange exchange) throws ComponentConfigurationException {
-        StaticDestination staticAnnotation = this.getClass().getAnnotation(StaticDestination.class);
-        DynamicDestination dynamicAnnotation = this.getClass().getAnnotation(DynamicDestination.class);
+        if (staticConnectorName == null && destinationResolver == null) {
+            bindDestination();
+        }
+        
+        if (staticConnectorName != null) {
+            return staticConnectorName;
+        }
+        
+        return destinationResolver.resolveDestination(exchange);
+    }
+
+    
+    /**
+     * Reads the @StaticDestination or @DynamicDestination annotation.  For a dynamic destination the resolver bean is looked up.
+     * 
+     * @throws ComponentConfigurationException
+     */
+    private void bindDestination() throws ComponentConfigurationException {
+        StaticDestination staticAnnotation = descriptor.getAnnotation(StaticDestination.class);
+        DynamicDestination dynamicAnnotation = descriptor.getAnnotation(DynamicDestination.class);
         
         if (staticAnnotation != null && dynamicAnnotation != null) {
             throw new ComponentConfigurationException("Both @StaticDestination and @DynamicDestination annotations found.  One one is allowed.", getIdentifier());
@@ -111,12 +146,10 @@ public abstract class BaseOutboundRouteConnectorComponent extends BaseRouteConne
         }
         
         if (staticAnnotation != null) {
-            return staticAnnotation.connectorName();
+            staticConnectorName = staticAnnotation.connectorName();
+        } else {
+            destinationResolver = getConfiguredBean(dynamicAnnotation.destinationResolver(), DynamicDestinationResolver.class);
         }
-        
-        // If we get here the component has a dynamic destination so we must get the resolver bean and call its resolveDestination method.
-        DynamicDestinationResolver resolver = springContext.getBean(dynamicAnnotation.destinationResolver(), DynamicDestinationResolver.class);
-        return resolver.resolveDestination(exchange);
     }
 
     
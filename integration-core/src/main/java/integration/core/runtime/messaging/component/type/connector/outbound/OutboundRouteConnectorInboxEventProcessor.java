@@ -15,6 +15,7 @@ import integration.core.runtime.messaging.component.InboxEventProcessor;
 import integration.core.runtime.messaging.component.type.handler.filter.MessageFlowPolicyResult;
 import integration.core.runtime.messaging.exception.retryable.InboxEventSchedulerException;
 import integration.core.runtime.messaging.service.InboxService;
+import integration.core.runtime.messaging.service.MessageFlowChain;
 import integration.core.runtime.messaging.service.OutboxService;
 
     
@@ -46,10 +47,9 @@ public class OutboundRouteConnectorInboxEventProcessor extends BaseMessageFlowPr
             MessageFlowPolicyResult result = component.getMessageAcceptancePolicy().applyPolicy(messageFlowDto);
             
             if (result.isSuccess()) {
-                messageFlowId = messageFlowService.recordMessageAccepted(component.getIdentifier(), messageFlowId);
-                messageFlowId = messageFlowService.recordMessagePendingForwarding(component.getIdentifier(), messageFlowId);
+                MessageFlowChain chain = new MessageFlowChain(component.getIdentifier(), messageFlowId).accepted().pendingForwarding();
                                   
-                outboxService.recordEvent(messageFlowId,component.getIdentifier(), component.getRoute().getIdentifier(), component.getOwner()); 
+                messageFlowService.recordMessageFlowChain(chain.outboxEvent(component.getRoute().getIdentifier(), component.getOwner())); 
             } else {
                 messageFlowService.recordMessageNotAccepted(component.getIdentifier(), messageFlowId, result);
             } 
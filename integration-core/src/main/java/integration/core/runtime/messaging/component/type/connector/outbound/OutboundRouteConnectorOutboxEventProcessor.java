@@ -12,6 +12,7 @@ import integration.core.runtime.messaging.component.BaseMessageFlowProcessor;
 import integration.core.runtime.messaging.component.OutboxEventProcessor;
 import integration.core.runtime.messaging.exception.retryable.JMSForwardingException;
 import integration.core.runtime.messaging.exception.retryable.OutboxEventSchedulerException;
+import integration.core.runtime.messaging.metrics.EventTiming;
 import integration.core.runtime.messaging.service.OutboxService;
 
 
@@ -44,7 +45,9 @@ public class OutboundRouteConnectorOutboxEventProcessor extends BaseMessageFlowP
             
             // Write the message flow if to the topic.
             try {
+                long sendStart = System.nanoTime();
                 producerTemplate.sendBody("jms:topic:VirtualTopic." + component.getConnectorName(exchange), messageFlowId);
+                EventTiming.addSendTime(System.nanoTime() - sendStart);
             } catch(Exception e) {
                 throw new JMSForwardingException(eventId, component.getIdentifier(), messageFlowId, e);
             }
@@ -1,6 +1,7 @@
 package integration.core.runtime.messaging.component.type.handler;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -37,6 +38,10 @@ public abstract class BaseMessageHandlerComponent extends BaseMessagingComponent
     @Autowired
     protected WriteToInboxProcessor writeToInboxProcessor;
     
+    private MessageForwardingPolicy forwardingPolicy;
+    
+    private MessageAcceptancePolicy acceptancePolicy;
+    
     @PostConstruct
     public void BaseMessageHabdlerComponentInit() {
         writeToInboxProcessor.setComponent(this);
@@ -52,6 +57,12 @@ public abstract class BaseMessageHandlerComponent extends BaseMessagingComponent
     }
 
     
+    @Override
+    public List<MessageConsumer> getMessageConsumers() {
+        return Collections.unmodifiableList(messageConsumers);
+    }
+
+    
     @Override
     public void addMessageProducer(MessageProducer messageProducer) {
         if (!messageProducers.contains(messageProducer)) {
@@ -63,20 +74,33 @@ public abstract class BaseMessageHandlerComponent extends BaseMessagingComponent
     
     @Override
     public MessageForwardingPolicy getMessageForwardingPolicy() throws ComponentConfigurationException {
-        ForwardingPolicy annotation = getRequiredAnnotation(ForwardingPolicy.class);
-          
-        return springContext.getBean(annotation.name(), MessageForwardingPolicy.class);
+        if (forwardingPolicy == null) {
+            forwardingPolicy = getConfiguredBean(getRequiredAnnotation(ForwardingPolicy.class).name(), MessageForwardingPolicy.class);
+        }
+        
+        return forwardingPolicy;
     }
 
     
     @Override
     public MessageAcceptancePolicy getMessageAcceptancePolicy() throws ComponentConfigurationException {
-        AcceptancePolicy annotation = getRequiredAnnotation(AcceptancePolicy.class);
-               
-        return springContext.getBean(annotation.name(), MessageAcceptancePolicy.class);
+        if (acceptancePolicy == null) {
+            acceptancePolicy = getConfiguredBean(getRequiredAnnotation(AcceptancePolicy.class).name(), MessageAcceptancePolicy.class);
+        }
+        
+        return acceptancePolicy;
     }    
 
     
+    @Override
+    public void bindConfiguredBeans() throws ComponentConfigurationException {
+        super.bindConfiguredBeans();
+        
+        getMessageAcceptancePolicy();
+        getMessageForwardingPolicy();
+    }
+
+    
     @Override
     public void configureIngressRoutes() throws ComponentConfigurationException, RouteConfigurationException {
         
@@ -11,7 +11,9 @@ import integration.core.dto.MessageFlowDto;
 import integration.core.runtime.messaging.component.BaseMessageFlowProcessor;
 import integration.core.runtime.messaging.component.InboxEventProcessor;
 import integration.core.runtime.messaging.exception.retryable.InboxEventSchedulerException;
+import integration.core.runtime.messaging.metrics.EventTiming;
 import integration.core.runtime.messaging.service.InboxService;
+import integration.core.runtime.messaging.service.MessageFlowChain;
 import integration.core.runtime.messaging.service.OutboxService;
 
 
@@ -38,23 +40,37 @@ public class FilterInboxEventProcessor extends BaseMessageFlowProcessor<BaseFilt
             exchange.getMessage().setHeader(IdentifierType.MESSAGE_FLOW_ID.name(), messageFlowId);
             messageFlowDto = messageFlowService.retrieveMessageFlow(messageFlowId, true);
                     
-            // Apply acceptance policy.
+            // Apply acceptance policy.  The policies are the filters handler logic so they are timed.
+            long handlerStart = System.nanoTime();
             MessageFlowPolicyResult acceptancePolicyResult = component.getMessageAcceptancePolicy().applyPolicy(messageFlowDto);
+            EventTiming.addHandlerTime(System.nanoTime() - handlerStart);
+            
+            MessageFlowChain chain = new MessageFlowChain(component.getIdentifier(), messageFlowId);
+            
             if (acceptancePolicyResult.isSuccess()) {
-                messageFlowId = messageFlowService.recordMessageAccepted(component.getIdentifier(), messageFlowId);
+                chain.accepted();
+                component.getMeters().accepted();
                 
                 // Now apply the forwarding policy
+                handlerStart = System.nanoTime();
                 MessageFlowPolicyResult forwardingPolicyResult = component.getMessageForwardingPolicy().applyPolicy(messageFlowDto);
+                EventTiming.addHandlerTime(System.nanoTime() - handlerStart);
+                
                 if (forwardingPolicyResult.isSuccess()) {
-                    messageFlowId = messageFlowService.recordMessagePendingForwarding(component.getIdentifier(), messageFlowId);
-                    outboxService.recordEvent(messageFlowId,component.getIdentifier(), component.getRoute().getIdentifier(), component.getOwner());
+                    chain.pendingForwarding().outboxEvent(component.getRoute().getIdentifier(), component.getOwner());
+                    component.getMeters().forwarded();
                 } else {
-                    messageFlowService.recordMessageNotForwarded(component.getIdentifier(), messageFlowId, forwardingPolicyResult);
+                    chain.notForwarded(forwardingPolicyResult);
+                    component.getMeters().notForwarded();
                 }  
             } else {
-                messageFlowService.recordMessageNotAccepted(component.getIdentifier(), messageFlowId, acceptancePolicyResult);
+                chain.notAccepted(acceptancePolicyResult);
+                component.getMeters().notAccepted();
             } 
             
+            // Record all the steps in a single call.
+            messageFlowService.recordMessageFlowChain(chain);
+            
             // Now delete the event from the inbox.
             Long eventId = (Long)exchange.getMessage().getHeader(IdentifierType.EVENT_ID.name()); 
             inboxService.deleteEvent(eventId);
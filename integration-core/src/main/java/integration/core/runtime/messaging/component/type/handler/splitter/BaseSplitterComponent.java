@@ -26,6 +26,8 @@ public abstract class BaseSplitterComponent extends BaseMessageHandlerComponent
     
     @Autowired
     private SplitterOutboxEventProcessor outboxEventProcessor;
+    
+    private MessageSplitter splitter;
 
     @Override
     public Logger getLogger() {
@@ -41,9 +43,19 @@ public abstract class BaseSplitterComponent extends BaseMessageHandlerComponent
 
     
     public MessageSplitter getSplitter() throws ComponentConfigurationException {
-        UsesSplitter annotation = getRequiredAnnotation(UsesSplitter.class);
+        if (splitter == null) {
+            splitter = getConfiguredBean(getRequiredAnnotation(UsesSplitter.class).name(), MessageSplitter.class);
+        }
+        
+        return splitter;
+    }
+
+    
+    @Override
+    public void bindConfiguredBeans() throws ComponentConfigurationException {
+        super.bindConfiguredBeans();
         
-        return springContext.getBean(annotation.name(), MessageSplitter.class);  
+        getSplitter();
     }
 
     
@@ -0,0 +1,46 @@
+package integration.core.runtime.messaging.component.type.handler.splitter;
+
+import java.util.Iterator;
+
+import integration.core.dto.MessageFlowDto;
+
+/**
+ * Base class for splitters which create the content of each split message rather than duplicating the original message.
+ * 
+ * The content is returned as an iterator so each split message only needs to be created when it is about to be stored.  A splitter
+ * should create the content in next() rather than building all of it up front.  The split messages have the same content type as the
+ * original message.
+ * 
+ * @author Brendan Douglas
+ *
+ */
+public abstract class ContentSplitter extends MessageSplitter {
+
+    public Iterator<String> getSplitContent(MessageFlowDto messageFlow) throws SplitterException {
+        try {
+            return splitContent(messageFlow);
+        } catch (Exception e) {
+            throw new SplitterException("Error splitting the message", messageFlow.getId(), e);
+        }
+    }
+
+    
+    /**
+     * The number of split messages.  The content of each split message is created and then discarded to count them.
+     */
+    @Override
+    public int splitMessage(MessageFlowDto messageFlow) throws SplitterException {
+        Iterator<String> content = getSplitContent(messageFlow);
+        int count = 0;
+        
+        while (content.hasNext()) {
+            content.next();
+            count++;
+        }
+        
+        return count;
+    }
+
+    
+    public abstract Iterator<String> splitContent(MessageFlowDto messageFlow) throws SplitterException;
+}
@@ -1,35 +1,45 @@
 package integration.core.runtime.messaging.component.type.handler.splitter;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
 import org.apache.camel.Exchange;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
 import integration.core.domain.IdentifierType;
-import integration.core.domain.messaging.MessageFlowActionType;
+import integration.core.domain.configuration.ContentTypeEnum;
+import integration.core.dto.MessageDto;
 import integration.core.dto.MessageFlowDto;
 import integration.core.runtime.messaging.component.BaseMessageFlowProcessor;
 import integration.core.runtime.messaging.component.InboxEventProcessor;
 import integration.core.runtime.messaging.component.type.handler.filter.MessageFlowPolicyResult;
 import integration.core.runtime.messaging.exception.retryable.InboxEventSchedulerException;
+import integration.core.runtime.messaging.metrics.EventTiming;
 import integration.core.runtime.messaging.service.InboxService;
-import integration.core.runtime.messaging.service.OutboxService;
+import integration.core.runtime.messaging.service.SplitMessage;
 
 
 /**
  * Inbox event processor for a all message splitters.
+ *
+ * Split messages created by a {@link ContentSplitter} are stored in batches as the content is created so a large split does not need to be
+ * held in memory.
  */
 @Component
 @Scope(value = ConfigurableBeanFactory.SCOPE_PROTOTYPE)
 public class SplitterInboxEventProcessor extends BaseMessageFlowProcessor<BaseSplitterComponent> implements InboxEventProcessor {
     
-    @Autowired
-    protected OutboxService outboxService;
-    
     @Autowired
     protected InboxService inboxService;
     
+    @Value("${integration.splitter.batch-size:100}")
+    private int batchSize;
+    
     @Override
     public void process(Exchange exchange) throws Exception {
         MessageFlowDto messageFlowDto = null;
@@ -39,38 +49,127 @@ public class SplitterInboxEventProcessor extends BaseMessageFlowProcessor<BaseSp
             messageFlowId = exchange.getMessage().getBody(Long.class);
             exchange.getMessage().setHeader(IdentifierType.MESSAGE_FLOW_ID.name(), messageFlowId);
             messageFlowDto = messageFlowService.retrieveMessageFlow(messageFlowId, true);
-                    
+            
             // Apply acceptance policy.
             MessageFlowPolicyResult acceptancePolicyResult = component.getMessageAcceptancePolicy().applyPolicy(messageFlowDto);
             if (acceptancePolicyResult.isSuccess()) {
                 messageFlowId = messageFlowService.recordMessageAccepted(component.getIdentifier(), messageFlowId);
+                component.getMeters().accepted();
                 
                 // Message has been accepted so apply the splitter rules.
-                int numberOfMessages = component.getSplitter().getSplitCount(messageFlowDto);
+                MessageSplitter splitter = component.getSplitter();
                 
-                for (int i = 0; i < numberOfMessages; i++) {
-                    messageFlowId = messageFlowService.recordMessageFlowWithSameContent(component.getIdentifier(), messageFlowId, MessageFlowActionType.CREATED_FROM_SPLIT);               
-                                  
-                    // Now apply the forwarding policy against the split message
-                    MessageFlowPolicyResult forwardingPolicyResult = component.getMessageForwardingPolicy().applyPolicy(messageFlowDto);
-               
-                    if (forwardingPolicyResult.isSuccess()) {
-                        messageFlowId = messageFlowService.recordMessagePendingForwarding(component.getIdentifier(), messageFlowId);
-                        outboxService.recordEvent(messageFlowId,component.getIdentifier(), component.getRoute().getIdentifier(), component.getOwner());
-                    } else {
-                        messageFlowService.recordMessageNotForwarded(component.getIdentifier(), messageFlowId, forwardingPolicyResult);
-                    }
+                if (splitter instanceof ContentSplitter contentSplitter) {
+                    recordSplitContent(contentSplitter, messageFlowDto, messageFlowId);
+                } else {
+                    recordSplit(splitter, messageFlowDto, messageFlowId);
                 }
             } else {
                 messageFlowService.recordMessageNotAccepted(component.getIdentifier(), messageFlowId, acceptancePolicyResult);
-            } 
+                component.getMeters().notAccepted();
+            }
             
             // Now delete the event from the inbox.
-            Long eventId = (Long)exchange.getMessage().getHeader(IdentifierType.EVENT_ID.name()); 
+            Long eventId = (Long)exchange.getMessage().getHeader(IdentifierType.EVENT_ID.name());
             inboxService.deleteEvent(eventId);
-            
+        
         } catch(Exception e) {
             throw new InboxEventSchedulerException(component.getIdentifier(), messageFlowId, e);
-        }           
+        }
+    }
+    
+    
+    /**
+     * Records split messages which all have the content of the original message.
+     */
+    private void recordSplit(MessageSplitter splitter, MessageFlowDto messageFlowDto, long acceptedMessageFlowId) throws Exception {
+        long handlerStart = System.nanoTime();
+        int numberOfMessages = splitter.getSplitCount(messageFlowDto);
+        EventTiming.addHandlerTime(System.nanoTime() - handlerStart);
+        
+        if (numberOfMessages > 0) {
+            // The split messages all have the parent's content so the forwarding policy result is the same for each of them.
+            MessageFlowPolicyResult forwardingPolicyResult = component.getMessageForwardingPolicy().applyPolicy(messageFlowDto);
+            
+            messageFlowService.recordSplitMessageFlows(component.getIdentifier(), acceptedMessageFlowId, numberOfMessages, forwardingPolicyResult, component.getRoute().getIdentifier(), component.getOwner());
+            
+            if (forwardingPolicyResult.isSuccess()) {
+                component.getMeters().forwarded(numberOfMessages);
+            } else {
+                component.getMeters().notForwarded(numberOfMessages);
+            }
+        }
+    }
+    
+    
+    /**
+     * Records split messages which each have their own content.  The forwarding policy is applied to each split message.
+     */
+    private void recordSplitContent(ContentSplitter splitter, MessageFlowDto messageFlowDto, long acceptedMessageFlowId) throws Exception {
+        ContentTypeEnum contentType = messageFlowDto.getMessage().getContentType();
+        
+        long handlerStart = System.nanoTime();
+        Iterator<String> splitContent = splitter.getSplitContent(messageFlowDto);
+        EventTiming.addHandlerTime(System.nanoTime() - handlerStart);
+        
+        List<SplitMessage> batch = new ArrayList<>(batchSize);
+        
+        while (true) {
+            String content = nextSplitContent(splitContent, messageFlowDto);
+            
+            if (content != null) {
+                MessageFlowPolicyResult forwardingPolicyResult = component.getMessageForwardingPolicy().applyPolicy(createSplitMessageFlowDto(messageFlowDto, content, contentType));
+                
+                batch.add(new SplitMessage(content, contentType, forwardingPolicyResult));
+                
+                if (forwardingPolicyResult.isSuccess()) {
+                    component.getMeters().forwarded();
+                } else {
+                    component.getMeters().notForwarded();
+                }
+            }
+            
+            if (!batch.isEmpty() && (content == null || batch.size() == batchSize)) {
+                messageFlowService.recordSplitMessageFlows(component.getIdentifier(), acceptedMessageFlowId, batch, component.getRoute().getIdentifier(), component.getOwner());
+                batch = new ArrayList<>(batchSize);
+            }
+            
+            if (content == null) {
+                return;
+            }
+        }
+    }
+    
+    
+    /**
+     * Returns the content of the next split message or null when there are no more.
+     */
+    private String nextSplitContent(Iterator<String> splitContent, MessageFlowDto messageFlowDto) throws SplitterException {
+        long handlerStart = System.nanoTime();
+        
+        try {
+            return splitContent.hasNext() ? splitContent.next() : null;
+        } catch(RuntimeException e) {
+            throw new SplitterException("Error splitting the message", messageFlowDto.getId(), e);
+        } finally {
+            EventTiming.addHandlerTime(System.nanoTime() - handlerStart);
+        }
+    }
+    
+    
+    /**
+     * A copy of the original message flow with the split content so the forwarding policy can be applied to the split message before it is stored.
+     */
+    private MessageFlowDto createSplitMessageFlowDto(MessageFlowDto messageFlowDto, String content, ContentTypeEnum contentType) {
+        MessageDto message = new MessageDto();
+        message.setContent(content);
+        message.setContentType(contentType);
+        
+        MessageFlowDto splitMessageFlowDto = new MessageFlowDto();
+        splitMessageFlowDto.setId(messageFlowDto.getId());
+        splitMessageFlowDto.setMessage(message);
+        splitMessageFlowDto.setProperties(messageFlowDto.getProperties());
+        
+        return splitMessageFlowDto;
     }
 }
@@ -25,6 +25,8 @@ public abstract class BaseTransformationComponent extends BaseMessageHandlerComp
     @Autowired
     private TransformerOutboxEventProcessor outboxEventProcessor;
     
+    private MessageTransformer transformer;
+    
     @Override
     public Logger getLogger() {
         return LOGGER;
@@ -70,9 +72,19 @@ public abstract class BaseTransformationComponent extends BaseMessageHandlerComp
      * @return
      */
     public MessageTransformer getTransformer() throws ComponentConfigurationException {
-        UsesTransformer annotation = getRequiredAnnotation(UsesTransformer.class);
+        if (transformer == null) {
+            transformer = getConfiguredBean(getRequiredAnnotation(UsesTransformer.class).name(), MessageTransformer.class);
+        }
+        
+        return transformer;
+    }
+
+    
+    @Override
+    public void bindConfiguredBeans() throws ComponentConfigurationException {
+        super.bindConfiguredBeans();
         
-        return springContext.getBean(annotation.name(), MessageTransformer.class);  
+        getTransformer();
     }
 
     
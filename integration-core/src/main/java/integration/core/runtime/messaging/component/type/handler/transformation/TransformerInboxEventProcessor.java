@@ -13,7 +13,9 @@ import integration.core.runtime.messaging.component.BaseMessageFlowProcessor;
 import integration.core.runtime.messaging.component.InboxEventProcessor;
 import integration.core.runtime.messaging.component.type.handler.filter.MessageFlowPolicyResult;
 import integration.core.runtime.messaging.exception.retryable.InboxEventSchedulerException;
+import integration.core.runtime.messaging.metrics.EventTiming;
 import integration.core.runtime.messaging.service.InboxService;
+import integration.core.runtime.messaging.service.MessageFlowChain;
 import integration.core.runtime.messaging.service.OutboxService;
 
 
@@ -42,25 +44,39 @@ public class TransformerInboxEventProcessor extends BaseMessageFlowProcessor<Bas
                     
             // Apply acceptance policy.
             MessageFlowPolicyResult acceptancePolicyResult = component.getMessageAcceptancePolicy().applyPolicy(messageFlowDto);
+            MessageFlowChain chain = new MessageFlowChain(component.getIdentifier(), messageFlowId);
+            
             if (acceptancePolicyResult.isSuccess()) {
-                messageFlowId = messageFlowService.recordMessageAccepted(component.getIdentifier(), messageFlowId);
+                chain.accepted();
+                component.getMeters().accepted();
                 
                 // Message has been accepted so transform the message content.
+                long handlerStart = System.nanoTime();
                 String transformedContent = component.getTransformer().transform(messageFlowDto);
-                messageFlowId = messageFlowService.recordNewContentMessageFlow(transformedContent, component.getIdentifier(),messageFlowId, component.getContentType(), MessageFlowActionType.TRANSFORMED);               
+                EventTiming.addHandlerTime(System.nanoTime() - handlerStart);
+                
+                chain.newContent(transformedContent, component.getContentType(), MessageFlowActionType.TRANSFORMED);               
+                
+                // Any parsed version of the original content is discarded unless the transformer supplied the parsed transformed content.
+                messageFlowDto.getMessage().setContent(transformedContent);
                                   
                 // Now apply the forwarding policy against the transformed message
                 MessageFlowPolicyResult forwardingPolicyResult = component.getMessageForwardingPolicy().applyPolicy(messageFlowDto);
                 if (forwardingPolicyResult.isSuccess()) {
-                    messageFlowId = messageFlowService.recordMessagePendingForwarding(component.getIdentifier(), messageFlowId);
-                    outboxService.recordEvent(messageFlowId,component.getIdentifier(), component.getRoute().getIdentifier(), component.getOwner());
+                    chain.pendingForwarding().outboxEvent(component.getRoute().getIdentifier(), component.getOwner());
+                    component.getMeters().forwarded();
                 } else {
-                    messageFlowService.recordMessageNotForwarded(component.getIdentifier(), messageFlowId, forwardingPolicyResult);
+                    chain.notForwarded(forwardingPolicyResult);
+                    component.getMeters().notForwarded();
                 }  
             } else {
-                messageFlowService.recordMessageNotAccepted(component.getIdentifier(), messageFlowId, acceptancePolicyResult);
+                chain.notAccepted(acceptancePolicyResult);
+                component.getMeters().notAccepted();
             } 
             
+            // Record all the steps in a single call.
+            messageFlowService.recordMessageFlowChain(chain);
+            
             // Now delete the event from the inbox.
             Long eventId = (Long)exchange.getMessage().getHeader(IdentifierType.EVENT_ID.name()); 
             inboxService.deleteEvent(eventId);
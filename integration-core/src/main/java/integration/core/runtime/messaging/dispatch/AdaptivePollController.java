@@ -0,0 +1,113 @@
+package integration.core.runtime.messaging.dispatch;
+
+/**
+ * Adjusts how many events a component's inbox or outbox poll selects and how often the poll runs.
+ * 
+ * A poll which fills its batch means there is a backlog so the batch doubles, up to the maximum, and the next poll runs after the minimum
+ * interval.  A poll which selects nothing means the component is idle so the interval doubles, up to the maximum, and the batch halves
+ * back towards the minimum.  The batch only grows when it was not cut short by the dispatcher's capacity so a component which cannot keep
+ * up does not select more events than it can process.
+ * 
+ * The poll timer runs at the minimum interval and skips the polls which are not due.  A wakeup signal always polls straight away.
+ * 
+ * @author Brendan Douglas
+ */
+public class AdaptivePollController {
+    private final int minBatchSize;
+    private final int maxBatchSize;
+    private final long minIntervalMillis;
+    private final long maxIntervalMillis;
+    
+    private int batchSize;
+    private long intervalMillis;
+    private long nextPollAt;
+    
+    
+    /**
+     * @param initialBatchSize
+     * @param minBatchSize
+     * @param maxBatchSize
+     * @param minIntervalMillis
+     * @param maxIntervalMillis
+     */
+    public AdaptivePollController(int initialBatchSize, int minBatchSize, int maxBatchSize, long minIntervalMillis, long maxIntervalMillis) {
+        if (minBatchSize < 1 || maxBatchSize < minBatchSize || minIntervalMillis < 1 || maxIntervalMillis < minIntervalMillis) {
+            throw new IllegalArgumentException("Invalid poll bounds.  batch size: " + minBatchSize + "-" + maxBatchSize + ", interval: " + minIntervalMillis + "-" + maxIntervalMillis + "ms");
+        }
+        
+        this.minBatchSize = minBatchSize;
+        this.maxBatchSize = maxBatchSize;
+        this.minIntervalMillis = minIntervalMillis;
+        this.maxIntervalMillis = maxIntervalMillis;
+        
+        this.batchSize = Math.max(minBatchSize, Math.min(initialBatchSize, maxBatchSize));
+        this.intervalMillis = minIntervalMillis;
+    }
+
+    
+    /**
+     * Returns true if the interval since the last poll has passed.
+     * 
+     * @return
+     */
+    public synchronized boolean isDue() {
+        return System.currentTimeMillis() >= nextPollAt;
+    }
+
+    
+    /**
+     * The number of events the next poll should select.
+     * 
+     * @return
+     */
+    public synchronized int getBatchSize() {
+        return batchSize;
+    }
+    
+    
+    /**
+     * Records the result of a poll and works out the batch size and interval of the next one.
+     * 
+     * @param selected the number of events selected.
+     * @param requested the number of events the poll asked for.
+     */
+    public synchronized void recordPoll(int selected, int requested) {
+        if (selected == 0) {
+            intervalMillis = Math.min(intervalMillis * 2, maxIntervalMillis);
+            batchSize = Math.max(batchSize / 2, minBatchSize);
+        } else {
+            intervalMillis = minIntervalMillis;
+            
+            if (selected >= requested && requested >= batchSize) {
+                batchSize = (int)Math.min(batchSize * 2L, maxBatchSize);
+            }
+        }
+        
+        nextPollAt = System.currentTimeMillis() + intervalMillis;
+    }
+
+    
+    public synchronized long getIntervalMillis() {
+        return intervalMillis;
+    }
+
+    
+    public int getMinBatchSize() {
+        return minBatchSize;
+    }
+
+    
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    
+    public long getMinIntervalMillis() {
+        return minIntervalMillis;
+    }
+
+    
+    public long getMaxIntervalMillis() {
+        return maxIntervalMillis;
+    }
+}
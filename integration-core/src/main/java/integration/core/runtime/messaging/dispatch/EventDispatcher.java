@@ -0,0 +1,226 @@
+package integration.core.runtime.messaging.dispatch;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * A single engine wide executor used to dispatch inbox and outbox events to the component event processing routes.
+ *
+ * The total number of in-flight events (running + queued) is bounded.  Each component also gets a fair share
+ * of that capacity so one busy component cannot starve the others.  The event timers ask for the available capacity
+ * before selecting events so backpressure is applied at the database read rather than by rejecting work.
+ *
+ * @author Brendan Douglas
+ */
+@Component
+public class EventDispatcher {
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventDispatcher.class);
+
+    @Value("${integration.dispatch.pool-size:50}")
+    private int poolSize;
+
+    @Value("${integration.dispatch.queue-capacity:500}")
+    private int queueCapacity;
+
+    @Value("${integration.dispatch.component-limit:20}")
+    private int componentLimit;
+
+    @Value("${integration.dispatch.virtual-threads:false}")
+    private boolean virtualThreads;
+
+    private ExecutorService executor;
+
+    private final AtomicInteger totalInFlight = new AtomicInteger();
+    private final Map<Long, AtomicInteger> componentInFlight = new ConcurrentHashMap<>();
+
+
+    public EventDispatcher() {
+    }
+
+
+    public EventDispatcher(int poolSize, int queueCapacity, int componentLimit) {
+        this.poolSize = poolSize;
+        this.queueCapacity = queueCapacity;
+        this.componentLimit = componentLimit;
+    }
+
+
+    @PostConstruct
+    public void EventDispatcherInit() {
+        if (virtualThreads) {
+            executor = createVirtualThreadExecutor();
+        }
+
+        if (executor == null) {
+            ThreadPoolExecutor threadPool = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueCapacity), new DispatchThreadFactory());
+            threadPool.allowCoreThreadTimeOut(true);
+            executor = threadPool;
+        }
+
+        LOGGER.info("Event dispatcher started. Pool size: {}, queue capacity: {}, component limit: {}, virtual threads: {}", poolSize, queueCapacity, componentLimit, virtualThreads);
+    }
+
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+
+    /**
+     * Registers a component so it is included in the fair share calculation.
+     *
+     * @param componentId
+     */
+    public void register(long componentId) {
+        componentInFlight.computeIfAbsent(componentId, id -> new AtomicInteger());
+    }
+
+
+    /**
+     * Returns the number of events the component can dispatch right now.  This is the lower of the remaining
+     * engine wide capacity and the remaining capacity of the components fair share.
+     *
+     * @param componentId
+     * @return
+     */
+    public int getAvailableCapacity(long componentId) {
+        int globalFree = getMaxInFlight() - totalInFlight.get();
+        int componentFree = getComponentQuota() - getInFlight(componentId);
+
+        return Math.max(0, Math.min(globalFree, componentFree));
+    }
+
+
+    /**
+     * Dispatches a task for a component.  The onRejected callback is run if the task could not be accepted so
+     * the caller can release anything it reserved for the task.
+     *
+     * @param componentId
+     * @param task
+     * @param onRejected
+     * @return true if the task was accepted.
+     */
+    public boolean dispatch(long componentId, Runnable task, Runnable onRejected) {
+        AtomicInteger componentCount = componentInFlight.computeIfAbsent(componentId, id -> new AtomicInteger());
+
+        componentCount.incrementAndGet();
+        totalInFlight.incrementAndGet();
+
+        try {
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } catch(Exception e) {
+                    LOGGER.error("Event dispatch failed for component: {}", componentId, e);
+                } finally {
+                    componentCount.decrementAndGet();
+                    totalInFlight.decrementAndGet();
+                }
+            });
+
+            return true;
+        } catch(RejectedExecutionException e) {
+            componentCount.decrementAndGet();
+            totalInFlight.decrementAndGet();
+
+            LOGGER.warn("Event dispatch rejected for component: {}", componentId);
+
+            if (onRejected != null) {
+                onRejected.run();
+            }
+
+            return false;
+        }
+    }
+
+
+    /**
+     * The number of in-flight events for a component.
+     *
+     * @param componentId
+     * @return
+     */
+    public int getInFlight(long componentId) {
+        AtomicInteger count = componentInFlight.get(componentId);
+
+        return count == null ? 0 : count.get();
+    }
+
+
+    public int getTotalInFlight() {
+        return totalInFlight.get();
+    }
+
+
+    /**
+     * The maximum number of events which can be running or queued across all components.
+     *
+     * @return
+     */
+    public int getMaxInFlight() {
+        return poolSize + queueCapacity;
+    }
+
+
+    /**
+     * Each registered component gets an equal share of the total capacity, capped by the per component limit and
+     * never less than one so every component can always make progress.
+     *
+     * @return
+     */
+    public int getComponentQuota() {
+        int componentCount = Math.max(1, componentInFlight.size());
+
+        return Math.max(1, Math.min(componentLimit, getMaxInFlight() / componentCount));
+    }
+
+
+    /**
+     * Virtual threads need Java 21.  The executor is created reflectively so the code still compiles and runs on 17,
+     * falling back to the bounded platform thread pool when not available.  Virtual thread mode relies on the
+     * in-flight counters rather than the queue for its bound.
+     *
+     * @return
+     */
+    private ExecutorService createVirtualThreadExecutor() {
+        try {
+            Method method = java.util.concurrent.Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService)method.invoke(null);
+        } catch(ReflectiveOperationException e) {
+            LOGGER.warn("Virtual threads are not supported by this JVM.  Using a platform thread pool");
+            return null;
+        }
+    }
+
+
+    /**
+     * Names the dispatch threads so they are easy to identify in thread dumps.
+     */
+    private static class DispatchThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "event-dispatch-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package integration.core.runtime.messaging.dispatch;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Wakes up a components inbox or outbox event processor when an event is recorded for it, instead of waiting
+ * for the next timer poll.
+ *
+ * The signal is only sent after the transaction which recorded the event commits so the event is visible to the poll.
+ * Components which are not running in this JVM are not registered so are never signalled.  The timers remain as a safety net.
+ *
+ * @author Brendan Douglas
+ */
+@Component
+public class EventNotifier {
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventNotifier.class);
+
+    @Value("${integration.event.notification.enabled:true}")
+    private boolean enabled;
+
+    private final Map<Long, Runnable> inboxListeners = new ConcurrentHashMap<>();
+    private final Map<Long, Runnable> outboxListeners = new ConcurrentHashMap<>();
+
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+
+    public void registerInboxListener(long componentId, Runnable listener) {
+        inboxListeners.put(componentId, listener);
+    }
+
+
+    public void registerOutboxListener(long componentId, Runnable listener) {
+        outboxListeners.put(componentId, listener);
+    }
+
+
+    /**
+     * Signals that an inbox event has been recorded for a component.
+     *
+     * @param componentId
+     */
+    public void inboxEventRecorded(long componentId) {
+        signalAfterCommit(inboxListeners.get(componentId), componentId);
+    }
+
+
+    /**
+     * Signals that an outbox event has been recorded for a component.
+     *
+     * @param componentId
+     */
+    public void outboxEventRecorded(long componentId) {
+        signalAfterCommit(outboxListeners.get(componentId), componentId);
+    }
+
+
+    private void signalAfterCommit(Runnable listener, long componentId) {
+        if (!enabled || listener == null) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    signal(listener, componentId);
+                }
+            });
+        } else {
+            signal(listener, componentId);
+        }
+    }
+
+
+    private void signal(Runnable listener, long componentId) {
+        try {
+            listener.run();
+        } catch(Exception e) {
+            // A missed signal is not a problem as the timer will pick the event up.
+            LOGGER.warn("Unable to signal component: {}", componentId, e);
+        }
+    }
+}
@@ -26,6 +26,11 @@ public class MessageFlowProcessingException extends ConditionallyRetryableExcept
         identifiers.add(new ExceptionIdentifier(IdentifierType.MESSAGE_FLOW_ID, messageFlowId));
     }
     
+    
+    public MessageFlowProcessingException(String message, Throwable cause) {
+        super(message, cause);
+    }
+    
     @Override
     public MessageFlowProcessingException addOtherIdentifier(IdentifierType type, Object value) {
         super.addOtherIdentifier(type, value);
@@ -0,0 +1,220 @@
+package integration.core.runtime.messaging.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * The meters for a single component.  All the meters are created when the component starts so recording a value is only a call on
+ * an existing meter.  The only exception is the first retry for each exception type.
+ * 
+ * @author Brendan Douglas
+ */
+public class ComponentMeters {
+    private static final String INBOX = "inbox";
+    private static final String OUTBOX = "outbox";
+
+    private final MeterRegistry registry;
+    private final Tags tags;
+
+    private final DistributionSummary inboxEventsSelected;
+    private final DistributionSummary outboxEventsSelected;
+
+    private final Timer inboxEventProcessing;
+    private final Timer outboxEventProcessing;
+    private final Timer inboxEventPersistence;
+    private final Timer outboxEventPersistence;
+    private final Timer handler;
+    private final Timer jmsSend;
+
+    private final Counter accepted;
+    private final Counter notAccepted;
+    private final Counter forwarded;
+    private final Counter notForwarded;
+    private final Counter parked;
+
+    private final Map<Class<?>, Counter> retries = new ConcurrentHashMap<>();
+
+    public ComponentMeters(MeterRegistry registry, String componentName, String routeName) {
+        this.registry = registry;
+        this.tags = Tags.of("component", componentName, "route", routeName);
+
+        this.inboxEventsSelected = eventsSelected(INBOX);
+        this.outboxEventsSelected = eventsSelected(OUTBOX);
+
+        this.inboxEventProcessing = eventProcessing(INBOX);
+        this.outboxEventProcessing = eventProcessing(OUTBOX);
+
+        this.inboxEventPersistence = eventPersistence(INBOX);
+        this.outboxEventPersistence = eventPersistence(OUTBOX);
+
+        this.handler = Timer.builder("integration.component.handler")
+                .description("Time spent in the component handler eg. transformer, filter or splitter")
+                .tags(tags)
+                .register(registry);
+
+        this.jmsSend = Timer.builder("integration.component.jms.send")
+                .description("Time taken to send a message flow id to JMS")
+                .tags(tags)
+                .register(registry);
+
+        this.accepted = messages("accepted");
+        this.notAccepted = messages("not_accepted");
+        this.forwarded = messages("forwarded");
+        this.notForwarded = messages("not_forwarded");
+
+        this.parked = Counter.builder("integration.component.event.parked")
+                .description("Events parked because they failed too many times or could not be retried")
+                .tags(tags)
+                .register(registry);
+    }
+
+
+    public void inboxEventsSelected(int count) {
+        inboxEventsSelected.record(count);
+    }
+
+
+    public void outboxEventsSelected(int count) {
+        outboxEventsSelected.record(count);
+    }
+
+
+    /**
+     * Records the processing of an inbox event.
+     * 
+     * @param totalNanos the total time including the transaction commit.
+     * @param timing the handler and JMS time accumulated while the event was processed.
+     */
+    public void recordInboxEvent(long totalNanos, EventTiming timing) {
+        recordEvent(inboxEventProcessing, inboxEventPersistence, totalNanos, timing);
+    }
+
+
+    /**
+     * Records the processing of an outbox event.
+     * 
+     * @param totalNanos the total time including the transaction commit.
+     * @param timing the handler and JMS time accumulated while the event was processed.
+     */
+    public void recordOutboxEvent(long totalNanos, EventTiming timing) {
+        recordEvent(outboxEventProcessing, outboxEventPersistence, totalNanos, timing);
+    }
+
+
+    public void accepted() {
+        accepted.increment();
+    }
+
+
+    public void notAccepted() {
+        notAccepted.increment();
+    }
+
+
+    public void forwarded() {
+        forwarded.increment();
+    }
+
+
+    public void forwarded(int count) {
+        forwarded.increment(count);
+    }
+
+
+    public void notForwarded() {
+        notForwarded.increment();
+    }
+
+
+    public void notForwarded(int count) {
+        notForwarded.increment(count);
+    }
+
+
+    /**
+     * Records an event being marked for retry.  The count is by the type of the underlying exception as the event processors wrap
+     * every exception.
+     * 
+     * @param exception
+     */
+    public void retry(Throwable exception) {
+        Class<?> type = exception.getCause() != null ? exception.getCause().getClass() : exception.getClass();
+
+        Counter counter = retries.get(type);
+
+        if (counter == null) {
+            counter = retries.computeIfAbsent(type, key -> Counter.builder("integration.component.event.retries")
+                    .description("Events marked for retry")
+                    .tags(tags)
+                    .tag("exception", key.getSimpleName())
+                    .register(registry));
+        }
+
+        counter.increment();
+    }
+
+
+    public void parked() {
+        parked.increment();
+    }
+
+
+    private void recordEvent(Timer processing, Timer persistence, long totalNanos, EventTiming timing) {
+        long handlerNanos = timing.getHandlerNanos();
+        long sendNanos = timing.getSendNanos();
+
+        processing.record(totalNanos, TimeUnit.NANOSECONDS);
+        persistence.record(Math.max(0, totalNanos - handlerNanos - sendNanos), TimeUnit.NANOSECONDS);
+
+        if (handlerNanos > 0) {
+            handler.record(handlerNanos, TimeUnit.NANOSECONDS);
+        }
+
+        if (sendNanos > 0) {
+            jmsSend.record(sendNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+
+    private DistributionSummary eventsSelected(String direction) {
+        return DistributionSummary.builder("integration.component.events.selected")
+                .description("Events selected by each poll")
+                .tags(tags)
+                .tag("direction", direction)
+                .register(registry);
+    }
+
+
+    private Timer eventProcessing(String direction) {
+        return Timer.builder("integration.component.event.processing")
+                .description("Total time to process an event including the transaction commit")
+                .tags(tags)
+                .tag("direction", direction)
+                .register(registry);
+    }
+
+
+    private Timer eventPersistence(String direction) {
+        return Timer.builder("integration.component.event.persistence")
+                .description("Time to process an event not spent in the handler or sending to JMS.  Mostly database access and the transaction commit")
+                .tags(tags)
+                .tag("direction", direction)
+                .register(registry);
+    }
+
+
+    private Counter messages(String outcome) {
+        return Counter.builder("integration.component.messages")
+                .description("Messages accepted, not accepted, forwarded and not forwarded by the component")
+                .tags(tags)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
@@ -0,0 +1,124 @@
+package integration.core.runtime.messaging.metrics;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import integration.core.dto.ComponentDto;
+import integration.core.exception.IntegrationException;
+import integration.core.runtime.messaging.service.InboxService;
+import integration.core.runtime.messaging.service.OutboxService;
+import integration.core.service.ComponentService;
+import io.micrometer.core.instrument.Gauge;
+
+/**
+ * Inbox and outbox backlog gauges for each component.
+ * 
+ * Counting the events on every scrape would query the database for each gauge so the counts for all components are read with 
+ * one grouped query per table on a fixed delay and the gauges return the last values read.
+ * 
+ * By default only the components running in this JVM are included.  Setting integration.metrics.backlog.all-components=true
+ * includes every component with events, which is used by the REST application as it has no components of its own.
+ * 
+ * @author Brendan Douglas
+ */
+@Component
+public class EventBacklogMetrics {
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventBacklogMetrics.class);
+    
+    @Value("${integration.metrics.backlog.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${integration.metrics.backlog.all-components:false}")
+    private boolean allComponents;
+    
+    @Autowired
+    private MessagingMetrics messagingMetrics;
+    
+    @Autowired
+    private InboxService inboxService;
+    
+    @Autowired
+    private OutboxService outboxService;
+    
+    @Autowired
+    private ComponentService componentService;
+    
+    private final Map<Long, Backlog> backlogs = new ConcurrentHashMap<>();
+    
+    
+    @Scheduled(fixedDelayString = "${integration.metrics.backlog.refresh-period:10000}", initialDelayString = "${integration.metrics.backlog.refresh-period:10000}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        
+        try {
+            Map<Long, Long> inboxCounts = inboxService.getEventCountByComponent();
+            Map<Long, Long> outboxCounts = outboxService.getEventCountByComponent();
+            
+            Set<Long> componentIds = new HashSet<>(messagingMetrics.getComponentIds());
+            
+            if (allComponents) {
+                componentIds.addAll(inboxCounts.keySet());
+                componentIds.addAll(outboxCounts.keySet());
+                componentIds.addAll(backlogs.keySet());
+            }
+            
+            for (Long componentId : componentIds) {
+                Backlog backlog = getBacklog(componentId);
+                
+                backlog.inbox.set(inboxCounts.getOrDefault(componentId, 0L));
+                backlog.outbox.set(outboxCounts.getOrDefault(componentId, 0L));
+            }
+        } catch(IntegrationException e) {
+            // The gauges keep their previous values until the next refresh.
+            LOGGER.warn("Unable to refresh the event backlog metrics", e);
+        }
+    }
+    
+    
+    private Backlog getBacklog(long componentId) throws IntegrationException {
+        Backlog backlog = backlogs.get(componentId);
+        
+        if (backlog == null) {
+            ComponentDto component = componentService.getComponent(componentId);
+            
+            backlog = new Backlog();
+            register(backlog.inbox, component, "inbox");
+            register(backlog.outbox, component, "outbox");
+            
+            backlogs.put(componentId, backlog);
+        }
+        
+        return backlog;
+    }
+    
+    
+    private void register(AtomicLong value, ComponentDto component, String direction) {
+        Gauge.builder("integration.component.backlog", value, AtomicLong::get)
+            .description("Events waiting to be processed")
+            .tag("component", component.getName())
+            .tag("route", component.getRoute().getName())
+            .tag("direction", direction)
+            .register(messagingMetrics.getMeterRegistry());
+    }
+    
+    
+    /**
+     * The last counts read for a component.
+     */
+    private static class Backlog {
+        private final AtomicLong inbox = new AtomicLong();
+        private final AtomicLong outbox = new AtomicLong();
+    }
+}
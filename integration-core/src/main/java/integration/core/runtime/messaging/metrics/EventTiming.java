@@ -0,0 +1,54 @@
+package integration.core.runtime.messaging.metrics;
+
+/**
+ * Accumulates the time spent in the component handler (eg. transformer, filter, splitter) and sending to JMS while a single event
+ * is processed.  The rest of the processing time is mostly database access and the transaction commit so it can be recorded
+ * separately from the handler time.
+ * 
+ * Events are processed on a single thread so one instance per thread is reused for every event.
+ * 
+ * @author Brendan Douglas
+ */
+public final class EventTiming {
+    private static final ThreadLocal<EventTiming> CURRENT = ThreadLocal.withInitial(EventTiming::new);
+
+    private long handlerNanos;
+    private long sendNanos;
+
+    private EventTiming() {
+    }
+
+
+    /**
+     * Resets the timing for the current thread at the start of an event.
+     * 
+     * @return
+     */
+    public static EventTiming start() {
+        EventTiming timing = CURRENT.get();
+        timing.handlerNanos = 0;
+        timing.sendNanos = 0;
+
+        return timing;
+    }
+
+
+    public static void addHandlerTime(long nanos) {
+        CURRENT.get().handlerNanos += nanos;
+    }
+
+
+    public static void addSendTime(long nanos) {
+        CURRENT.get().sendNanos += nanos;
+    }
+
+
+    public long getHandlerNanos() {
+        return handlerNanos;
+    }
+
+
+    public long getSendNanos() {
+        return sendNanos;
+    }
+}
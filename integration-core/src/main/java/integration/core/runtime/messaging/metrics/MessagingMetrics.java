@@ -0,0 +1,65 @@
+package integration.core.runtime.messaging.metrics;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Creates the meters for each messaging component.
+ * 
+ * The meters are registered with the applications meter registry when Spring Boot Actuator is on the classpath.  Without it they are
+ * registered with the global registry which discards the values unless a registry has been added to it.
+ * 
+ * @author Brendan Douglas
+ */
+@Component
+public class MessagingMetrics {
+    
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+    
+    private final Map<Long, ComponentMeters> componentMeters = new ConcurrentHashMap<>();
+
+    
+    @PostConstruct
+    public void MessagingMetricsInit() {
+        if (meterRegistry == null) {
+            meterRegistry = Metrics.globalRegistry;
+        }
+    }
+    
+    
+    public MeterRegistry getMeterRegistry() {
+        return meterRegistry;
+    }
+    
+    
+    /**
+     * Returns the meters for a component, creating them the first time.
+     * 
+     * @param componentId
+     * @param componentName
+     * @param routeName
+     * @return
+     */
+    public ComponentMeters register(long componentId, String componentName, String routeName) {
+        return componentMeters.computeIfAbsent(componentId, id -> new ComponentMeters(meterRegistry, componentName, routeName));
+    }
+    
+    
+    /**
+     * The ids of the components running in this JVM.
+     * 
+     * @return
+     */
+    public Set<Long> getComponentIds() {
+        return componentMeters.keySet();
+    }
+}
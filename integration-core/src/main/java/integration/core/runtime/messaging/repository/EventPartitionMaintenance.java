@@ -0,0 +1,67 @@
+package integration.core.runtime.messaging.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+
+/**
+ * Keeps the day partitions of the inbox and outbox event tables ahead of the current date and drops the empty old ones.
+ *
+ * Only used when the event tables have been partitioned with the 03-event-table-partitioning.sql migration which also creates the
+ * maintain_event_partitions procedure.  The procedure only creates missing partitions and drops empty ones so it is safe for every node
+ * to run it.
+ *
+ * @author Brendan Douglas
+ */
+@Component
+public class EventPartitionMaintenance {
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventPartitionMaintenance.class);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${integration.event.partitioning.enabled:false}")
+    private boolean enabled;
+
+    @Value("${integration.event.partitioning.days-ahead:7}")
+    private int daysAhead;
+
+
+    @Scheduled(initialDelayString = "${integration.event.partitioning.initial-delay:60000}", fixedDelayString = "${integration.event.partitioning.period:3600000}")
+    public void maintainPartitions() {
+        if (!enabled) {
+            return;
+        }
+
+        TransactionStatus status = transactionManager.getTransaction(new DefaultTransactionDefinition());
+
+        try {
+            entityManager.createNativeQuery("CALL maintain_event_partitions(:daysAhead)")
+                .setParameter("daysAhead", daysAhead)
+                .executeUpdate();
+
+            transactionManager.commit(status);
+        } catch(DataAccessException | PersistenceException e) {
+            if (!status.isCompleted()) {
+                transactionManager.rollback(status);
+            }
+
+            // Partitions are created days ahead so the next run can try again.
+            LOGGER.warn("Unable to maintain the event table partitions", e);
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package integration.core.runtime.messaging.repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
@@ -17,5 +19,17 @@ public interface MessageFlowRepository extends CrudRepository<MessageFlow, Long>
     Optional<MessageFlow> findExistingAcceptedMessageFlow(@Param("componentId") Long componentId,
                                                           @Param("parentId") Long parentId,
                                                           @Param("action") MessageFlowActionType action);
+    
+    
+    /**
+     * Changes the action of message flows in a single statement.  Only message flows which currently have the expected action are updated.
+     * 
+     * @return the number of message flows updated.
+     */
+    @Modifying
+    @Query("UPDATE MessageFlow m SET m.action = :newAction WHERE m.id IN (:messageFlowIds) AND m.action = :expectedAction")
+    int updateAction(@Param("messageFlowIds") List<Long> messageFlowIds,
+                     @Param("expectedAction") MessageFlowActionType expectedAction,
+                     @Param("newAction") MessageFlowActionType newAction);
 
 }
@@ -0,0 +1,113 @@
+package integration.core.runtime.messaging.repository;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import integration.core.domain.messaging.Message;
+import integration.core.domain.messaging.MessageFlowGroup;
+
+/**
+ * Queries used to archive and purge old message flows.  The message flows are read as columns rather than entities so a whole day can be
+ * archived without loading each message flow's relationships one at a time.
+ */
+@Repository
+public interface MessageFlowRetentionRepository extends CrudRepository<MessageFlowGroup, Long> {
+
+    @Query("SELECT MIN(g.createdDate) FROM MessageFlowGroup g WHERE g.createdDate >= :from")
+    Date getOldestGroupCreatedDate(@Param("from") Date from);
+
+
+    @Query("SELECT g.id FROM MessageFlowGroup g WHERE g.createdDate >= :from AND g.createdDate < :to AND g.id > :afterGroupId ORDER BY g.id")
+    List<Long> getGroupIds(@Param("from") Date from, @Param("to") Date to, @Param("afterGroupId") long afterGroupId, Pageable pageable);
+
+
+    /**
+     * Returns the id, group id, parent id, component id, action, created date and message id of each message flow in the groups.
+     */
+    @Query("""
+            SELECT f.id, g.id, p.id, c.id, f.action, f.createdDate, m.id
+            FROM MessageFlow f
+            JOIN f.group g
+            LEFT JOIN f.parentMessageFlow p
+            LEFT JOIN f.component c
+            LEFT JOIN f.message m
+            WHERE g.id IN (:groupIds)
+            ORDER BY g.id, f.id
+            """)
+    List<Object[]> getMessageFlows(@Param("groupIds") List<Long> groupIds);
+
+
+    @Query("SELECT m FROM Message m WHERE m.id IN (:messageIds)")
+    List<Message> getMessages(@Param("messageIds") List<Long> messageIds);
+
+
+    @Query("SELECT p.messageFlow.id, p.key, p.value FROM MessageFlowProperty p WHERE p.messageFlow.id IN (:messageFlowIds)")
+    List<Object[]> getProperties(@Param("messageFlowIds") List<Long> messageFlowIds);
+
+
+    @Query("SELECT e.messageFlow.id, e.details FROM MessageFlowError e WHERE e.messageFlow.id IN (:messageFlowIds)")
+    List<Object[]> getErrors(@Param("messageFlowIds") List<Long> messageFlowIds);
+
+
+    @Query("SELECT x.messageFlow.id, x.name, x.reason FROM MessageFlowFiltered x WHERE x.messageFlow.id IN (:messageFlowIds)")
+    List<Object[]> getFiltered(@Param("messageFlowIds") List<Long> messageFlowIds);
+
+
+    /**
+     * Returns the id, component id, retry count, parked date and error of the parked outbox events of the message flows.  By message flow.
+     */
+    @Query("SELECT e.messageFlow.id, e.id, e.component.id, e.retryCount, e.parkedDate, e.error FROM OutboxEvent e WHERE e.messageFlow.id IN (:messageFlowIds) AND e.parkedDate IS NOT NULL")
+    List<Object[]> getParkedOutboxEvents(@Param("messageFlowIds") List<Long> messageFlowIds);
+
+
+    /**
+     * Returns the id, component id, retry count, parked date and error of the parked inbox events of the message flows.  By message flow.
+     */
+    @Query("SELECT e.messageFlow.id, e.id, e.component.id, e.retryCount, e.parkedDate, e.error FROM InboxEvent e WHERE e.messageFlow.id IN (:messageFlowIds) AND e.parkedDate IS NOT NULL")
+    List<Object[]> getParkedInboxEvents(@Param("messageFlowIds") List<Long> messageFlowIds);
+
+
+    /**
+     * Parked events do not hold up a purge.  They are archived with their message flows and then deleted.
+     */
+    @Query("SELECT COUNT(e) FROM OutboxEvent e WHERE e.messageFlow.createdDate < :before AND e.parkedDate IS NULL")
+    long countOutboxEventsForMessageFlowsCreatedBefore(@Param("before") Date before);
+
+
+    @Query("SELECT COUNT(e) FROM InboxEvent e WHERE e.messageFlow.createdDate < :before AND e.parkedDate IS NULL")
+    long countInboxEventsForMessageFlowsCreatedBefore(@Param("before") Date before);
+
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.parkedDate IS NOT NULL AND e.messageFlow.id IN (SELECT f.id FROM MessageFlow f WHERE f.createdDate < :before)")
+    int deleteParkedOutboxEventsForMessageFlowsCreatedBefore(@Param("before") Date before);
+
+
+    @Modifying
+    @Query("DELETE FROM InboxEvent e WHERE e.parkedDate IS NOT NULL AND e.messageFlow.id IN (SELECT f.id FROM MessageFlow f WHERE f.createdDate < :before)")
+    int deleteParkedInboxEventsForMessageFlowsCreatedBefore(@Param("before") Date before);
+
+
+    @Query(value = """
+            SELECT m.id FROM message m
+            WHERE m.created_date < :before
+              AND NOT EXISTS (SELECT 1 FROM message_flow f WHERE f.message_id = m.id)
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Number> getUnreferencedMessageIds(@Param("before") Date before, @Param("limit") int limit);
+
+
+    /**
+     * Deletes the messages which are still not referred to by any message flow.
+     */
+    @Modifying
+    @Query("DELETE FROM Message m WHERE m.id IN (:messageIds) AND NOT EXISTS (SELECT f.id FROM MessageFlow f WHERE f.message = m)")
+    int deleteUnreferencedMessages(@Param("messageIds") List<Long> messageIds);
+}
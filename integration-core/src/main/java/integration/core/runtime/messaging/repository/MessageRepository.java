@@ -1,11 +1,22 @@
 package integration.core.runtime.messaging.repository;
 
+import java.util.List;
+
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
+import integration.core.domain.configuration.ContentTypeEnum;
 import integration.core.domain.messaging.Message;
 
 @Repository
 public interface MessageRepository extends CrudRepository<Message, Long> {
-
+    
+    /**
+     * Returns the messages with the supplied content hash and content type.  Normally there will be at most one.
+     * 
+     * @param contentHash
+     * @param contentType
+     * @return
+     */
+    List<Message> findByContentHashAndContentType(String contentHash, ContentTypeEnum contentType);
 }
@@ -1,8 +1,10 @@
 package integration.core.runtime.messaging.repository;
 
+import java.util.Date;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -15,20 +17,85 @@ public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long>
     @Query(value = """
             SELECT * FROM outbox_event e
             WHERE e.component_id = :componentId
+              AND e.parked_date IS NULL
               AND (e.id NOT IN (:processedEventIds))
-              AND (e.retry_after IS NULL OR e.retry_after <= CURRENT_TIMESTAMP)
-            ORDER BY e.created_date
+              AND (e.retry_after IS NULL OR e.retry_after <= :now)
+            ORDER BY e.created_date, e.id
             LIMIT :limit
             """, nativeQuery = true)
-     List<OutboxEvent> getEventsForComponent(@Param("componentId") long componentId,@Param("processedEventIds") List<Long> processedEventIds, @Param("limit") int limit);
+     List<OutboxEvent> getEventsForComponent(@Param("componentId") long componentId,@Param("processedEventIds") List<Long> processedEventIds, @Param("limit") int limit, @Param("now") Date now);
     
     
     @Query(value = """
             SELECT * FROM outbox_event e
             WHERE e.component_id = :componentId
-              AND (e.retry_after IS NULL OR e.retry_after <= CURRENT_TIMESTAMP)
-            ORDER BY e.created_date
+              AND e.parked_date IS NULL
+              AND (e.retry_after IS NULL OR e.retry_after <= :now)
+            ORDER BY e.created_date, e.id
             LIMIT :limit
             """, nativeQuery = true)
-     List<OutboxEvent> getEventsForComponent(@Param("componentId") long componentId, @Param("limit") int limit);
+     List<OutboxEvent> getEventsForComponent(@Param("componentId") long componentId, @Param("limit") int limit, @Param("now") Date now);    
+    
+    /**
+     * Selects and row locks unclaimed events for a component.  Rows locked by another node are skipped rather than waited on 
+     * so multiple nodes can select disjoint batches at the same time.  Supported by Postgres and MySQL 8.
+     * 
+     * The retry and claim expiry times are set from the application clock so they are compared with the current time passed in, not the 
+     * database clock, otherwise a difference between the clocks shortens or lengthens every lease and retry delay.
+     */
+    @Query(value = """
+            SELECT * FROM outbox_event e
+            WHERE e.component_id = :componentId
+              AND e.parked_date IS NULL
+              AND (e.retry_after IS NULL OR e.retry_after <= :now)
+              AND (e.claim_expires IS NULL OR e.claim_expires <= :now)
+            ORDER BY e.created_date, e.id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+     List<OutboxEvent> lockUnclaimedEventsForComponent(@Param("componentId") long componentId, @Param("limit") int limit, @Param("now") Date now);
+    
+    
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.claimedBy = :claimedBy, e.claimExpires = :claimExpires WHERE e.id IN (:eventIds)")
+    int claimEvents(@Param("eventIds") List<Long> eventIds, @Param("claimedBy") String claimedBy, @Param("claimExpires") Date claimExpires);
+    
+    
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.claimedBy = null, e.claimExpires = null WHERE e.id = :eventId AND e.claimedBy = :claimedBy")
+    int releaseClaim(@Param("eventId") long eventId, @Param("claimedBy") String claimedBy);
+    
+    
+    /**
+     * Deletes an event in a single statement.
+     * 
+     * @return the number of events deleted.  Zero if the event does not exist.
+     */
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.id = :eventId")
+    int deleteEvent(@Param("eventId") long eventId);
+    
+    
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.id IN (:eventIds)")
+    int deleteEvents(@Param("eventIds") List<Long> eventIds);
+    
+    
+    @Query("SELECT e.component.id, COUNT(e) FROM OutboxEvent e WHERE e.parkedDate IS NULL GROUP BY e.component.id")
+    List<Object[]> countEventsByComponent();
+    
+    
+    @Query("SELECT e.component.id, COUNT(e) FROM OutboxEvent e WHERE e.parkedDate IS NOT NULL GROUP BY e.component.id")
+    List<Object[]> countParkedEventsByComponent();
+    
+    
+    /**
+     * Makes the parked events of a component available for processing again.  The retry count is reset so the events get the full
+     * number of attempts.
+     * 
+     * @return the number of events replayed.
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.parkedDate = null, e.retryCount = 0, e.retryAfter = null, e.claimedBy = null, e.claimExpires = null WHERE e.component.id = :componentId AND e.parkedDate IS NOT NULL")
+    int replayParkedEvents(@Param("componentId") long componentId);
 }
@@ -0,0 +1,221 @@
+package integration.core.runtime.messaging.retention;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import integration.core.domain.messaging.Message;
+import integration.core.runtime.messaging.repository.MessageFlowRetentionRepository;
+
+/**
+ * Writes the message flow groups created on a day to a gzip compressed file before they are purged.
+ *
+ * Each line of the file is a JSON object holding a group and all of its message flows including the message content, properties, errors,
+ * filter results and any parked events.  The file is written under a temporary name and renamed once complete so a partly written
+ * archive is never mistaken for a complete one.
+ *
+ * @author Brendan Douglas
+ */
+@Component
+public class MessageFlowArchiver {
+
+    @Autowired
+    private MessageFlowRetentionRepository retentionRepository;
+
+    @Value("${integration.retention.archive.directory:archive}")
+    private String archiveDirectory;
+
+    @Value("${integration.retention.batch-size:500}")
+    private int batchSize;
+
+
+    /**
+     * Returns the archive file for a day.
+     *
+     * @param day
+     * @return
+     */
+    public Path getArchive(LocalDate day) {
+        return Paths.get(archiveDirectory).resolve("message-flow-groups-" + day + ".jsonl.gz");
+    }
+
+
+    /**
+     * Archives the message flow groups created on a day.
+     *
+     * @param day
+     * @return the number of groups archived.
+     * @throws IOException
+     */
+    public int archive(LocalDate day) throws IOException {
+        Path archive = getArchive(day);
+        Files.createDirectories(archive.getParent());
+
+        Path partial = archive.resolveSibling(archive.getFileName() + ".partial");
+
+        Date from = toDate(day);
+        Date to = toDate(day.plusDays(1));
+
+        int groupCount = 0;
+
+        try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(Files.newOutputStream(partial)), StandardCharsets.UTF_8)) {
+            long afterGroupId = 0;
+            List<Long> groupIds;
+
+            do {
+                groupIds = retentionRepository.getGroupIds(from, to, afterGroupId, PageRequest.of(0, batchSize));
+
+                if (!groupIds.isEmpty()) {
+                    writeGroups(writer, groupIds);
+
+                    afterGroupId = groupIds.get(groupIds.size() - 1);
+                    groupCount += groupIds.size();
+                }
+            } while (groupIds.size() == batchSize);
+        }
+
+        Files.move(partial, archive, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        return groupCount;
+    }
+
+
+    private void writeGroups(Writer writer, List<Long> groupIds) throws IOException {
+        List<Object[]> messageFlows = retentionRepository.getMessageFlows(groupIds);
+
+        List<Long> messageFlowIds = new ArrayList<>();
+        LinkedHashSet<Long> messageIds = new LinkedHashSet<>();
+
+        for (Object[] messageFlow : messageFlows) {
+            messageFlowIds.add((Long)messageFlow[0]);
+
+            if (messageFlow[6] != null) {
+                messageIds.add((Long)messageFlow[6]);
+            }
+        }
+
+        Map<Long, Message> messages = new HashMap<>();
+        for (Message message : inBatches(new ArrayList<>(messageIds), retentionRepository::getMessages)) {
+            messages.put(message.getId(), message);
+        }
+
+        Map<Long, JSONObject> properties = new HashMap<>();
+        for (Object[] property : inBatches(messageFlowIds, retentionRepository::getProperties)) {
+            properties.computeIfAbsent((Long)property[0], id -> new JSONObject()).put((String)property[1], property[2]);
+        }
+
+        Map<Long, Object> errors = new HashMap<>();
+        for (Object[] error : inBatches(messageFlowIds, retentionRepository::getErrors)) {
+            errors.put((Long)error[0], error[1]);
+        }
+
+        Map<Long, JSONObject> filtered = new HashMap<>();
+        for (Object[] filter : inBatches(messageFlowIds, retentionRepository::getFiltered)) {
+            filtered.put((Long)filter[0], new JSONObject().put("name", filter[1]).put("reason", filter[2]));
+        }
+
+        Map<Long, JSONArray> parkedEvents = new HashMap<>();
+        addParkedEvents(parkedEvents, "outbox", inBatches(messageFlowIds, retentionRepository::getParkedOutboxEvents));
+        addParkedEvents(parkedEvents, "inbox", inBatches(messageFlowIds, retentionRepository::getParkedInboxEvents));
+
+        JSONObject group = null;
+
+        for (Object[] messageFlow : messageFlows) {
+            Long messageFlowId = (Long)messageFlow[0];
+            Long groupId = (Long)messageFlow[1];
+
+            if (group == null || !groupId.equals(group.get("groupId"))) {
+                writeLine(writer, group);
+                group = new JSONObject().put("groupId", groupId).put("messageFlows", new JSONArray());
+            }
+
+            JSONObject archived = new JSONObject()
+                .put("id", messageFlowId)
+                .put("parentMessageFlowId", messageFlow[2])
+                .put("componentId", messageFlow[3])
+                .put("action", messageFlow[4] == null ? null : messageFlow[4].toString())
+                .put("createdDate", messageFlow[5] == null ? null : ((Date)messageFlow[5]).toInstant().toString())
+                .put("properties", properties.get(messageFlowId))
+                .put("error", errors.get(messageFlowId))
+                .put("filtered", filtered.get(messageFlowId))
+                .put("parkedEvents", parkedEvents.get(messageFlowId));
+
+            Message message = messageFlow[6] == null ? null : messages.get(messageFlow[6]);
+            if (message != null) {
+                archived.put("contentType", message.getContentType() == null ? null : message.getContentType().name());
+                archived.put("content", message.getContent());
+            }
+
+            group.getJSONArray("messageFlows").put(archived);
+        }
+
+        writeLine(writer, group);
+    }
+
+
+    /**
+     * Events which were parked and never replayed are archived with their message flow as they are purged with it.
+     */
+    private void addParkedEvents(Map<Long, JSONArray> parkedEvents, String type, List<Object[]> events) {
+        for (Object[] event : events) {
+            JSONObject archived = new JSONObject()
+                .put("type", type)
+                .put("id", event[1])
+                .put("componentId", event[2])
+                .put("retryCount", event[3])
+                .put("parkedDate", event[4] == null ? null : ((Date)event[4]).toInstant().toString())
+                .put("error", event[5]);
+
+            parkedEvents.computeIfAbsent((Long)event[0], id -> new JSONArray()).put(archived);
+        }
+    }
+
+
+    private void writeLine(Writer writer, JSONObject group) throws IOException {
+        if (group != null) {
+            writer.write(group.toString());
+            writer.write('\n');
+        }
+    }
+
+
+    /**
+     * Runs a query in batches so the number of ids in a single statement stays within the database limits.
+     */
+    private <T> List<T> inBatches(List<Long> ids, Function<List<Long>, List<T>> query) {
+        List<T> results = new ArrayList<>();
+
+        for (int i = 0; i < ids.size(); i += batchSize) {
+            results.addAll(query.apply(ids.subList(i, Math.min(i + batchSize, ids.size()))));
+        }
+
+        return results;
+    }
+
+
+    static Date toDate(LocalDate day) {
+        return Date.from(day.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+}
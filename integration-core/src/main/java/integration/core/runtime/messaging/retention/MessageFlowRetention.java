@@ -0,0 +1,216 @@
+package integration.core.runtime.messaging.retention;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+import integration.core.runtime.messaging.repository.MessageFlowRetentionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+
+/**
+ * Archives and purges message flows older than the retention age.
+ *
+ * Requires the message flow tables to have been partitioned with the 04-message-flow-partitioning.sql migration.  Each run creates the
+ * partitions for the coming days and then, a day at a time starting with the oldest, archives the message flow groups created on the day
+ * and drops the day's partitions.  A day is only purged once none of its message flows have inbox or outbox events waiting.  Parked
+ * events do not hold up a purge.  They are archived with their message flows and deleted.  Finally the
+ * stored messages older than the retention age which no message flow refers to any more are deleted.
+ *
+ * Enable the purge on a single node only.  integration.retention.age-days should be set on every node as it also stops messages close to
+ * the retention age being reused for new message flows.
+ *
+ * @author Brendan Douglas
+ */
+@Component
+public class MessageFlowRetention {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MessageFlowRetention.class);
+
+    @Autowired
+    private MessageFlowRetentionRepository retentionRepository;
+
+    @Autowired
+    private MessageFlowArchiver archiver;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${integration.retention.purge.enabled:false}")
+    private boolean purgeEnabled;
+
+    @Value("${integration.retention.age-days:0}")
+    private int ageDays;
+
+    @Value("${integration.retention.archive.enabled:true}")
+    private boolean archiveEnabled;
+
+    @Value("${integration.retention.partitions.days-ahead:7}")
+    private int daysAhead;
+
+    @Value("${integration.retention.batch-size:500}")
+    private int batchSize;
+
+
+    @Scheduled(initialDelayString = "${integration.retention.initial-delay:60000}", fixedDelayString = "${integration.retention.period:3600000}")
+    public void purge() {
+        if (!purgeEnabled) {
+            return;
+        }
+
+        try {
+            callProcedure("CALL maintain_message_flow_partitions(:daysAhead)", "daysAhead", daysAhead);
+
+            if (ageDays <= 0) {
+                return;
+            }
+
+            LocalDate cutoff = LocalDate.now().minusDays(ageDays);
+
+            purgeMessageFlows(cutoff);
+            purgeMessages(cutoff);
+        } catch(IOException | DataAccessException | PersistenceException e) {
+            // Anything not purged is picked up by the next run.
+            LOGGER.warn("Unable to purge old message flows", e);
+        }
+    }
+
+
+    /**
+     * Archives and drops the message flows created before the cutoff a day at a time.
+     *
+     * @param cutoff
+     * @throws IOException
+     */
+    private void purgeMessageFlows(LocalDate cutoff) throws IOException {
+        LocalDate from = LocalDate.of(1970, 1, 1);
+
+        while (true) {
+            Date oldest = retentionRepository.getOldestGroupCreatedDate(MessageFlowArchiver.toDate(from));
+            if (oldest == null) {
+                return;
+            }
+
+            LocalDate day = oldest.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+            if (!day.isBefore(cutoff)) {
+                return;
+            }
+
+            Date endOfDay = MessageFlowArchiver.toDate(day.plusDays(1));
+
+            long waitingEvents = retentionRepository.countOutboxEventsForMessageFlowsCreatedBefore(endOfDay) + retentionRepository.countInboxEventsForMessageFlowsCreatedBefore(endOfDay);
+            if (waitingEvents > 0) {
+                LOGGER.warn("Message flows created on or before {} still have {} events waiting.  They will be purged once the events have been processed", day, waitingEvents);
+                return;
+            }
+
+            // Rows created before the tables were partitioned can share a partition with later days so a day can already be archived.
+            if (archiveEnabled && !Files.exists(archiver.getArchive(day))) {
+                int groupCount = archiver.archive(day);
+                LOGGER.info("Archived {} message flow groups created on {} to {}", groupCount, day, archiver.getArchive(day));
+            }
+
+            int parkedEvents = deleteParkedEvents(endOfDay);
+            if (parkedEvents > 0) {
+                LOGGER.info("Deleted {} parked events for message flows created on or before {}", parkedEvents, day);
+            }
+
+            callProcedure("CALL drop_message_flow_partitions(:beforeDay)", "beforeDay", java.sql.Date.valueOf(day.plusDays(1)));
+
+            from = day.plusDays(1);
+        }
+    }
+
+
+    /**
+     * Deletes the messages older than the cutoff which are no longer referred to by any message flow.
+     *
+     * @param cutoff
+     */
+    private void purgeMessages(LocalDate cutoff) {
+        Date before = MessageFlowArchiver.toDate(cutoff);
+        int deleted = 0;
+        List<Long> messageIds;
+
+        do {
+            messageIds = retentionRepository.getUnreferencedMessageIds(before, batchSize).stream().map(Number::longValue).toList();
+
+            if (!messageIds.isEmpty()) {
+                TransactionStatus status = transactionManager.getTransaction(new DefaultTransactionDefinition());
+
+                try {
+                    deleted += retentionRepository.deleteUnreferencedMessages(messageIds);
+                    transactionManager.commit(status);
+                } catch(DataAccessException | PersistenceException e) {
+                    rollback(status);
+                    throw e;
+                }
+            }
+        } while (messageIds.size() == batchSize);
+
+        if (deleted > 0) {
+            LOGGER.info("Deleted {} messages created before {} which are no longer used", deleted, cutoff);
+        }
+    }
+
+
+    /**
+     * Deletes the parked events of the message flows about to be dropped.  They have already been archived with their message flows.
+     *
+     * @param before
+     * @return the number of events deleted.
+     */
+    private int deleteParkedEvents(Date before) {
+        TransactionStatus status = transactionManager.getTransaction(new DefaultTransactionDefinition());
+
+        try {
+            int deleted = retentionRepository.deleteParkedOutboxEventsForMessageFlowsCreatedBefore(before) + retentionRepository.deleteParkedInboxEventsForMessageFlowsCreatedBefore(before);
+            transactionManager.commit(status);
+
+            return deleted;
+        } catch(DataAccessException | PersistenceException e) {
+            rollback(status);
+            throw e;
+        }
+    }
+
+
+    private void callProcedure(String statement, String parameterName, Object parameterValue) {
+        TransactionStatus status = transactionManager.getTransaction(new DefaultTransactionDefinition());
+
+        try {
+            entityManager.createNativeQuery(statement)
+                .setParameter(parameterName, parameterValue)
+                .executeUpdate();
+
+            transactionManager.commit(status);
+        } catch(DataAccessException | PersistenceException e) {
+            rollback(status);
+            throw e;
+        }
+    }
+
+
+    private void rollback(TransactionStatus status) {
+        if (!status.isCompleted()) {
+            transactionManager.rollback(status);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package integration.core.runtime.messaging.retry;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * The retry policy used by components without a @Retry annotation.  Configured with the integration.retry properties.  By default the
+ * delay starts at 30 seconds, doubles after each failure up to an hour and the event is parked after 10 attempts.
+ * 
+ * @author Brendan Douglas
+ */
+@Component("defaultRetryPolicy")
+public class DefaultRetryPolicy extends ExponentialBackoffRetryPolicy {
+
+    public DefaultRetryPolicy(@Value("${integration.retry.initial-delay-seconds:30}") long initialDelaySeconds, 
+                              @Value("${integration.retry.multiplier:2}") double multiplier,
+                              @Value("${integration.retry.max-delay-seconds:3600}") long maxDelaySeconds,
+                              @Value("${integration.retry.max-attempts:10}") int maxAttempts,
+                              @Value("${integration.retry.jitter:0.5}") double jitter) {
+        super(initialDelaySeconds * 1000, multiplier, maxDelaySeconds * 1000, maxAttempts, jitter);
+    }
+}
@@ -0,0 +1,84 @@
+package integration.core.runtime.messaging.retry;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A retry policy where the delay doubles (or grows by the multiplier) after each failure up to a maximum delay.  Events are parked
+ * after the maximum number of attempts.
+ * 
+ * Jitter is the fraction of the delay which is random.  With a jitter of 0.5 the delay is between half and all of the calculated delay
+ * so events which failed together, eg. when a destination was down, do not all retry at the same moment.
+ * 
+ * @author Brendan Douglas
+ */
+public class ExponentialBackoffRetryPolicy implements RetryPolicy {
+    private final long initialDelayMillis;
+    private final double multiplier;
+    private final long maxDelayMillis;
+    private final int maxAttempts;
+    private final double jitter;
+
+    
+    /**
+     * @param initialDelayMillis the delay after the first failure.
+     * @param multiplier how much the delay grows after each failure.
+     * @param maxDelayMillis the longest delay.
+     * @param maxAttempts the number of attempts before the event is parked.  Zero or less means never park.
+     * @param jitter the random fraction of the delay between 0 and 1.
+     */
+    public ExponentialBackoffRetryPolicy(long initialDelayMillis, double multiplier, long maxDelayMillis, int maxAttempts, double jitter) {
+        if (initialDelayMillis < 0 || multiplier < 1 || maxDelayMillis < initialDelayMillis || jitter < 0 || jitter > 1) {
+            throw new IllegalArgumentException("Invalid retry policy.  initialDelayMillis: " + initialDelayMillis + ", multiplier: " + multiplier + ", maxDelayMillis: " + maxDelayMillis + ", jitter: " + jitter);
+        }
+        
+        this.initialDelayMillis = initialDelayMillis;
+        this.multiplier = multiplier;
+        this.maxDelayMillis = maxDelayMillis;
+        this.maxAttempts = maxAttempts;
+        this.jitter = jitter;
+    }
+
+    
+    @Override
+    public boolean isExhausted(int failureCount) {
+        return maxAttempts > 0 && failureCount >= maxAttempts;
+    }
+
+    
+    @Override
+    public long getRetryDelayMillis(int failureCount) {
+        double delay = initialDelayMillis * Math.pow(multiplier, Math.max(0, failureCount - 1));
+        long cappedDelay = (long)Math.min(delay, maxDelayMillis);
+        
+        if (jitter == 0 || cappedDelay == 0) {
+            return cappedDelay;
+        }
+        
+        return cappedDelay - (long)(cappedDelay * jitter * ThreadLocalRandom.current().nextDouble());
+    }
+
+    
+    public long getInitialDelayMillis() {
+        return initialDelayMillis;
+    }
+
+    
+    public double getMultiplier() {
+        return multiplier;
+    }
+
+    
+    public long getMaxDelayMillis() {
+        return maxDelayMillis;
+    }
+
+    
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    
+    public double getJitter() {
+        return jitter;
+    }
+}
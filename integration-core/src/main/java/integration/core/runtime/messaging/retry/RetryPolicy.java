@@ -0,0 +1,29 @@
+package integration.core.runtime.messaging.retry;
+
+/**
+ * Decides when a failed inbox or outbox event is tried again and when it is given up on and parked.  Parked events are not selected
+ * by the event polls until they are replayed.
+ * 
+ * A component uses the policy bean named in its @Retry annotation or the defaultRetryPolicy bean if it does not have one.
+ * 
+ * @author Brendan Douglas
+ */
+public interface RetryPolicy {
+    
+    /**
+     * Returns true if an event which has failed this many times should be parked instead of being tried again.
+     * 
+     * @param failureCount the number of times the event has failed including the current failure.
+     * @return
+     */
+    boolean isExhausted(int failureCount);
+    
+    
+    /**
+     * Returns how long to wait before the next attempt.
+     * 
+     * @param failureCount the number of times the event has failed including the current failure.
+     * @return the delay in milliseconds.
+     */
+    long getRetryDelayMillis(int failureCount);
+}
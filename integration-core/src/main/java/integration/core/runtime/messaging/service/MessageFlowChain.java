@@ -0,0 +1,192 @@
+package integration.core.runtime.messaging.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import integration.core.domain.configuration.ContentTypeEnum;
+import integration.core.domain.messaging.MessageFlowActionType;
+import integration.core.runtime.messaging.component.type.handler.filter.MessageFlowPolicyResult;
+
+/**
+ * A chain of message flow steps recorded by a component in a single call to {@link MessageFlowService#recordMessageFlowChain(MessageFlowChain)}.
+ *
+ * Each step is a child of the previous step.  The first step is a child of the supplied parent message flow.  Optionally an outbox
+ * event can be recorded for the last step.
+ *
+ * eg.  new MessageFlowChain(componentId, messageFlowId).accepted().newContent(content, contentType, TRANSFORMED).pendingForwarding().outboxEvent(routeId, owner)
+ *
+ * @author Brendan Douglas
+ */
+public class MessageFlowChain {
+    private final long componentId;
+    private final long parentMessageFlowId;
+    private final List<Step> steps = new ArrayList<>();
+
+    private boolean recordOutboxEvent;
+    private long routeId;
+    private String owner;
+
+
+    public MessageFlowChain(long componentId, long parentMessageFlowId) {
+        this.componentId = componentId;
+        this.parentMessageFlowId = parentMessageFlowId;
+    }
+
+
+    /**
+     * The message was accepted by the component.
+     *
+     * @return
+     */
+    public MessageFlowChain accepted() {
+        return addStep(new Step(MessageFlowActionType.MESSAGE_ACCEPTED, null, null, null));
+    }
+
+
+    /**
+     * The message was not accepted (filtered) by the component.
+     *
+     * @param policyResult
+     * @return
+     */
+    public MessageFlowChain notAccepted(MessageFlowPolicyResult policyResult) {
+        return addStep(new Step(MessageFlowActionType.MESSAGE_NOT_ACCEPTED, null, null, policyResult));
+    }
+
+
+    /**
+     * The message content was changed.  A new message is only stored if the content differs from the previous step.
+     *
+     * @param messageContent
+     * @param contentType
+     * @param action
+     * @return
+     */
+    public MessageFlowChain newContent(String messageContent, ContentTypeEnum contentType, MessageFlowActionType action) {
+        return addStep(new Step(action, messageContent, contentType, null));
+    }
+
+
+    /**
+     * A step where the content is the same as the previous step.
+     *
+     * @param action
+     * @return
+     */
+    public MessageFlowChain sameContent(MessageFlowActionType action) {
+        return addStep(new Step(action, null, null, null));
+    }
+
+
+    /**
+     * The message is pending forwarding.
+     *
+     * @return
+     */
+    public MessageFlowChain pendingForwarding() {
+        return addStep(new Step(MessageFlowActionType.MESSAGE_PENDING_FORWARDING, null, null, null));
+    }
+
+
+    /**
+     * The message was not forwarded (filtered) by the component.
+     *
+     * @param policyResult
+     * @return
+     */
+    public MessageFlowChain notForwarded(MessageFlowPolicyResult policyResult) {
+        return addStep(new Step(MessageFlowActionType.MESSAGE_NOT_FORWARDED, null, null, policyResult));
+    }
+
+
+    /**
+     * Records an outbox event for the last step in the chain.
+     *
+     * @param routeId
+     * @param owner
+     * @return
+     */
+    public MessageFlowChain outboxEvent(long routeId, String owner) {
+        this.recordOutboxEvent = true;
+        this.routeId = routeId;
+        this.owner = owner;
+
+        return this;
+    }
+
+
+    private MessageFlowChain addStep(Step step) {
+        steps.add(step);
+
+        return this;
+    }
+
+
+    public long getComponentId() {
+        return componentId;
+    }
+
+
+    public long getParentMessageFlowId() {
+        return parentMessageFlowId;
+    }
+
+
+    public List<Step> getSteps() {
+        return Collections.unmodifiableList(steps);
+    }
+
+
+    public boolean isRecordOutboxEvent() {
+        return recordOutboxEvent;
+    }
+
+
+    public long getRouteId() {
+        return routeId;
+    }
+
+
+    public String getOwner() {
+        return owner;
+    }
+
+
+    /**
+     * A single step in the chain.
+     */
+    public static class Step {
+        private final MessageFlowActionType action;
+        private final String messageContent;
+        private final ContentTypeEnum contentType;
+        private final MessageFlowPolicyResult policyResult;
+
+        public Step(MessageFlowActionType action, String messageContent, ContentTypeEnum contentType, MessageFlowPolicyResult policyResult) {
+            this.action = action;
+            this.messageContent = messageContent;
+            this.contentType = contentType;
+            this.policyResult = policyResult;
+        }
+
+
+        public MessageFlowActionType getAction() {
+            return action;
+        }
+
+
+        public String getMessageContent() {
+            return messageContent;
+        }
+
+
+        public ContentTypeEnum getContentType() {
+            return contentType;
+        }
+
+
+        public MessageFlowPolicyResult getPolicyResult() {
+            return policyResult;
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package integration.core.runtime.messaging.service;
 
+import java.util.Map;
+
 import integration.core.runtime.messaging.exception.retryable.MessageFlowProcessingException;
 
 /**
  * Services to access message flow properties.
+ * 
+ * Only the properties added or changed by a message flow are stored against it.  The effective properties of a message flow are its own
+ * properties plus those inherited from its parent message flows, with the closest message flow taking precedence.
  */
 public interface MessageFlowPropertyService {
     
@@ -27,4 +32,14 @@ public interface MessageFlowPropertyService {
      * @throws MessageFlowProcessingException
      */
     void addProperty(String key, Object value, long messageFlowId) throws MessageFlowProcessingException;
+    
+    
+    /**
+     * Gets the effective properties of a message flow.
+     * 
+     * @param messageFlowId
+     * @return
+     * @throws MessageFlowProcessingException
+     */
+    Map<String, String> getEffectiveProperties(long messageFlowId) throws MessageFlowProcessingException;
 }
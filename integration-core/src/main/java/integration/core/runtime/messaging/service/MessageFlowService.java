@@ -1,5 +1,6 @@
 package integration.core.runtime.messaging.service;
 
+import java.util.List;
 import java.util.Map;
 
 import integration.core.domain.configuration.ContentTypeEnum;
@@ -191,6 +192,58 @@ public interface MessageFlowService {
     MessageFlowDto recordMessageFlowError(long componentId, long messageFlowId, IntegrationException theException) throws MessageFlowProcessingException, MessageFlowNotFoundException, ComponentNotFoundException;
 
 
+    /**
+     * Records a chain of message flow steps and optionally an outbox event for the last step.  The parent message flow and component are
+     * only read once for the whole chain.
+     * 
+     * @param chain
+     * @return the id of the last message flow in the chain.
+     * @throws MessageFlowProcessingException
+     * @throws MessageFlowNotFoundException
+     * @throws ComponentNotFoundException
+     */
+    Long recordMessageFlowChain(MessageFlowChain chain) throws MessageFlowProcessingException, MessageFlowNotFoundException, ComponentNotFoundException;
+    
+    
+    /**
+     * Records all the message flows created by a split in one call.  Each split message flow is a child of the parent and is followed by a pending
+     * forwarding step and an outbox event, or a not forwarded step if the forwarding policy failed.  The parent message flow and component are
+     * only read once and the outbox events are saved together.
+     * 
+     * @param componentId
+     * @param parentMessageFlowId
+     * @param numberOfMessages
+     * @param forwardingPolicyResult
+     * @param routeId
+     * @param owner
+     * @return the ids of the last message flow recorded for each split message.
+     * @throws MessageFlowProcessingException
+     * @throws MessageFlowNotFoundException
+     * @throws ComponentNotFoundException
+     */
+    List<Long> recordSplitMessageFlows(long componentId, long parentMessageFlowId, int numberOfMessages, MessageFlowPolicyResult forwardingPolicyResult, long routeId, String owner) throws MessageFlowProcessingException, MessageFlowNotFoundException, ComponentNotFoundException;
+    
+    
+    /**
+     * Records a batch of split messages which each have their own content.  Otherwise the same as recording split messages with the parent
+     * content.  A large split is recorded in several batches.
+     * 
+     * Once recorded the batch is flushed and the persistence context cleared so memory use does not grow with the size of the split.  Entities
+     * read earlier in the transaction are detached so callers should only hold on to ids.
+     * 
+     * @param componentId
+     * @param parentMessageFlowId
+     * @param splitMessages
+     * @param routeId
+     * @param owner
+     * @return the ids of the last message flow recorded for each split message.
+     * @throws MessageFlowProcessingException
+     * @throws MessageFlowNotFoundException
+     * @throws ComponentNotFoundException
+     */
+    List<Long> recordSplitMessageFlows(long componentId, long parentMessageFlowId, List<SplitMessage> splitMessages, long routeId, String owner) throws MessageFlowProcessingException, MessageFlowNotFoundException, ComponentNotFoundException;
+    
+    
     /**
      * Updates the action of a message flow from pending forwarding to forwarded.
      * 
@@ -199,4 +252,15 @@ public interface MessageFlowService {
      * @throws MessageFlowNotFoundException
      */
     void updatePendingForwardingToForwardedAction(Long messageFlowId) throws MessageFlowProcessingException, MessageFlowNotFoundException;
+    
+    
+    /**
+     * Updates the action of a batch of message flows from pending forwarding to forwarded in a single statement.  Message flows which are
+     * not pending forwarding are left unchanged.
+     * 
+     * @param messageFlowIds
+     * @return the number of message flows updated.
+     * @throws MessageFlowProcessingException
+     */
+    int updatePendingForwardingToForwardedActions(List<Long> messageFlowIds) throws MessageFlowProcessingException;
 }
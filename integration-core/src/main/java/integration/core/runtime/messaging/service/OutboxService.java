@@ -1,6 +1,7 @@
 package integration.core.runtime.messaging.service;
 
 import java.util.List;
+import java.util.Map;
 
 import integration.core.dto.OutboxEventDto;
 import integration.core.exception.ComponentNotFoundException;
@@ -9,6 +10,7 @@ import integration.core.runtime.messaging.exception.nonretryable.MessageFlowNotF
 import integration.core.runtime.messaging.exception.nonretryable.OutboxEventNotFoundException;
 import integration.core.runtime.messaging.exception.retryable.MessageFlowProcessingException;
 import integration.core.runtime.messaging.exception.retryable.OutboxEventProcessingException;
+import integration.core.runtime.messaging.retry.RetryPolicy;
 
 /**
  * Outbox services.
@@ -43,14 +45,62 @@ public interface OutboxService {
 
     
     /**
-     * Marks an event for retry.
+     * Selects and claims events for a component.  Claimed events are not returned to any other caller until the claim is released
+     * or the lease expires.
+     * 
+     * @param componentId
+     * @param numberToRead
+     * @param claimedBy
+     * @param leaseSeconds
+     * @return
+     * @throws OutboxEventProcessingException
+     */
+    List<OutboxEventDto> claimEventsForComponent(long componentId, int numberToRead, String claimedBy, int leaseSeconds) throws OutboxEventProcessingException;
+    
+    
+    /**
+     * Releases a claim on an event so it can be selected again.
+     * 
+     * @param eventId
+     * @param claimedBy
+     * @throws OutboxEventProcessingException
+     */
+    void releaseClaim(long eventId, String claimedBy) throws OutboxEventProcessingException;
+
+    
+    /**
+     * Marks an event for retry after the delay from the retry policy.  If the policy says the event has had all its attempts it is parked instead.
      * 
      * @param eventId
+     * @param theException
+     * @param retryPolicy
+     * @return true if the event will be retried, false if it was parked.
      * @throws MessageFlowProcessingException
      * @throws OutboxEventProcessingException
      * @throws OutboxEventNotFoundException
      */
-    void markEventForRetry(long eventId, IntegrationException theException) throws MessageFlowProcessingException, OutboxEventProcessingException, OutboxEventNotFoundException;
+    boolean markEventForRetry(long eventId, IntegrationException theException, RetryPolicy retryPolicy) throws MessageFlowProcessingException, OutboxEventProcessingException, OutboxEventNotFoundException;
+    
+    
+    /**
+     * Parks an event so it is no longer selected for processing.  Used when the event cannot succeed by being tried again.
+     * 
+     * @param eventId
+     * @param theException
+     * @throws OutboxEventProcessingException
+     * @throws OutboxEventNotFoundException
+     */
+    void parkEvent(long eventId, IntegrationException theException) throws OutboxEventProcessingException, OutboxEventNotFoundException;
+    
+    
+    /**
+     * Makes all the parked events of a component available for processing again.
+     * 
+     * @param componentId
+     * @return the number of events replayed.
+     * @throws OutboxEventProcessingException
+     */
+    int replayParkedEvents(long componentId) throws OutboxEventProcessingException;
     
     
     /**
@@ -61,4 +111,32 @@ public interface OutboxService {
      * @throws OutboxEventNotFoundException
      */
     void deleteEvent(long eventId) throws OutboxEventProcessingException, OutboxEventNotFoundException;
+    
+    
+    /**
+     * Deletes a batch of events by id in a single statement.  Ids of events which no longer exist are ignored.
+     * 
+     * @param eventIds
+     * @return the number of events deleted.
+     * @throws OutboxEventProcessingException
+     */
+    int deleteEvents(List<Long> eventIds) throws OutboxEventProcessingException;
+    
+    
+    /**
+     * Returns the number of events for each component which has events.  Keyed by component id.
+     * 
+     * @return
+     * @throws OutboxEventProcessingException
+     */
+    Map<Long, Long> getEventCountByComponent() throws OutboxEventProcessingException;
+    
+    
+    /**
+     * Returns the number of parked events for each component which has parked events.  Keyed by component id.
+     * 
+     * @return
+     * @throws OutboxEventProcessingException
+     */
+    Map<Long, Long> getParkedEventCountByComponent() throws OutboxEventProcessingException;
 }
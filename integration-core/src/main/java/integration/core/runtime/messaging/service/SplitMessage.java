@@ -0,0 +1,36 @@
+package integration.core.runtime.messaging.service;
+
+import integration.core.domain.configuration.ContentTypeEnum;
+import integration.core.runtime.messaging.component.type.handler.filter.MessageFlowPolicyResult;
+
+/**
+ * A message created by a splitter along with the result of applying the forwarding policy to it.
+ * 
+ * @author Brendan Douglas
+ */
+public class SplitMessage {
+    private final String messageContent;
+    private final ContentTypeEnum contentType;
+    private final MessageFlowPolicyResult forwardingPolicyResult;
+
+    public SplitMessage(String messageContent, ContentTypeEnum contentType, MessageFlowPolicyResult forwardingPolicyResult) {
+        this.messageContent = messageContent;
+        this.contentType = contentType;
+        this.forwardingPolicyResult = forwardingPolicyResult;
+    }
+
+
+    public String getMessageContent() {
+        return messageContent;
+    }
+
+
+    public ContentTypeEnum getContentType() {
+        return contentType;
+    }
+
+
+    public MessageFlowPolicyResult getForwardingPolicyResult() {
+        return forwardingPolicyResult;
+    }
+}
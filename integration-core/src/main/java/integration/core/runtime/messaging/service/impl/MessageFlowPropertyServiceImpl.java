@@ -1,12 +1,25 @@
 package integration.core.runtime.messaging.service.impl;
 
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import integration.core.domain.IdentifierType;
 import integration.core.domain.messaging.MessageFlow;
@@ -14,28 +27,51 @@ import integration.core.domain.messaging.MessageFlowProperty;
 import integration.core.runtime.messaging.exception.retryable.MessageFlowProcessingException;
 import integration.core.runtime.messaging.repository.MessageFlowRepository;
 import integration.core.runtime.messaging.service.MessageFlowPropertyService;
+import jakarta.annotation.PostConstruct;
 
 @Service
 @Transactional(propagation = Propagation.REQUIRED)
 public class MessageFlowPropertyServiceImpl implements MessageFlowPropertyService {   
+    private static final Logger LOGGER = LoggerFactory.getLogger(MessageFlowPropertyServiceImpl.class);
+    
+    private static final String EVICT_TOPIC = "messageFlowPropertyCacheEvict";
     
     @Autowired
     private MessageFlowRepository messageFlowRepository;
+    
+    @Autowired
+    private Ignite ignite;
+    
+    @Value("${integration.message-flow.property-cache-size:10000}")
+    private int cacheSize;
+    
+    // Resolved effective properties by message flow id.  A message flows properties do not change once recorded so entries only need
+    // removing when a property is added.  The cache is cleared on every node once the transaction adding the property completes.
+    private Map<Long, Map<String, String>> effectivePropertiesCache;
+
+    
+    @PostConstruct
+    public void MessageFlowPropertyServiceImplInit() {
+        effectivePropertiesCache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Map<String, String>> eldest) {
+                return size() > cacheSize;
+            }
+        });
+        
+        ignite.message().localListen(EVICT_TOPIC, (nodeId, messageFlowId) -> {
+            effectivePropertiesCache.clear();
+            return true;
+        });
+    }
 
     
     @Override
     public Object getPropertyValue(String key, long messageFlowId) throws MessageFlowProcessingException {
         try {
-            Optional<MessageFlow>messageFlowOptional = messageFlowRepository.findById(messageFlowId);
-            
-            MessageFlow messageFlow = messageFlowOptional.get();
-            MessageFlowProperty property = messageFlow.getProperty(key);
-            
-            if (property != null) {
-                return property.getValue();
-            }
-            
-            return null;
+            return getEffectiveProperties(messageFlowId).get(key);
         } catch(DataAccessException e) {
             throw new MessageFlowProcessingException("Database error while getting a message flow property", messageFlowId, e).addOtherIdentifier(IdentifierType.PROPERTY_KEY, key);
         }
@@ -51,8 +87,114 @@ public class MessageFlowPropertyServiceImpl implements MessageFlowPropertyServic
             messageFlow.addOrUpdateProperty(key, value);
             
             messageFlowRepository.save(messageFlow); 
+            
+            // Descendants of this message flow may have already been resolved so clear everything.
+            clearCacheAfterCompletion(messageFlowId);
         } catch(DataAccessException e) {
             throw new MessageFlowProcessingException("Database error while saving a message flow property",messageFlowId, e).addOtherIdentifier(IdentifierType.PROPERTY_KEY, key);
         }
     }
-}
\ No newline at end of file
+
+    
+    /**
+     * Clears the cache once the current transaction completes.  Clearing before the commit would let the old properties be cached again
+     * before the new ones are visible.  Clearing after a rollback removes anything resolved from the uncommitted property.
+     * 
+     * @param messageFlowId
+     */
+    private void clearCacheAfterCompletion(long messageFlowId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            clearCache(messageFlowId);
+            return;
+        }
+        
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                clearCache(messageFlowId);
+            }
+        });
+    }
+    
+    
+    /**
+     * Clears the cache on this node and tells the other nodes to clear theirs.
+     * 
+     * @param messageFlowId
+     */
+    private void clearCache(long messageFlowId) {
+        effectivePropertiesCache.clear();
+        
+        try {
+            ignite.message(ignite.cluster().forRemotes()).send(EVICT_TOPIC, messageFlowId);
+        } catch(IgniteException e) {
+            LOGGER.warn("Unable to clear the message flow property cache on the other nodes.  Message flow id: {}", messageFlowId, e);
+        }
+    }
+
+    
+    @Override
+    public Map<String, String> getEffectiveProperties(long messageFlowId) throws MessageFlowProcessingException {
+        Map<String, String> properties = effectivePropertiesCache.get(messageFlowId);
+        
+        if (properties != null) {
+            return properties;
+        }
+        
+        try {
+            Optional<MessageFlow>messageFlowOptional = messageFlowRepository.findById(messageFlowId);
+            
+            MessageFlow messageFlow = messageFlowOptional.get();
+            
+            return resolveEffectiveProperties(messageFlow);
+        } catch(DataAccessException e) {
+            throw new MessageFlowProcessingException("Database error while getting message flow properties", messageFlowId, e);
+        }
+    }
+    
+    
+    /**
+     * Walks up the parent chain until a message flow with cached properties (or the original message flow) is found and then applies 
+     * each message flows own properties on the way back down.  Every message flow resolved on the way is cached.
+     * 
+     * @param messageFlow
+     * @return
+     */
+    private Map<String, String> resolveEffectiveProperties(MessageFlow messageFlow) {
+        Deque<MessageFlow> unresolved = new ArrayDeque<>();
+        Map<String, String> resolved = null;
+        
+        MessageFlow current = messageFlow;
+        
+        while (current != null) {
+            resolved = effectivePropertiesCache.get(current.getId());
+            
+            if (resolved != null) {
+                break;
+            }
+            
+            unresolved.push(current);
+            current = current.getParentMessageFlow();
+        }
+        
+        Map<String, String> properties = resolved == null ? Collections.emptyMap() : resolved;
+        
+        while (!unresolved.isEmpty()) {
+            MessageFlow unresolvedMessageFlow = unresolved.pop();
+            
+            if (!unresolvedMessageFlow.getProperties().isEmpty()) {
+                Map<String, String> merged = new HashMap<>(properties);
+                
+                for (MessageFlowProperty property : unresolvedMessageFlow.getProperties()) {
+                    merged.put(property.getKey(), (String)property.getValue());
+                }
+                
+                properties = Collections.unmodifiableMap(merged);
+            }
+            
+            effectivePropertiesCache.put(unresolvedMessageFlow.getId(), properties);
+        }
+        
+        return properties;
+    }
+}
@@ -14,7 +14,7 @@ public class MessageFlowRequest {
     private ContentTypeEnum contentType;
     private Map<String,String>properties = new HashMap<>();
     private MessageFlowActionType action;
-    private Map<String, Object>headers;
+    private Map<String, Object>headers = new HashMap<>();
     
     
     public String getMessageContent() {
@@ -1,5 +1,10 @@
 package integration.core.runtime.messaging.service.impl;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -7,6 +12,7 @@ import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
@@ -21,7 +27,7 @@ import integration.core.domain.messaging.MessageFlowActionType;
 import integration.core.domain.messaging.MessageFlowError;
 import integration.core.domain.messaging.MessageFlowFiltered;
 import integration.core.domain.messaging.MessageFlowGroup;
-import integration.core.domain.messaging.MessageFlowProperty;
+import integration.core.domain.messaging.OutboxEvent;
 import integration.core.dto.MessageFlowDto;
 import integration.core.dto.mapper.MessageFlowMapper;
 import integration.core.exception.ComponentNotFoundException;
@@ -31,12 +37,21 @@ import integration.core.runtime.messaging.component.type.handler.filter.FilterEx
 import integration.core.runtime.messaging.component.type.handler.filter.MessageFlowPolicyResult;
 import integration.core.runtime.messaging.component.type.handler.splitter.SplitterException;
 import integration.core.runtime.messaging.component.type.handler.transformation.TransformationException;
+import integration.core.runtime.messaging.dispatch.EventNotifier;
 import integration.core.runtime.messaging.exception.nonretryable.MessageFlowNotFoundException;
 import integration.core.runtime.messaging.exception.retryable.MessageFlowProcessingException;
 import integration.core.runtime.messaging.repository.MessageFlowRepository;
+import integration.core.runtime.messaging.repository.MessageRepository;
+import integration.core.runtime.messaging.repository.OutboxEventRepository;
+import integration.core.runtime.messaging.service.MessageFlowChain;
 import integration.core.runtime.messaging.service.MessageFlowPropertyService;
 import integration.core.runtime.messaging.service.MessageFlowService;
 import integration.core.runtime.messaging.service.OutboxService;
+import integration.core.runtime.messaging.service.SplitMessage;
+import integration.core.util.Utils;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
 
 @Service
 @Transactional(propagation = Propagation.REQUIRED)
@@ -55,6 +70,27 @@ public class MessageFlowServiceImpl implements MessageFlowService {
     @Autowired
     private MessageFlowPropertyService propertyService;
     
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    
+    @Autowired
+    private EventNotifier eventNotifier;
+    
+    @Autowired
+    private MessageRepository messageRepository;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Value("${integration.message.compression.enabled:false}")
+    private boolean compressionEnabled;
+    
+    @Value("${integration.message.compression.threshold:4096}")
+    private int compressionThreshold;
+    
+    @Value("${integration.retention.age-days:0}")
+    private int retentionAgeDays;
+    
     
     /**
      * A helper method to retrieve a MessageFlowDto by id.
@@ -94,7 +130,7 @@ public class MessageFlowServiceImpl implements MessageFlowService {
     public MessageFlowDto retrieveMessageFlow(long messageFlowId, boolean includeMessage) throws MessageFlowProcessingException, MessageFlowNotFoundException {    
         MessageFlow messageFlow = retrieveMandatoryMessageFlow(messageFlowId, includeMessage);
         
-        MessageFlowMapper mapper = new MessageFlowMapper(includeMessage);
+        MessageFlowMapper mapper = new MessageFlowMapper(includeMessage, propertyService.getEffectiveProperties(messageFlowId));
         
         return mapper.doMapping(messageFlow);
     }
@@ -338,72 +374,307 @@ public class MessageFlowServiceImpl implements MessageFlowService {
                 } else {
                     // If message content was supplied then compare against the parent message.  If different then create a new message.
                     if (!messageContent.equals(parentMessageFlow.getMessage().getContent())) {
-                        message = new Message(messageContent, contentType);
+                        message = getOrCreateMessage(messageContent, contentType);
                     } 
                 }
             } else {
                 // There is no parent so store the original message.
-                message = new Message(messageContent, contentType);
+                message = getOrCreateMessage(messageContent, contentType);
             }
             
-            Optional<IntegrationComponent> integrationComponent = componentRepository.findById(componentId);
-            if (integrationComponent.isEmpty()) {
-                throw new ComponentNotFoundException(componentId);
-            }
+            IntegrationComponent integrationComponent = retrieveMandatoryComponent(componentId);
 
-            MessageFlow messageFlow = new MessageFlow();
-            messageFlow.setComponent(integrationComponent.get());
-            messageFlow.setMessage(message);
-            messageFlow.setAction(action);
+            MessageFlow messageFlow = createMessageFlow(integrationComponent, parentMessageFlow, message, action);
             
-            //TODO this is not ideal copying all the headers/properties to all message flows.  The plan is to only store the differences between the new message flow and the parents.
+            // Only the headers supplied are stored against this message flow.  Everything else is inherited from the parent.
             if (request.getHeaders() != null) {
                 for (Map.Entry<String, Object> entry : request.getHeaders().entrySet()) {
                     messageFlow.addOrUpdateProperty(entry.getKey(), entry.getValue());
                 }
             }
+            
+            savedStep = messageFlowRepository.save(messageFlow);
+                       
+            return savedStep.getId();
+        }  catch(DataAccessException e) {
+            throw new MessageFlowProcessingException("Database error while recording a message flow", request.getComponentId(),  e);
+        }
+    }
+
     
-            // Associate the new message flow with its parent.
-            if (parentMessageFlow != null) {
-                messageFlow.setParentMessageFlow(parentMessageFlow);
+    /**
+     * Creates a new message flow linked to its parent and group.  The parent properties are not copied.  They are inherited when the 
+     * effective properties are resolved.
+     * 
+     * @param integrationComponent
+     * @param parentMessageFlow
+     * @param message
+     * @param action
+     * @return
+     */
+    private MessageFlow createMessageFlow(IntegrationComponent integrationComponent, MessageFlow parentMessageFlow, Message message, MessageFlowActionType action) {
+        MessageFlow messageFlow = new MessageFlow();
+        messageFlow.setComponent(integrationComponent);
+        messageFlow.setMessage(message);
+        messageFlow.setAction(action);
+
+        // Associate the new message flow with its parent.
+        if (parentMessageFlow != null) {
+            messageFlow.setParentMessageFlow(parentMessageFlow);
+        }
+
+        MessageFlowGroup group = null;
+        
+        // If the parent is null this is the original message so a new group needs creating.
+        if (parentMessageFlow == null) {
+            group = new MessageFlowGroup();
+        } else {
+            group = parentMessageFlow.getGroup();
+        }
+        
+        group.addMessageFlow(messageFlow);
+        
+        return messageFlow;
+    }
+    
+    
+    private IntegrationComponent retrieveMandatoryComponent(long componentId) throws ComponentNotFoundException {
+        Optional<IntegrationComponent> integrationComponent = componentRepository.findById(componentId);
+        if (integrationComponent.isEmpty()) {
+            throw new ComponentNotFoundException(componentId);
+        }
+        
+        return integrationComponent.get();
+    }
+
+    
+    /**
+     * Returns the stored message with the supplied content, creating a new one if the content has not been stored before.  Messages are found
+     * by content hash and the content compared to rule out a hash collision.  Content over the compression threshold is stored compressed when
+     * compression is enabled.
+     * 
+     * @param content
+     * @param contentType
+     * @return
+     */
+    private Message getOrCreateMessage(String content, ContentTypeEnum contentType) {
+        if (content == null) {
+            return new Message(null, contentType);
+        }
+        
+        String contentHash = Utils.sha256Hex(content);
+        
+        for (Message existingMessage : messageRepository.findByContentHashAndContentType(contentHash, contentType)) {
+            if (isReusable(existingMessage) && content.equals(existingMessage.getContent())) {
+                return existingMessage;
+            }
+        }
+        
+        if (compressionEnabled && content.length() > compressionThreshold) {
+            return Message.compressed(content, contentType);
+        }
+        
+        return new Message(content, contentType);
+    }
+    
+    
+    /**
+     * Old messages are deleted by the retention purge once no message flow refers to them.  A message within a day of the retention age is not
+     * reused so a new message flow can never refer to a message which is being purged.
+     * 
+     * @param message
+     * @return
+     */
+    private boolean isReusable(Message message) {
+        if (retentionAgeDays <= 0 || message.getCreatedDate() == null) {
+            return true;
+        }
+        
+        Instant reuseLimit = Instant.now().minus(Duration.ofDays(retentionAgeDays - 1));
+        
+        return message.getCreatedDate().toInstant().isAfter(reuseLimit);
+    }
+    
+    
+    @Override
+    public Long recordMessageFlowChain(MessageFlowChain chain) throws MessageFlowProcessingException, MessageFlowNotFoundException, ComponentNotFoundException {
+        try {
+            MessageFlow previousMessageFlow = retrieveMandatoryMessageFlow(chain.getParentMessageFlowId(), false);
+            IntegrationComponent integrationComponent = retrieveMandatoryComponent(chain.getComponentId());
+            
+            for (MessageFlowChain.Step step : chain.getSteps()) {
+                Message message = previousMessageFlow.getMessage();
+                
+                // Only store a new message if the content has actually changed.
+                if (step.getMessageContent() != null && !step.getMessageContent().equals(message.getContent())) {
+                    message = getOrCreateMessage(step.getMessageContent(), step.getContentType());
+                }
                 
-                // Copy all properties
-                for (MessageFlowProperty property : parentMessageFlow.getProperties()) {
-                    messageFlow.addOrUpdateProperty(property.getKey(), property.getValue());
+                MessageFlow messageFlow = createMessageFlow(integrationComponent, previousMessageFlow, message, step.getAction());
+                
+                if (step.getPolicyResult() != null) {
+                    MessageFlowFiltered filter = new MessageFlowFiltered();
+                    filter.setName(step.getPolicyResult().getFilterName());
+                    filter.setReason(step.getPolicyResult().getFilterReason());
+                    filter.setMessageFlow(messageFlow);
                 }
+                
+                previousMessageFlow = messageFlowRepository.save(messageFlow);
             }
-    
-            MessageFlowGroup group = null;
             
-            // If the parent is null this is the original message so a new group needs creating.
-            if (parentMessageFlow == null) {
-                group = new MessageFlowGroup();
-            } else {
-                group = parentMessageFlow.getGroup();
+            if (chain.isRecordOutboxEvent()) {
+                OutboxEvent event = new OutboxEvent();
+                event.setMessageFlow(previousMessageFlow);
+                event.setComponent(integrationComponent);
+                event.setRoute(integrationComponent.getRoute());
+                event.setOwner(chain.getOwner());
+                
+                outboxEventRepository.save(event);
+                
+                eventNotifier.outboxEventRecorded(chain.getComponentId());
             }
             
-            group.addMessageFlow(messageFlow);
+            return previousMessageFlow.getId();
+        } catch(DataAccessException e) {
+            throw new MessageFlowProcessingException("Database error while recording a message flow chain", chain.getParentMessageFlowId(), e).addOtherIdentifier(IdentifierType.COMPONENT_ID, chain.getComponentId());
+        }
+    }
+
+    
+    @Override
+    public List<Long> recordSplitMessageFlows(long componentId, long parentMessageFlowId, int numberOfMessages, MessageFlowPolicyResult forwardingPolicyResult, long routeId, String owner) throws MessageFlowProcessingException, MessageFlowNotFoundException, ComponentNotFoundException {
+        try {
+            MessageFlow parentMessageFlow = retrieveMandatoryMessageFlow(parentMessageFlowId, false);
+            IntegrationComponent integrationComponent = retrieveMandatoryComponent(componentId);
             
-            savedStep = messageFlowRepository.save(messageFlow);
-                       
-            return savedStep.getId();
-        }  catch(DataAccessException e) {
-            throw new MessageFlowProcessingException("Database error while recording a message flow", request.getComponentId(),  e);
+            // A split message has the same content as the parent.
+            List<MessageFlow> splitMessageFlows = new ArrayList<>(numberOfMessages);
+            for (int i = 0; i < numberOfMessages; i++) {
+                splitMessageFlows.add(createMessageFlow(integrationComponent, parentMessageFlow, parentMessageFlow.getMessage(), MessageFlowActionType.CREATED_FROM_SPLIT));
+            }
+            
+            return recordSplitForwarding(componentId, integrationComponent, splitMessageFlows, Collections.nCopies(numberOfMessages, forwardingPolicyResult), owner);
+        } catch(DataAccessException e) {
+            throw new MessageFlowProcessingException("Database error while recording split message flows", parentMessageFlowId, e).addOtherIdentifier(IdentifierType.COMPONENT_ID, componentId);
         }
     }
 
     
     @Override
-    public void updatePendingForwardingToForwardedAction(Long messageFlowId) throws MessageFlowProcessingException, MessageFlowNotFoundException {
-        MessageFlow messageFlow = retrieveMandatoryMessageFlow(messageFlowId, false);
+    public List<Long> recordSplitMessageFlows(long componentId, long parentMessageFlowId, List<SplitMessage> splitMessages, long routeId, String owner) throws MessageFlowProcessingException, MessageFlowNotFoundException, ComponentNotFoundException {
+        try {
+            MessageFlow parentMessageFlow = retrieveMandatoryMessageFlow(parentMessageFlowId, false);
+            IntegrationComponent integrationComponent = retrieveMandatoryComponent(componentId);
+            
+            List<MessageFlow> splitMessageFlows = new ArrayList<>(splitMessages.size());
+            List<MessageFlowPolicyResult> forwardingPolicyResults = new ArrayList<>(splitMessages.size());
+            
+            for (SplitMessage splitMessage : splitMessages) {
+                Message message = getOrCreateMessage(splitMessage.getMessageContent(), splitMessage.getContentType());
+                
+                splitMessageFlows.add(createMessageFlow(integrationComponent, parentMessageFlow, message, MessageFlowActionType.CREATED_FROM_SPLIT));
+                forwardingPolicyResults.add(splitMessage.getForwardingPolicyResult());
+            }
+            
+            List<Long> messageFlowIds = recordSplitForwarding(componentId, integrationComponent, splitMessageFlows, forwardingPolicyResults, owner);
+            
+            entityManager.flush();
+            entityManager.clear();
+            
+            return messageFlowIds;
+        } catch(DataAccessException | PersistenceException e) {
+            throw new MessageFlowProcessingException("Database error while recording split message flows", parentMessageFlowId, e).addOtherIdentifier(IdentifierType.COMPONENT_ID, componentId);
+        }
+    }
+    
+    
+    /**
+     * Saves the split message flows and then records a pending forwarding step and outbox event, or a not forwarded step, for each of them.
+     * 
+     * @param componentId
+     * @param integrationComponent
+     * @param splitMessageFlows
+     * @param forwardingPolicyResults the forwarding policy result for each split message flow.
+     * @param owner
+     * @return the ids of the last message flow recorded for each split message.
+     */
+    private List<Long> recordSplitForwarding(long componentId, IntegrationComponent integrationComponent, List<MessageFlow> splitMessageFlows, List<MessageFlowPolicyResult> forwardingPolicyResults, String owner) {
+        List<MessageFlow> lastMessageFlows = new ArrayList<>(splitMessageFlows.size());
+        int index = 0;
         
-        if (messageFlow.getAction() != MessageFlowActionType.MESSAGE_PENDING_FORWARDING) {
-            throw new MessageFlowProcessingException("Message flow is not the correct action type.  It should have been: " + MessageFlowActionType.MESSAGE_PENDING_FORWARDING, messageFlow.getId());
+        for (MessageFlow splitMessageFlow : messageFlowRepository.saveAll(splitMessageFlows)) {
+            MessageFlowPolicyResult forwardingPolicyResult = forwardingPolicyResults.get(index++);
+            
+            if (forwardingPolicyResult.isSuccess()) {
+                lastMessageFlows.add(createMessageFlow(integrationComponent, splitMessageFlow, splitMessageFlow.getMessage(), MessageFlowActionType.MESSAGE_PENDING_FORWARDING));
+            } else {
+                MessageFlow messageFlow = createMessageFlow(integrationComponent, splitMessageFlow, splitMessageFlow.getMessage(), MessageFlowActionType.MESSAGE_NOT_FORWARDED);
+                
+                MessageFlowFiltered filter = new MessageFlowFiltered();
+                filter.setName(forwardingPolicyResult.getFilterName());
+                filter.setReason(forwardingPolicyResult.getFilterReason());
+                filter.setMessageFlow(messageFlow);
+                
+                lastMessageFlows.add(messageFlow);
+            }
         }
         
-        messageFlow.setAction(MessageFlowActionType.MESSAGE_FORWARDED);
+        List<Long> messageFlowIds = new ArrayList<>(lastMessageFlows.size());
+        List<OutboxEvent> events = new ArrayList<>();
+        
+        for (MessageFlow messageFlow : messageFlowRepository.saveAll(lastMessageFlows)) {
+            messageFlowIds.add(messageFlow.getId());
+            
+            if (messageFlow.getAction() == MessageFlowActionType.MESSAGE_PENDING_FORWARDING) {
+                OutboxEvent event = new OutboxEvent();
+                event.setMessageFlow(messageFlow);
+                event.setComponent(integrationComponent);
+                event.setRoute(integrationComponent.getRoute());
+                event.setOwner(owner);
+                
+                events.add(event);
+            }
+        }
         
-        messageFlowRepository.save(messageFlow);
+        if (!events.isEmpty()) {
+            outboxEventRepository.saveAll(events);
+            
+            eventNotifier.outboxEventRecorded(componentId);
+        }
         
+        return messageFlowIds;
+    }
+
+    
+    @Override
+    public void updatePendingForwardingToForwardedAction(Long messageFlowId) throws MessageFlowProcessingException, MessageFlowNotFoundException {
+        try {
+            int updated = messageFlowRepository.updateAction(List.of(messageFlowId), MessageFlowActionType.MESSAGE_PENDING_FORWARDING, MessageFlowActionType.MESSAGE_FORWARDED);
+            
+            // Only look at the message flow to find out why when nothing was updated.
+            if (updated == 0) {
+                if (!messageFlowRepository.existsById(messageFlowId)) {
+                    throw new MessageFlowNotFoundException(messageFlowId);
+                }
+                
+                throw new MessageFlowProcessingException("Message flow is not the correct action type.  It should have been: " + MessageFlowActionType.MESSAGE_PENDING_FORWARDING, messageFlowId);
+            }
+        } catch(DataAccessException e) {
+            throw new MessageFlowProcessingException("Database error while updating a message flow action", messageFlowId, e);
+        }
+    }
+
+    
+    @Override
+    public int updatePendingForwardingToForwardedActions(List<Long> messageFlowIds) throws MessageFlowProcessingException {
+        if (messageFlowIds.isEmpty()) {
+            return 0;
+        }
+        
+        try {
+            return messageFlowRepository.updateAction(messageFlowIds, MessageFlowActionType.MESSAGE_PENDING_FORWARDING, MessageFlowActionType.MESSAGE_FORWARDED);
+        } catch(DataAccessException e) {
+            throw new MessageFlowProcessingException("Database error while updating a batch of message flow actions", e);
+        }
     }
 }
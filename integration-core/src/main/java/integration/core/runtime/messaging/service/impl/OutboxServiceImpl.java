@@ -1,9 +1,10 @@
 package integration.core.runtime.messaging.service.impl;
 
 import java.util.ArrayList;
-import java.util.Calendar;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.slf4j.Logger;
@@ -24,12 +25,14 @@ import integration.core.exception.ComponentNotFoundException;
 import integration.core.exception.ExceptionIdentifier;
 import integration.core.exception.IntegrationException;
 import integration.core.repository.ComponentRepository;
+import integration.core.runtime.messaging.dispatch.EventNotifier;
 import integration.core.runtime.messaging.exception.nonretryable.MessageFlowNotFoundException;
 import integration.core.runtime.messaging.exception.nonretryable.OutboxEventNotFoundException;
 import integration.core.runtime.messaging.exception.retryable.MessageFlowProcessingException;
 import integration.core.runtime.messaging.exception.retryable.OutboxEventProcessingException;
 import integration.core.runtime.messaging.repository.MessageFlowRepository;
 import integration.core.runtime.messaging.repository.OutboxEventRepository;
+import integration.core.runtime.messaging.retry.RetryPolicy;
 import integration.core.runtime.messaging.service.OutboxService;
 
 @Service
@@ -45,6 +48,9 @@ public class OutboxServiceImpl implements OutboxService {
     
     @Autowired
     private MessageFlowRepository messageFlowRepository;
+    
+    @Autowired
+    private EventNotifier eventNotifier;
 
     
     @Override
@@ -72,6 +78,8 @@ public class OutboxServiceImpl implements OutboxService {
             event.setOwner(owner);
             
             eventRepository.save(event);
+            
+            eventNotifier.outboxEventRecorded(componentId);
         } catch(DataAccessException e) {
             List<ExceptionIdentifier>otherIdentifiers = new ArrayList<>();
             otherIdentifiers.add(new ExceptionIdentifier(IdentifierType.COMPONENT_ID, componentId));
@@ -89,9 +97,9 @@ public class OutboxServiceImpl implements OutboxService {
             List<OutboxEvent> events = null;
             
             if (processedEventIds.isEmpty()) {
-                events = eventRepository.getEventsForComponent(componentId, numberToRead);
+                events = eventRepository.getEventsForComponent(componentId, numberToRead, new Date());
             } else {
-                events = eventRepository.getEventsForComponent(componentId, processedEventIds, numberToRead);
+                events = eventRepository.getEventsForComponent(componentId, processedEventIds, numberToRead, new Date());
             }
     
             for (OutboxEvent event : events) {
@@ -108,25 +116,80 @@ public class OutboxServiceImpl implements OutboxService {
         } 
     }
 
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<OutboxEventDto> claimEventsForComponent(long componentId, int numberToRead, String claimedBy, int leaseSeconds) throws OutboxEventProcessingException {
+        try  {
+            OutboxEventMapper mapper = new OutboxEventMapper();
+            List<OutboxEventDto> eventDtos = new ArrayList<>();
+            
+            // The selected rows stay locked until this transaction commits so other nodes skip them.
+            Date now = new Date();
+            List<OutboxEvent> events = eventRepository.lockUnclaimedEventsForComponent(componentId, numberToRead, now);
+            
+            if (events.isEmpty()) {
+                return eventDtos;
+            }
+            
+            List<Long> eventIds = new ArrayList<>();
+            
+            for (OutboxEvent event : events) {
+                eventIds.add(event.getId());
+                eventDtos.add(mapper.doMapping(event));
+            }
+            
+            Date claimExpires = new Date(now.getTime() + leaseSeconds * 1000L);
+            eventRepository.claimEvents(eventIds, claimedBy, claimExpires);
+            
+            return eventDtos;
+        } catch(DataAccessException e) {
+            throw new OutboxEventProcessingException("Database error while claiming events for component", e).addOtherIdentifier(IdentifierType.COMPONENT_ID, componentId);
+        } 
+    }
+
+    
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void releaseClaim(long eventId, String claimedBy) throws OutboxEventProcessingException {
+        try {
+            eventRepository.releaseClaim(eventId, claimedBy);
+        } catch(DataAccessException e) {
+            throw new OutboxEventProcessingException("Database error while releasing an event claim.", eventId ,e);
+        }
+    }
+
     
     @Override
     public void deleteEvent(long eventId) throws OutboxEventProcessingException, OutboxEventNotFoundException {
         try {
-            boolean eventExists = eventRepository.existsById(eventId);
-            if (!eventExists) {
+            int deleted = eventRepository.deleteEvent(eventId);
+            if (deleted == 0) {
                 throw new OutboxEventNotFoundException(eventId);
             }
-            
-            eventRepository.deleteById(eventId);
         } catch(DataAccessException e) {
             throw new OutboxEventProcessingException("Database error while deleting an event.", eventId ,e);
         }
     }
 
     
+    @Override
+    public int deleteEvents(List<Long> eventIds) throws OutboxEventProcessingException {
+        if (eventIds.isEmpty()) {
+            return 0;
+        }
+        
+        try {
+            return eventRepository.deleteEvents(eventIds);
+        } catch(DataAccessException e) {
+            throw new OutboxEventProcessingException("Database error while deleting a batch of events.", e);
+        }
+    }
+
+    
     @Override
     @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void markEventForRetry(long eventId, IntegrationException theException) throws MessageFlowProcessingException, OutboxEventNotFoundException, OutboxEventProcessingException {
+    public boolean markEventForRetry(long eventId, IntegrationException theException, RetryPolicy retryPolicy) throws MessageFlowProcessingException, OutboxEventNotFoundException, OutboxEventProcessingException {
         try {
             Optional<OutboxEvent> eventOptional =  eventRepository.findById(eventId);
             if (eventOptional.isEmpty()) {
@@ -139,20 +202,98 @@ public class OutboxServiceImpl implements OutboxService {
             event.setRetryCount(++retryCount);
             event.setError(theException.toString());
             
-            Calendar calendar = Calendar.getInstance();
+            boolean retry = !retryPolicy.isExhausted(retryCount);
             
-            if (event.getRetryAfter() == null) {
-                calendar.setTime(new Date());
+            if (retry) {
+                // The delay is always from now.  The previous retry time has already passed.
+                event.setRetryAfter(new Date(System.currentTimeMillis() + retryPolicy.getRetryDelayMillis(retryCount)));
+            } else {
+                LOGGER.warn("Parking event: {} after {} attempts", eventId, retryCount);
+                event.setParkedDate(new Date());
             }
-
-            int delaySeconds = 30 * retryCount;
-            calendar.add(Calendar.SECOND, delaySeconds);
             
-            event.setRetryAfter(calendar.getTime());
+            // Release any claim so the event can be selected again once the retry time has passed.
+            event.setClaimedBy(null);
+            event.setClaimExpires(null);
+            
+            eventRepository.save(event);
             
-            eventRepository.save(event);  
+            return retry;
         } catch(DataAccessException e) {
             throw new OutboxEventProcessingException("Database error while marking the event for retry", eventId, e);
         }
     }
+
+    
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void parkEvent(long eventId, IntegrationException theException) throws OutboxEventNotFoundException, OutboxEventProcessingException {
+        try {
+            Optional<OutboxEvent> eventOptional =  eventRepository.findById(eventId);
+            if (eventOptional.isEmpty()) {
+                throw new OutboxEventNotFoundException(eventId);
+            }
+            
+            OutboxEvent event = eventOptional.get();
+            
+            event.setRetryCount(event.getRetryCount() + 1);
+            event.setError(theException.toString());
+            event.setParkedDate(new Date());
+            event.setClaimedBy(null);
+            event.setClaimExpires(null);
+            
+            eventRepository.save(event);
+        } catch(DataAccessException e) {
+            throw new OutboxEventProcessingException("Database error while parking the event", eventId, e);
+        }
+    }
+
+    
+    @Override
+    public int replayParkedEvents(long componentId) throws OutboxEventProcessingException {
+        try {
+            int replayed = eventRepository.replayParkedEvents(componentId);
+            
+            if (replayed > 0) {
+                eventNotifier.outboxEventRecorded(componentId);
+            }
+            
+            return replayed;
+        } catch(DataAccessException e) {
+            throw new OutboxEventProcessingException("Database error while replaying the parked events", e).addOtherIdentifier(IdentifierType.COMPONENT_ID, componentId);
+        }
+    }
+
+    
+    @Override
+    public Map<Long, Long> getEventCountByComponent() throws OutboxEventProcessingException {
+        try {
+            Map<Long, Long> counts = new HashMap<>();
+            
+            for (Object[] row : eventRepository.countEventsByComponent()) {
+                counts.put(((Number)row[0]).longValue(), ((Number)row[1]).longValue());
+            }
+            
+            return counts;
+        } catch(DataAccessException e) {
+            throw new OutboxEventProcessingException("Database error while counting the events", e);
+        }
+    }
+
+
+    
+    @Override
+    public Map<Long, Long> getParkedEventCountByComponent() throws OutboxEventProcessingException {
+        try {
+            Map<Long, Long> counts = new HashMap<>();
+            
+            for (Object[] row : eventRepository.countParkedEventsByComponent()) {
+                counts.put(((Number)row[0]).longValue(), ((Number)row[1]).longValue());
+            }
+            
+            return counts;
+        } catch(DataAccessException e) {
+            throw new OutboxEventProcessingException("Database error while counting the parked events", e);
+        }
+    }
 }
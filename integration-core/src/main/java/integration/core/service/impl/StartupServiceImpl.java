@@ -12,6 +12,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import integration.core.domain.configuration.IntegrationComponent;
 import integration.core.domain.configuration.IntegrationComponentCategoryEnum;
+import integration.core.domain.configuration.IntegrationComponentProperty;
 import integration.core.domain.configuration.IntegrationComponentStateEnum;
 import integration.core.domain.configuration.IntegrationRoute;
 import integration.core.repository.ComponentRepository;
@@ -88,7 +89,14 @@ public class StartupServiceImpl implements StartupService {
                     }
                     
                     componentRepository.save(integrationComponent);
-                } 
+                } else {
+                    // Properties stored against the component, eg. poll bounds set for a single component, take precedence over the route config.
+                    for (IntegrationComponentProperty property : integrationComponent.getProperties().values()) {
+                        if (property.getEndDate() == null) {
+                            configProperties.put(property.getKey(), property.getValue());
+                        }
+                    }
+                }
 
                 component.setIdentifier(integrationComponent.getId()); 
                 component.setRoute(integrationRoute);
@@ -97,6 +105,7 @@ public class StartupServiceImpl implements StartupService {
                 component.setOutboundState(integrationComponent.getOutboundState());
 
                 component.validateAnnotations();
+                component.bindConfiguredBeans();
             }
         } catch(DataAccessException e) {
             throw new RouteConfigurationException("Database error while configuring a component route association", integrationRoute.getIdentifier(), e);
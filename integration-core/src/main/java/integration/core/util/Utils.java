@@ -1,8 +1,18 @@
 package integration.core.util;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import org.json.JSONObject;
 
@@ -28,4 +38,55 @@ public class Utils {
 
         return map;
     }
+    
+    
+    /**
+     * Returns the lower case hex SHA-256 hash of the UTF-8 bytes of the supplied content.  Matches Postgres 
+     * encode(sha256(convert_to(content, 'UTF8')), 'hex') and MySQL SHA2(content, 256).
+     * 
+     * @param content
+     * @return
+     */
+    public static String sha256Hex(String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch(NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+    
+    
+    /**
+     * GZIP compresses the UTF-8 bytes of the supplied content.
+     * 
+     * @param content
+     * @return
+     */
+    public static byte[] compress(String content) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        } catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        
+        return bytes.toByteArray();
+    }
+    
+    
+    /**
+     * Decompresses content compressed by {@link #compress(String)}.
+     * 
+     * @param compressed
+     * @return
+     */
+    public static String decompress(byte[] compressed) {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
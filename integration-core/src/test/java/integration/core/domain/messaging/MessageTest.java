@@ -0,0 +1,41 @@
+package integration.core.domain.messaging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+import integration.core.domain.configuration.ContentTypeEnum;
+
+/**
+ * Tests for the content hash and compressed storage of a message.
+ */
+public class MessageTest {
+
+    @Test
+    public void testContentHashMatchesDatabaseHash() {
+        Message message = new Message("abc", ContentTypeEnum.TXT);
+
+        // The same value as SHA2('abc', 256) in MySQL and encode(sha256('abc'), 'hex') in Postgres.
+        assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad", message.getContentHash());
+    }
+
+
+    @Test
+    public void testCompressedContentIsDecompressed() {
+        String content = "MSH|^~\\&|APP|FAC|".repeat(500);
+
+        Message message = Message.compressed(content, ContentTypeEnum.HL7);
+        assertNull(message.getStoredContent());
+        assertNotNull(message.getCompressedContent());
+
+        // Simulate loading the message from the database.
+        Message loaded = new Message();
+        loaded.setCompressedContent(message.getCompressedContent());
+        loaded.setContentHash(message.getContentHash());
+
+        assertEquals(content, loaded.getContent());
+        assertEquals(new Message(content, ContentTypeEnum.HL7).getContentHash(), loaded.getContentHash());
+    }
+}
@@ -0,0 +1,49 @@
+package integration.core.dto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the parsed content cache of a message.
+ */
+public class MessageDtoTest {
+
+    @Test
+    public void testContentIsOnlyParsedOnce() {
+        AtomicInteger parseCount = new AtomicInteger();
+
+        MessageDto message = new MessageDto();
+        message.setContent("abc");
+
+        StringBuilder first = message.getParsedContent(StringBuilder.class, content -> {parseCount.incrementAndGet(); return new StringBuilder(content);});
+        StringBuilder second = message.getParsedContent(StringBuilder.class, content -> {parseCount.incrementAndGet(); return new StringBuilder(content);});
+
+        assertSame(first, second);
+        assertEquals(1, parseCount.get());
+
+        // Setting the same content keeps the parsed content.
+        message.setContent("abc");
+        assertSame(first, message.getParsedContent(StringBuilder.class, StringBuilder::new));
+    }
+
+
+    @Test
+    public void testChangedContentIsParsedAgain() {
+        MessageDto message = new MessageDto();
+        message.setContent("abc");
+
+        StringBuilder original = message.getParsedContent(StringBuilder.class, StringBuilder::new);
+
+        message.setContent("xyz");
+        assertEquals("xyz", message.getParsedContent(StringBuilder.class, StringBuilder::new).toString());
+
+        // Parsed content supplied with the new content is used as is.
+        original.append("def");
+        message.setContent("abcdef", original);
+        assertSame(original, message.getParsedContent(StringBuilder.class, StringBuilder::new));
+    }
+}
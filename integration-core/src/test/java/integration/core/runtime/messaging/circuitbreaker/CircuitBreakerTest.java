@@ -0,0 +1,95 @@
+package integration.core.runtime.messaging.circuitbreaker;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Tests for the outbound adapter circuit breaker.
+ */
+class CircuitBreakerTest {
+
+    @Test
+    void testOpensAfterConsecutiveFailures() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(1, "route-adapter", 3, 60000);
+
+        circuitBreaker.recordFailure(new IOException());
+        circuitBreaker.recordFailure(new IOException());
+        circuitBreaker.recordSuccess();
+        circuitBreaker.recordFailure(new IOException());
+        circuitBreaker.recordFailure(new IOException());
+
+        assertEquals(CircuitBreakerState.CLOSED, circuitBreaker.getState());
+        assertEquals(50, circuitBreaker.getPollLimit(50));
+
+        circuitBreaker.recordFailure(new IOException());
+
+        assertEquals(CircuitBreakerState.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.isCallPermitted());
+        assertEquals(0, circuitBreaker.getPollLimit(50));
+        assertNotNull(circuitBreaker.getOpenUntil());
+    }
+
+
+    @Test
+    void testListenerOnlyCalledOnStateChanges() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(1, "route-adapter", 3, 60000);
+
+        List<CircuitBreakerState> changes = new ArrayList<>();
+        circuitBreaker.setChangeListener(status -> changes.add(status.getState()));
+
+        circuitBreaker.recordFailure(new IOException());
+        circuitBreaker.recordFailure(new IOException());
+        circuitBreaker.recordSuccess();
+        circuitBreaker.recordFailure(new IOException());
+        circuitBreaker.recordFailure(new IOException());
+        circuitBreaker.recordFailure(new IOException());
+        circuitBreaker.recordFailure(new IOException());
+        circuitBreaker.reset();
+
+        assertEquals(List.of(CircuitBreakerState.OPEN, CircuitBreakerState.CLOSED), changes);
+    }
+
+
+    @Test
+    void testSingleProbeOnceOpenTimeHasPassed() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(1, "route-adapter", 1, 0);
+
+        circuitBreaker.recordFailure(new IOException());
+        assertEquals(CircuitBreakerState.OPEN, circuitBreaker.getState());
+
+        assertEquals(1, circuitBreaker.getPollLimit(50));
+        assertEquals(CircuitBreakerState.HALF_OPEN, circuitBreaker.getState());
+        assertTrue(circuitBreaker.isCallPermitted());
+
+        // A failed probe opens the circuit again.
+        circuitBreaker.recordFailure(new IOException());
+        assertEquals(CircuitBreakerState.OPEN, circuitBreaker.getState());
+
+        assertEquals(1, circuitBreaker.getPollLimit(50));
+        circuitBreaker.recordSuccess();
+
+        assertEquals(CircuitBreakerState.CLOSED, circuitBreaker.getState());
+        assertEquals(50, circuitBreaker.getPollLimit(50));
+    }
+
+
+    @Test
+    void testNoSecondProbeWhileTheFirstIsOutstanding() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(1, "route-adapter", 1, 60000);
+
+        circuitBreaker.recordFailure(new IOException());
+        ReflectionTestUtils.setField(circuitBreaker, "openedAt", 0L);
+
+        assertEquals(1, circuitBreaker.getPollLimit(50));
+        assertEquals(0, circuitBreaker.getPollLimit(50));
+    }
+}
@@ -0,0 +1,113 @@
+package integration.core.runtime.messaging.component;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Message;
+import org.apache.camel.ProducerTemplate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import integration.core.domain.IdentifierType;
+import integration.core.domain.configuration.IntegrationComponentStateEnum;
+import integration.core.runtime.messaging.component.type.handler.BaseMessageHandlerComponent;
+import integration.core.runtime.messaging.component.type.handler.filter.FilterOutboxEventProcessor;
+import integration.core.runtime.messaging.service.InboxService;
+import integration.core.runtime.messaging.service.MessageFlowService;
+import integration.core.runtime.messaging.service.OutboxService;
+
+/**
+ * Tests for handing a message flow to the consumers in the same route without going through JMS.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class LocalDeliveryOutboxEventProcessorTest {
+    private static final long MESSAGE_FLOW_ID = 70L;
+    private static final long EVENT_ID = 25L;
+
+    @Mock
+    private Exchange exchange;
+
+    @Mock
+    private Message camelMessage;
+
+    @Mock
+    private ProducerTemplate producerTemplate;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private InboxService inboxService;
+
+    @Mock
+    private MessageFlowService messageFlowService;
+
+    @Mock
+    private BaseMessageHandlerComponent producer;
+
+    @Mock
+    private MessageConsumer consumer1;
+
+    @Mock
+    private MessageConsumer consumer2;
+
+    @InjectMocks
+    private FilterOutboxEventProcessor processor;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ReflectionTestUtils.setField(processor, "localDeliveryEnabled", true);
+        processor.setComponent(producer);
+
+        when(exchange.getMessage()).thenReturn(camelMessage);
+        when(camelMessage.getHeader(IdentifierType.MESSAGE_FLOW_ID.name())).thenReturn(MESSAGE_FLOW_ID);
+        when(camelMessage.getHeader(IdentifierType.EVENT_ID.name())).thenReturn(EVENT_ID);
+
+        when(producer.getOwner()).thenReturn("owner");
+        when(producer.getComponentPath()).thenReturn("route.producer");
+        when(producer.getMessageConsumers()).thenReturn(List.of(consumer1, consumer2));
+
+        when(consumer1.getIdentifier()).thenReturn(1L);
+        when(consumer2.getIdentifier()).thenReturn(2L);
+    }
+
+
+    @Test
+    void testDeliveredLocallyWhenAllConsumersAreRunning() throws Exception {
+        when(consumer1.getInboundState()).thenReturn(IntegrationComponentStateEnum.RUNNING);
+        when(consumer2.getInboundState()).thenReturn(IntegrationComponentStateEnum.RUNNING);
+
+        processor.process(exchange);
+
+        verify(outboxService).deleteEvent(EVENT_ID);
+        verify(inboxService).recordLocalEvents(MESSAGE_FLOW_ID, List.of(1L, 2L), "owner");
+        verify(producerTemplate, never()).sendBody(anyString(), anyLong());
+    }
+
+
+    @Test
+    void testSentViaJMSWhenAConsumerIsStopped() throws Exception {
+        when(consumer1.getInboundState()).thenReturn(IntegrationComponentStateEnum.RUNNING);
+        when(consumer2.getInboundState()).thenReturn(IntegrationComponentStateEnum.STOPPED);
+
+        processor.process(exchange);
+
+        verify(producerTemplate).sendBody("jms:topic:VirtualTopic.route.producer", MESSAGE_FLOW_ID);
+        verify(inboxService, never()).recordLocalEvents(anyLong(), anyList(), anyString());
+    }
+}
@@ -0,0 +1,65 @@
+package integration.core.runtime.messaging.dispatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the adaptive poll batch size and interval.
+ */
+class AdaptivePollControllerTest {
+
+    @Test
+    void testBatchGrowsWhileThereIsABacklog() {
+        AdaptivePollController controller = new AdaptivePollController(50, 10, 150, 300, 10000);
+
+        controller.recordPoll(50, 50);
+        assertEquals(100, controller.getBatchSize());
+
+        controller.recordPoll(100, 100);
+        assertEquals(150, controller.getBatchSize());
+        assertEquals(300, controller.getIntervalMillis());
+    }
+
+
+    @Test
+    void testBatchDoesNotGrowWhenLimitedByCapacity() {
+        AdaptivePollController controller = new AdaptivePollController(50, 10, 500, 300, 10000);
+
+        controller.recordPoll(20, 20);
+        assertEquals(50, controller.getBatchSize());
+
+        controller.recordPoll(30, 50);
+        assertEquals(50, controller.getBatchSize());
+    }
+
+
+    @Test
+    void testBacksOffWhenIdle() {
+        AdaptivePollController controller = new AdaptivePollController(50, 10, 500, 300, 1000);
+        assertTrue(controller.isDue());
+
+        controller.recordPoll(0, 50);
+        assertEquals(600, controller.getIntervalMillis());
+        assertEquals(25, controller.getBatchSize());
+        assertFalse(controller.isDue());
+
+        controller.recordPoll(0, 25);
+        controller.recordPoll(0, 12);
+        assertEquals(1000, controller.getIntervalMillis());
+        assertEquals(10, controller.getBatchSize());
+
+        // Any events bring the interval straight back down.
+        controller.recordPoll(1, 10);
+        assertEquals(300, controller.getIntervalMillis());
+    }
+
+
+    @Test
+    void testInvalidBounds() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptivePollController(50, 100, 10, 300, 1000));
+    }
+}
@@ -0,0 +1,79 @@
+package integration.core.runtime.messaging.dispatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the fair share and backpressure calculations of the event dispatcher.
+ */
+public class EventDispatcherTest {
+
+    private EventDispatcher dispatcher;
+
+    @BeforeEach
+    public void setUp() {
+        dispatcher = new EventDispatcher(2, 4, 5);
+        dispatcher.EventDispatcherInit();
+    }
+
+
+    @AfterEach
+    public void tearDown() {
+        dispatcher.shutdown();
+    }
+
+
+    @Test
+    public void testComponentQuotaIsFairShare() {
+        // A single component is capped by the component limit.
+        dispatcher.register(1L);
+        assertEquals(5, dispatcher.getComponentQuota());
+
+        // Three components share the total capacity of 6.
+        dispatcher.register(2L);
+        dispatcher.register(3L);
+        assertEquals(2, dispatcher.getComponentQuota());
+    }
+
+
+    @Test
+    public void testCapacityReducedByInFlightEvents() throws InterruptedException {
+        dispatcher.register(1L);
+
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(3);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(dispatcher.dispatch(1L, () -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    finished.countDown();
+                }
+            }, null));
+        }
+
+        assertEquals(3, dispatcher.getInFlight(1L));
+        assertEquals(2, dispatcher.getAvailableCapacity(1L));
+
+        release.countDown();
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+
+        // The counters are decremented after the task completes.
+        for (int i = 0; i < 50 && dispatcher.getTotalInFlight() > 0; i++) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(0, dispatcher.getTotalInFlight());
+        assertEquals(5, dispatcher.getAvailableCapacity(1L));
+    }
+}
@@ -0,0 +1,95 @@
+package integration.core.runtime.messaging.retention;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import integration.core.domain.configuration.ContentTypeEnum;
+import integration.core.domain.messaging.Message;
+import integration.core.domain.messaging.MessageFlowActionType;
+import integration.core.runtime.messaging.repository.MessageFlowRetentionRepository;
+
+/**
+ * Tests for writing a day of message flow groups to a compressed archive.
+ */
+@ExtendWith(MockitoExtension.class)
+class MessageFlowArchiverTest {
+
+    @Mock
+    private MessageFlowRetentionRepository retentionRepository;
+
+    @InjectMocks
+    private MessageFlowArchiver archiver;
+
+    @Test
+    void testGroupsAreWrittenOnePerLine(@TempDir Path archiveDirectory) throws Exception {
+        ReflectionTestUtils.setField(archiver, "archiveDirectory", archiveDirectory.toString());
+        ReflectionTestUtils.setField(archiver, "batchSize", 10);
+
+        Message message = new Message("MSH|^~\\&|", ContentTypeEnum.HL7);
+        message.setId(100L);
+
+        when(retentionRepository.getGroupIds(any(Date.class), any(Date.class), anyLong(), any(Pageable.class))).thenReturn(List.of(1L, 2L));
+        when(retentionRepository.getMessageFlows(List.of(1L, 2L))).thenReturn(List.of(
+                new Object[] {10L, 1L, null, 5L, MessageFlowActionType.INGESTED, new Date(), 100L},
+                new Object[] {11L, 1L, 10L, 6L, MessageFlowActionType.MESSAGE_FORWARDED, new Date(), 100L},
+                new Object[] {20L, 2L, null, 5L, MessageFlowActionType.INGESTED, new Date(), 100L}));
+        when(retentionRepository.getMessages(List.of(100L))).thenReturn(List.of(message));
+        when(retentionRepository.getProperties(anyList())).thenReturn(List.<Object[]>of(new Object[] {10L, "CamelFileName", "a.hl7"}));
+        when(retentionRepository.getErrors(anyList())).thenReturn(List.of());
+        when(retentionRepository.getFiltered(anyList())).thenReturn(List.of());
+        when(retentionRepository.getParkedOutboxEvents(anyList())).thenReturn(List.<Object[]>of(new Object[] {11L, 50L, 6L, 5, new Date(), "Connection refused"}));
+        when(retentionRepository.getParkedInboxEvents(anyList())).thenReturn(List.of());
+
+        LocalDate day = LocalDate.of(2026, 1, 15);
+
+        assertEquals(2, archiver.archive(day));
+
+        Path archive = archiver.getArchive(day);
+        assertTrue(Files.exists(archive));
+        assertFalse(Files.exists(archive.resolveSibling(archive.getFileName() + ".partial")));
+
+        List<String> lines;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(Files.newInputStream(archive)), StandardCharsets.UTF_8))) {
+            lines = reader.lines().toList();
+        }
+
+        assertEquals(2, lines.size());
+
+        JSONObject group = new JSONObject(lines.get(0));
+        JSONArray messageFlows = group.getJSONArray("messageFlows");
+
+        assertEquals(1L, group.getLong("groupId"));
+        assertEquals(2, messageFlows.length());
+        assertEquals("MSH|^~\\&|", messageFlows.getJSONObject(0).getString("content"));
+        assertEquals("a.hl7", messageFlows.getJSONObject(0).getJSONObject("properties").getString("CamelFileName"));
+        assertEquals(10L, messageFlows.getJSONObject(1).getLong("parentMessageFlowId"));
+        assertFalse(messageFlows.getJSONObject(0).has("parkedEvents"));
+        assertEquals("Connection refused", messageFlows.getJSONObject(1).getJSONArray("parkedEvents").getJSONObject(0).getString("error"));
+    }
+}
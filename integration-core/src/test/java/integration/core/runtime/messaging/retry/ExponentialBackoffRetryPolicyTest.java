@@ -0,0 +1,54 @@
+package integration.core.runtime.messaging.retry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the exponential backoff retry policy.
+ */
+class ExponentialBackoffRetryPolicyTest {
+
+    @Test
+    void testDelayGrowsUntilTheMaximum() {
+        ExponentialBackoffRetryPolicy policy = new ExponentialBackoffRetryPolicy(1000, 2, 5000, 10, 0);
+
+        assertEquals(1000, policy.getRetryDelayMillis(1));
+        assertEquals(2000, policy.getRetryDelayMillis(2));
+        assertEquals(4000, policy.getRetryDelayMillis(3));
+        assertEquals(5000, policy.getRetryDelayMillis(4));
+        assertEquals(5000, policy.getRetryDelayMillis(1000));
+    }
+
+
+    @Test
+    void testJitterOnlyShortensTheDelay() {
+        ExponentialBackoffRetryPolicy policy = new ExponentialBackoffRetryPolicy(1000, 2, 60000, 10, 0.5);
+
+        for (int i = 0; i < 100; i++) {
+            long delay = policy.getRetryDelayMillis(3);
+            assertTrue(delay >= 2000 && delay <= 4000, "Delay out of range: " + delay);
+        }
+    }
+
+
+    @Test
+    void testExhaustedAfterMaxAttempts() {
+        ExponentialBackoffRetryPolicy policy = new ExponentialBackoffRetryPolicy(1000, 2, 5000, 3, 0);
+
+        assertFalse(policy.isExhausted(2));
+        assertTrue(policy.isExhausted(3));
+
+        ExponentialBackoffRetryPolicy neverParks = new ExponentialBackoffRetryPolicy(1000, 2, 5000, 0, 0);
+        assertFalse(neverParks.isExhausted(Integer.MAX_VALUE));
+    }
+
+
+    @Test
+    void testInvalidJitter() {
+        assertThrows(IllegalArgumentException.class, () -> new ExponentialBackoffRetryPolicy(1000, 2, 5000, 3, 1.5));
+    }
+}
@@ -0,0 +1,107 @@
+package integration.core.runtime.messaging.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.ignite.Ignite;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import integration.core.domain.messaging.MessageFlow;
+import integration.core.runtime.messaging.repository.MessageFlowRepository;
+import integration.core.runtime.messaging.service.impl.MessageFlowPropertyServiceImpl;
+
+/**
+ * Tests for resolving the effective properties of a message flow from the properties stored against it and its parents.
+ */
+@ExtendWith(MockitoExtension.class)
+class MessageFlowPropertyServiceImplTest {
+
+    @Mock
+    private MessageFlowRepository messageFlowRepository;
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private Ignite ignite;
+
+    @InjectMocks
+    private MessageFlowPropertyServiceImpl propertyService;
+
+    private MessageFlow child;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(propertyService, "cacheSize", 100);
+        propertyService.MessageFlowPropertyServiceImplInit();
+
+        MessageFlow root = createMessageFlow(1L, null);
+        root.addOrUpdateProperty("CamelFileName", "original.txt");
+        root.addOrUpdateProperty("source", "inbound");
+
+        // A message flow with no properties of its own.
+        MessageFlow middle = createMessageFlow(2L, root);
+
+        child = createMessageFlow(3L, middle);
+        child.addOrUpdateProperty("CamelFileName", "renamed.txt");
+    }
+
+
+    @Test
+    void testChildOverridesParentProperties() throws Exception {
+        when(messageFlowRepository.findById(3L)).thenReturn(Optional.of(child));
+
+        Map<String, String> properties = propertyService.getEffectiveProperties(3L);
+
+        assertEquals(2, properties.size());
+        assertEquals("renamed.txt", properties.get("CamelFileName"));
+        assertEquals("inbound", properties.get("source"));
+    }
+
+
+    @Test
+    void testAncestorsAreCached() throws Exception {
+        when(messageFlowRepository.findById(3L)).thenReturn(Optional.of(child));
+
+        propertyService.getEffectiveProperties(3L);
+
+        // The parents were resolved while resolving the child so no further lookups are required.
+        assertEquals("original.txt", propertyService.getPropertyValue("CamelFileName", 2L));
+        assertNull(propertyService.getPropertyValue("missing", 1L));
+        assertEquals("renamed.txt", propertyService.getPropertyValue("CamelFileName", 3L));
+
+        verify(messageFlowRepository, times(1)).findById(3L);
+    }
+
+
+    @Test
+    void testAddingAPropertyClearsTheCache() throws Exception {
+        when(messageFlowRepository.findById(3L)).thenReturn(Optional.of(child));
+
+        propertyService.getEffectiveProperties(3L);
+        propertyService.addProperty("source", "outbound", 3L);
+
+        assertEquals("outbound", propertyService.getPropertyValue("source", 3L));
+
+        verify(messageFlowRepository, times(3)).findById(3L);
+    }
+
+
+    private MessageFlow createMessageFlow(long id, MessageFlow parent) {
+        MessageFlow messageFlow = new MessageFlow();
+        messageFlow.setId(id);
+        messageFlow.setParentMessageFlow(parent);
+
+        return messageFlow;
+    }
+}
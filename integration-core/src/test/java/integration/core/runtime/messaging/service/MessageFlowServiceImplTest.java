@@ -0,0 +1,127 @@
+package integration.core.runtime.messaging.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import integration.core.domain.configuration.ContentTypeEnum;
+import integration.core.domain.configuration.IntegrationComponent;
+import integration.core.domain.messaging.Message;
+import integration.core.domain.messaging.MessageFlow;
+import integration.core.domain.messaging.MessageFlowActionType;
+import integration.core.domain.messaging.MessageFlowGroup;
+import integration.core.domain.messaging.OutboxEvent;
+import integration.core.repository.ComponentRepository;
+import integration.core.runtime.messaging.component.type.handler.filter.MessageFlowPolicyResult;
+import integration.core.runtime.messaging.dispatch.EventNotifier;
+import integration.core.runtime.messaging.exception.nonretryable.MessageFlowNotFoundException;
+import integration.core.runtime.messaging.exception.retryable.MessageFlowProcessingException;
+import integration.core.runtime.messaging.repository.MessageFlowRepository;
+import integration.core.runtime.messaging.repository.OutboxEventRepository;
+import integration.core.runtime.messaging.service.impl.MessageFlowServiceImpl;
+
+/**
+ * Tests for the single statement message flow action update and the bulk split.
+ */
+@ExtendWith(MockitoExtension.class)
+class MessageFlowServiceImplTest {
+
+    @Mock
+    private MessageFlowRepository messageFlowRepository;
+
+    @Mock
+    private ComponentRepository componentRepository;
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private EventNotifier eventNotifier;
+
+    @InjectMocks
+    private MessageFlowServiceImpl messageFlowService;
+
+
+    @Test
+    void testUpdateToForwardedDoesNotLoadTheMessageFlow() throws Exception {
+        when(messageFlowRepository.updateAction(List.of(1L), MessageFlowActionType.MESSAGE_PENDING_FORWARDING, MessageFlowActionType.MESSAGE_FORWARDED)).thenReturn(1);
+
+        messageFlowService.updatePendingForwardingToForwardedAction(1L);
+
+        verify(messageFlowRepository, never()).findById(1L);
+        verify(messageFlowRepository, never()).existsById(1L);
+    }
+
+
+    @Test
+    void testUpdateToForwardedWithWrongAction() {
+        when(messageFlowRepository.updateAction(List.of(1L), MessageFlowActionType.MESSAGE_PENDING_FORWARDING, MessageFlowActionType.MESSAGE_FORWARDED)).thenReturn(0);
+        when(messageFlowRepository.existsById(1L)).thenReturn(true);
+
+        assertThrows(MessageFlowProcessingException.class, () -> messageFlowService.updatePendingForwardingToForwardedAction(1L));
+    }
+
+
+    @Test
+    void testUpdateToForwardedWithMissingMessageFlow() {
+        when(messageFlowRepository.updateAction(List.of(1L), MessageFlowActionType.MESSAGE_PENDING_FORWARDING, MessageFlowActionType.MESSAGE_FORWARDED)).thenReturn(0);
+        when(messageFlowRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(MessageFlowNotFoundException.class, () -> messageFlowService.updatePendingForwardingToForwardedAction(1L));
+    }
+
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSplitRecordsAllMessageFlowsAndEventsTogether() throws Exception {
+        Message message = new Message("MSH|^~\\&|", ContentTypeEnum.HL7);
+        IntegrationComponent component = new IntegrationComponent();
+
+        MessageFlow parent = new MessageFlow();
+        parent.setId(1L);
+        parent.setMessage(message);
+        new MessageFlowGroup().addMessageFlow(parent);
+
+        when(messageFlowRepository.findById(1L)).thenReturn(Optional.of(parent));
+        when(componentRepository.findById(5L)).thenReturn(Optional.of(component));
+
+        long[] nextId = {100};
+        when(messageFlowRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<MessageFlow> messageFlows = invocation.getArgument(0);
+            messageFlows.forEach(messageFlow -> messageFlow.setId(nextId[0]++));
+            return messageFlows;
+        });
+
+        List<Long> ids = messageFlowService.recordSplitMessageFlows(5L, 1L, 3, new MessageFlowPolicyResult(true), 2L, "owner");
+
+        assertEquals(List.of(103L, 104L, 105L), ids);
+
+        ArgumentCaptor<List<OutboxEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(outboxEventRepository).saveAll(events.capture());
+        verify(eventNotifier, times(1)).outboxEventRecorded(5L);
+        verify(messageFlowRepository, times(1)).findById(1L);
+
+        assertEquals(3, events.getValue().size());
+
+        MessageFlow pendingForwarding = events.getValue().get(0).getMessageFlow();
+        assertEquals(MessageFlowActionType.MESSAGE_PENDING_FORWARDING, pendingForwarding.getAction());
+        assertEquals(MessageFlowActionType.CREATED_FROM_SPLIT, pendingForwarding.getParentMessageFlow().getAction());
+        assertSame(parent, pendingForwarding.getParentMessageFlow().getParentMessageFlow());
+        assertSame(message, pendingForwarding.getMessage());
+    }
+}
@@ -16,7 +16,7 @@ public class SplitBasedOnOBX extends MessageSplitter {
     @Override
     public int splitMessage(MessageFlowDto messageFlow) throws SplitterException {
         try {
-            HL7Message hl7Message = new HL7Message(messageFlow.getMessage().getContent());
+            HL7Message hl7Message = messageFlow.getParsedMessage(HL7Message.class, HL7Message::new);
             
             return hl7Message.getSegmentCount("OBX");
         } catch (Exception e) {
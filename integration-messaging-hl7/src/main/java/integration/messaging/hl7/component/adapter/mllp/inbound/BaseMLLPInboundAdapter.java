@@ -7,6 +7,7 @@ import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 
 import integration.core.domain.IdentifierType;
 import integration.core.domain.configuration.ContentTypeEnum;
@@ -20,11 +21,15 @@ import integration.core.runtime.messaging.component.type.adapter.inbound.BaseInb
 import integration.core.runtime.messaging.exception.nonretryable.ComponentConfigurationException;
 import integration.core.runtime.messaging.exception.nonretryable.RouteConfigurationException;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 
 /**
  * Base class for all MLLP/HL7 inbound adapters.  his components reads the
  * HL7 message, stores it, writes an event and returns an ACK to the sender.
  * 
+ * With group commit enabled (integration.mllp.inbound.group-commit.enabled) messages arriving at the same time are stored in a
+ * single transaction.  See {@link MLLPGroupCommitProcessor}.
+ * 
  * @author Brendan Douglas
  *
  */
@@ -42,10 +47,23 @@ public abstract class BaseMLLPInboundAdapter extends BaseInboundAdapter {
     @Autowired
     private MLLPInboundAdapterOutboxEventProcessor outboxEventProcessor;
     
+    @Autowired
+    private MLLPGroupCommitProcessor groupCommitProcessor;
+    
+    @Value("${integration.mllp.inbound.group-commit.enabled:false}")
+    private boolean groupCommitEnabled;
+    
     @PostConstruct
     public void BaseMllpInboundAdapterInit() {
         inboxEventProcessor.setComponent(this);
         outboxEventProcessor.setComponent(this);
+        groupCommitProcessor.setComponent(this);
+    }
+    
+    
+    @PreDestroy
+    public void BaseMllpInboundAdapterDestroy() {
+        groupCommitProcessor.stop();
     }
    
     @Override
@@ -82,6 +100,11 @@ public abstract class BaseMLLPInboundAdapter extends BaseInboundAdapter {
     
     @Override
     public void configureIngressRoutes() throws ComponentConfigurationException, RouteConfigurationException {
+        if (groupCommitEnabled) {
+            configureGroupCommitIngressRoute();
+            return;
+        }
+        
         from(getFromUriString())
         .routeId("ingress-" + getIdentifier())
         .setHeader("contentType", constant(getContentType()))
@@ -110,5 +133,26 @@ public abstract class BaseMLLPInboundAdapter extends BaseInboundAdapter {
                 messageFlowService.recordNewContentMessageFlow(ackContent, getIdentifier(), inboundMessageFlowId, ContentTypeEnum.HL7_ACK, MessageFlowActionType.ACKNOWLEDGMENT_SENT);
             });
     }
+    
+    
+    /**
+     * The ACK is created first so the message, inbox event and ACK can all be stored by the group commit.  The route is not transacted
+     * as the group commit processor manages the transactions.
+     * 
+     * @throws ComponentConfigurationException
+     * @throws RouteConfigurationException
+     */
+    protected void configureGroupCommitIngressRoute() throws ComponentConfigurationException, RouteConfigurationException {
+        groupCommitProcessor.start();
+        
+        from(getFromUriString())
+        .routeId("ingress-" + getIdentifier())
+        .setHeader("contentType", constant(getContentType()))
+        .routeGroup(getComponentPath())
+        .autoStartup(inboundState == IntegrationComponentStateEnum.RUNNING)
+            .setProperty(MLLPGroupCommitProcessor.INBOUND_CONTENT, body())
+            .transform(ack())
+            .process(groupCommitProcessor);
+    }
 }
 
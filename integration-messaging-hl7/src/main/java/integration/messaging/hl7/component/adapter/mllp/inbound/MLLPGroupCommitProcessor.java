@@ -0,0 +1,320 @@
+package integration.messaging.hl7.component.adapter.mllp.inbound;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.camel.Exchange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+import integration.core.domain.IdentifierType;
+import integration.core.domain.configuration.ContentTypeEnum;
+import integration.core.domain.messaging.MessageFlowActionType;
+import integration.core.runtime.messaging.component.BaseMessageFlowProcessor;
+import integration.core.runtime.messaging.service.InboxService;
+
+/**
+ * Stores the messages received by an MLLP inbound adapter in groups so many messages share a single database transaction.
+ *
+ * Each receiving thread queues its message and waits.  A single committer thread collects the queued messages until either the window has
+ * passed or the group is full and stores them all in one transaction.  The receiving threads are only released, and so the ACKs only
+ * returned to the senders, once the group has been committed.  If a group fails the messages are stored again one at a time so one bad
+ * message does not fail the others.
+ *
+ * A receiving thread waits at most the timeout for its group to be committed.  A message which times out before the committer has taken it
+ * is never stored so no ACK is returned and the sender resends it.  When the processor is stopped the waiting messages are failed.
+ *
+ * @author Brendan Douglas
+ */
+@Component
+@Scope(value = ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+public class MLLPGroupCommitProcessor extends BaseMessageFlowProcessor<BaseMLLPInboundAdapter> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MLLPGroupCommitProcessor.class);
+
+    /**
+     * The exchange property holding the received message.  The body holds the ACK.
+     */
+    public static final String INBOUND_CONTENT = "inboundContent";
+
+    @Autowired
+    private InboxService inboxService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${integration.mllp.inbound.group-commit.window:2}")
+    private long windowMillis;
+
+    @Value("${integration.mllp.inbound.group-commit.max-messages:64}")
+    private int maxMessages;
+
+    @Value("${integration.mllp.inbound.group-commit.timeout:30000}")
+    private long timeoutMillis;
+
+    private final BlockingQueue<PendingMessage> queue = new LinkedBlockingQueue<>();
+
+    private Thread committer;
+
+    private volatile boolean running;
+
+
+    @Override
+    public void process(Exchange exchange) throws Exception {
+        String inboundContent = exchange.getProperty(INBOUND_CONTENT, String.class);
+        String ackContent = exchange.getMessage().getBody(String.class);
+
+        PendingMessage message = new PendingMessage(inboundContent, new HashMap<>(exchange.getMessage().getHeaders()), ackContent);
+        queue.add(message);
+
+        // Stopped after the message was queued so nothing will take it.
+        if (!running) {
+            failPending();
+        }
+
+        Long messageFlowId = null;
+
+        try {
+            messageFlowId = awaitResult(message);
+        } catch(ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+
+            throw e;
+        }
+
+        exchange.getMessage().setHeader(IdentifierType.MESSAGE_FLOW_ID.name(), messageFlowId);
+    }
+
+
+    /**
+     * Waits for the message to be committed.  On a timeout the message is failed unless the committer completed it in the meantime.
+     *
+     * @param message
+     * @return the message flow id.
+     * @throws Exception
+     */
+    private Long awaitResult(PendingMessage message) throws Exception {
+        try {
+            return message.result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch(TimeoutException e) {
+            message.result.completeExceptionally(new TimeoutException("Group commit timed out after " + timeoutMillis + "ms for component: " + component.getIdentifier()));
+            return message.result.get();
+        }
+    }
+
+
+    /**
+     * Starts the committer thread.
+     */
+    public synchronized void start() {
+        if (committer != null) {
+            return;
+        }
+
+        running = true;
+
+        committer = new Thread(this::commitGroups, "mllp-group-commit-" + component.getIdentifier());
+        committer.setDaemon(true);
+        committer.start();
+
+        LOGGER.info("Group commit started for component: {}. Window: {}ms, max messages: {}", component.getIdentifier(), windowMillis, maxMessages);
+    }
+
+
+    /**
+     * Stops the committer thread and fails the messages still waiting to be stored.  A group already being stored is completed.
+     */
+    public synchronized void stop() {
+        running = false;
+
+        if (committer != null) {
+            committer.interrupt();
+            committer = null;
+        }
+
+        failPending();
+    }
+
+
+    private void commitGroups() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                List<PendingMessage> group;
+
+                try {
+                    group = nextGroup();
+                } catch(InterruptedException e) {
+                    return;
+                }
+
+                try {
+                    commit(group);
+                } catch(Throwable e) {
+                    LOGGER.error("Group commit failed for component: {}", component.getIdentifier(), e);
+
+                    for (PendingMessage message : group) {
+                        message.result.completeExceptionally(e);
+                    }
+                }
+            }
+        } finally {
+            failPending();
+        }
+    }
+
+
+    /**
+     * Fails the messages which have been queued but not taken by the committer.
+     */
+    private void failPending() {
+        List<PendingMessage> pending = new ArrayList<>();
+        queue.drainTo(pending);
+
+        for (PendingMessage message : pending) {
+            message.result.completeExceptionally(new IllegalStateException("Group commit stopped for component: " + component.getIdentifier()));
+        }
+    }
+
+
+    /**
+     * Waits for a message and then collects any further messages which arrive within the window.
+     *
+     * @return
+     * @throws InterruptedException
+     */
+    private List<PendingMessage> nextGroup() throws InterruptedException {
+        List<PendingMessage> group = new ArrayList<>(maxMessages);
+        group.add(queue.take());
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(windowMillis);
+
+        while (group.size() < maxMessages) {
+            long remaining = deadline - System.nanoTime();
+
+            if (remaining <= 0) {
+                queue.drainTo(group, maxMessages - group.size());
+                break;
+            }
+
+            PendingMessage message;
+
+            try {
+                message = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            } catch(InterruptedException e) {
+                // Stopping.  Store the messages already taken and then exit.
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            if (message == null) {
+                break;
+            }
+
+            group.add(message);
+        }
+
+        return group;
+    }
+
+
+    private void commit(List<PendingMessage> group) {
+
+        // Messages which timed out while waiting in the queue are not stored.
+        group.removeIf(message -> message.result.isDone());
+
+        if (group.isEmpty()) {
+            return;
+        }
+
+        try {
+            store(group);
+
+            for (PendingMessage message : group) {
+                message.result.complete(message.messageFlowId);
+            }
+        } catch(Throwable e) {
+            if (group.size() == 1) {
+                group.get(0).result.completeExceptionally(e);
+                return;
+            }
+
+            LOGGER.warn("Group commit of {} messages failed for component: {}.  Storing them one at a time", group.size(), component.getIdentifier(), e);
+
+            for (PendingMessage message : group) {
+                try {
+                    store(List.of(message));
+                    message.result.complete(message.messageFlowId);
+                } catch(Throwable messageException) {
+                    message.result.completeExceptionally(messageException);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Stores the messages, inbox events and ACKs in a single transaction.
+     *
+     * @param messages
+     * @throws Exception
+     */
+    private void store(List<PendingMessage> messages) throws Exception {
+        TransactionStatus status = transactionManager.getTransaction(new DefaultTransactionDefinition());
+
+        try {
+            for (PendingMessage message : messages) {
+                Long messageFlowId = messageFlowService.recordInitialMessageFlow(message.inboundContent, component.getIdentifier(), component.getContentType(), message.headers, MessageFlowActionType.INGESTED);
+
+                inboxService.recordEvent(messageFlowId, component.getIdentifier(), component.getRoute().getIdentifier(), component.getOwner());
+
+                messageFlowService.recordNewContentMessageFlow(message.ackContent, component.getIdentifier(), messageFlowId, ContentTypeEnum.HL7_ACK, MessageFlowActionType.ACKNOWLEDGMENT_SENT);
+
+                message.messageFlowId = messageFlowId;
+            }
+
+            transactionManager.commit(status);
+        } catch(Exception e) {
+            if (!status.isCompleted()) {
+                transactionManager.rollback(status);
+            }
+
+            throw e;
+        }
+    }
+
+
+    /**
+     * A received message waiting to be stored.
+     */
+    private static class PendingMessage {
+        private final String inboundContent;
+        private final Map<String, Object> headers;
+        private final String ackContent;
+        private final CompletableFuture<Long> result = new CompletableFuture<>();
+
+        private Long messageFlowId;
+
+        private PendingMessage(String inboundContent, Map<String, Object> headers, String ackContent) {
+            this.inboundContent = inboundContent;
+            this.headers = headers;
+            this.ackContent = ackContent;
+        }
+    }
+}
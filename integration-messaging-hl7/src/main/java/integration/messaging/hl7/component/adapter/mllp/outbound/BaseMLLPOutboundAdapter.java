@@ -1,11 +1,13 @@
 package integration.messaging.hl7.component.adapter.mllp.outbound;
 
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 
 import integration.core.domain.configuration.ContentTypeEnum;
 import integration.core.domain.configuration.IntegrationComponentTypeEnum;
@@ -17,11 +19,23 @@ import integration.core.runtime.messaging.component.type.adapter.annotation.Adap
 import integration.core.runtime.messaging.component.type.adapter.outbound.BaseOutboundAdapter;
 import integration.core.runtime.messaging.component.type.adapter.outbound.BaseOutboundAdapterInboxEventProcessor;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 
 /**
  * Base class for all MLLP/HL7 Outbound adapter.
+ * 
+ * Messages are sent using a pool of persistent connections to the target.  By default each connection waits for the acknowledgement
+ * before sending the next message.  In pipelined mode (integration.mllp.outbound.mode=pipelined) several messages are sent on each
+ * connection before their acknowledgements are received.  Pipelined mode needs claim based event selection as the outbox event
+ * stays claimed until the acknowledgement arrives.
  */
 @AdapterOption(key = "sync", value = "true")
+@AdapterOption(key = "keepAlive", value = "true")
+@AdapterOption(key = "connectTimeout", value = "${integration.mllp.outbound.connect-timeout:10000}")
+@AdapterOption(key = "producerPoolMaxTotal", value = "${integration.mllp.outbound.pool.max-total:5}")
+@AdapterOption(key = "producerPoolMinIdle", value = "${integration.mllp.outbound.pool.min-idle:1}")
+@AdapterOption(key = "producerPoolMaxIdle", value = "${integration.mllp.outbound.pool.max-idle:5}")
+@AdapterOption(key = "producerPoolMinEvictableIdle", value = "${integration.mllp.outbound.pool.min-evictable-idle:300000}")
 @AdapterOption(key = "encoders", value = "#hl7encoder")
 @AdapterOption(key = "decoders", value = "#hl7decoder")
 @AllowedContentType(ContentTypeEnum.HL7)
@@ -37,6 +51,34 @@ public abstract class BaseMLLPOutboundAdapter extends BaseOutboundAdapter {
     
     
     protected List<MessageConsumer> messageConsumers = new ArrayList<>();
+    
+    @Value("${integration.mllp.outbound.reconnect.initial-backoff:1000}")
+    private long initialReconnectBackoff;
+    
+    @Value("${integration.mllp.outbound.reconnect.max-backoff:60000}")
+    private long maxReconnectBackoff;
+    
+    @Value("${integration.mllp.outbound.mode:strict}")
+    private String mode;
+    
+    @Value("${integration.mllp.outbound.pipeline.connections:1}")
+    private int pipelineConnections;
+    
+    @Value("${integration.mllp.outbound.pipeline.window:10}")
+    private int pipelineWindow;
+    
+    @Value("${integration.mllp.outbound.pipeline.acknowledgement-timeout:30000}")
+    private long acknowledgementTimeout;
+    
+    @Value("${integration.mllp.outbound.connect-timeout:10000}")
+    private int connectTimeout;
+    
+    @Value("${integration.mllp.outbound.pipeline.charset:UTF-8}")
+    private String pipelineCharset;
+    
+    private MLLPOutboundEndpoint outboundEndpoint;
+    
+    private MLLPPipelinedEndpoint pipelinedEndpoint;
 
     @Override
     public void addMessageProducer(MessageProducer messageProducer) {
@@ -51,6 +93,27 @@ public abstract class BaseMLLPOutboundAdapter extends BaseOutboundAdapter {
     public void BaseMllpOutboundAdapterInit() {
         ouboxEventProcessor.setComponent(this);
         inboxEventProcessor.setComponent(this);
+        
+        outboundEndpoint = new MLLPOutboundEndpoint(this, camelContext, new ReconnectBackoff(initialReconnectBackoff, maxReconnectBackoff));
+        
+        if ("pipelined".equalsIgnoreCase(mode)) {
+            if (isClaimBasedEventSelection()) {
+                pipelinedEndpoint = new MLLPPipelinedEndpoint(this, pipelineConnections, pipelineWindow, acknowledgementTimeout, connectTimeout, 
+                        Charset.forName(pipelineCharset), new ReconnectBackoff(initialReconnectBackoff, maxReconnectBackoff));
+            } else {
+                LOGGER.warn("Pipelined MLLP sending needs claim based event selection.  Messages will be sent one at a time");
+            }
+        }
+    }
+    
+    
+    @PreDestroy
+    public void BaseMllpOutboundAdapterDestroy() {
+        outboundEndpoint.close();
+        
+        if (pipelinedEndpoint != null) {
+            pipelinedEndpoint.close();
+        }
     }
 
     
@@ -70,6 +133,21 @@ public abstract class BaseMLLPOutboundAdapter extends BaseOutboundAdapter {
     }
 
     
+    public MLLPOutboundEndpoint getOutboundEndpoint() {
+        return outboundEndpoint;
+    }
+
+    
+    /**
+     * The pipelined endpoint or null when messages are sent one at a time.
+     * 
+     * @return
+     */
+    public MLLPPipelinedEndpoint getPipelinedEndpoint() {
+        return pipelinedEndpoint;
+    }
+
+    
     @Override
     public MLLPOutboundAdapterOutboxEventProcessor getOutboxEventProcessor() {
         return ouboxEventProcessor;
@@ -0,0 +1,14 @@
+package integration.messaging.hl7.component.adapter.mllp.outbound;
+
+/**
+ * Thrown when the target of a pipelined MLLP send rejects a message.
+ *
+ * @author Brendan Douglas
+ */
+public class MLLPAcknowledgementException extends Exception {
+    private static final long serialVersionUID = -3150728342195417706L;
+
+    public MLLPAcknowledgementException(String controlId, String acknowledgementCode) {
+        super("Message with control id " + controlId + " was not accepted.  Acknowledgement code: " + acknowledgementCode);
+    }
+}
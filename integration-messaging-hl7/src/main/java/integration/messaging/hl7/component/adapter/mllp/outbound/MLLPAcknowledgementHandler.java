@@ -0,0 +1,119 @@
+package integration.messaging.hl7.component.adapter.mllp.outbound;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+import integration.core.runtime.messaging.retry.RetryPolicy;
+import integration.core.runtime.messaging.service.MessageFlowService;
+import integration.core.runtime.messaging.service.OutboxService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Completes the outbox events of pipelined MLLP sends as their acknowledgements arrive.
+ *
+ * When a message is acknowledged the outbox event is deleted and the message flow is marked as forwarded in a single transaction.  When a
+ * message is rejected, times out or the connection is lost the event is marked for retry, or parked if the component's retry policy says it
+ * has had all its attempts.  Until then the event stays claimed so it is not selected again.  If the outcome cannot be recorded the event
+ * will be sent again once its claim expires.
+ *
+ * The work is done on its own threads so the connection reader threads are never blocked by the database.
+ *
+ * @author Brendan Douglas
+ */
+@Component
+public class MLLPAcknowledgementHandler {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MLLPAcknowledgementHandler.class);
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private MessageFlowService messageFlowService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${integration.mllp.outbound.pipeline.acknowledgement-threads:4}")
+    private int acknowledgementThreads;
+
+    private ExecutorService executor;
+
+
+    @PostConstruct
+    public void MLLPAcknowledgementHandlerInit() {
+        executor = Executors.newFixedThreadPool(acknowledgementThreads);
+    }
+
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+
+    /**
+     * Records the outcome of a pipelined send once it is known.
+     *
+     * @param acknowledgement
+     * @param componentId
+     * @param eventId
+     * @param messageFlowId
+     * @param retryPolicy the sending component's retry policy.  Used if the message was not acknowledged.
+     */
+    public void onAcknowledgement(CompletableFuture<Void> acknowledgement, long componentId, long eventId, long messageFlowId, RetryPolicy retryPolicy) {
+        acknowledgement.whenCompleteAsync((result, e) -> {
+            if (e == null) {
+                acknowledged(eventId, messageFlowId);
+            } else {
+                failed(componentId, eventId, messageFlowId, e, retryPolicy);
+            }
+        }, executor);
+    }
+
+
+    private void acknowledged(long eventId, long messageFlowId) {
+        TransactionStatus status = transactionManager.getTransaction(new DefaultTransactionDefinition());
+
+        try {
+            outboxService.deleteEvent(eventId);
+            messageFlowService.updatePendingForwardingToForwardedAction(messageFlowId);
+
+            transactionManager.commit(status);
+        } catch(Exception e) {
+            rollback(status);
+            LOGGER.error("Unable to record the acknowledgement for outbox event: {}", eventId, e);
+        }
+    }
+
+
+    private void failed(long componentId, long eventId, long messageFlowId, Throwable cause, RetryPolicy retryPolicy) {
+        TransactionStatus status = transactionManager.getTransaction(new DefaultTransactionDefinition());
+
+        try {
+            outboxService.markEventForRetry(eventId, new MLLPForwardingException(eventId, componentId, messageFlowId, cause), retryPolicy);
+
+            transactionManager.commit(status);
+        } catch(Exception e) {
+            rollback(status);
+            LOGGER.error("Unable to mark outbox event: {} for retry", eventId, e);
+        }
+    }
+
+
+    private void rollback(TransactionStatus status) {
+        if (!status.isCompleted()) {
+            transactionManager.rollback(status);
+        }
+    }
+}
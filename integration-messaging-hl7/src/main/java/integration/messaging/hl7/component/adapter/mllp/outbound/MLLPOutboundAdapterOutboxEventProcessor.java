@@ -1,7 +1,8 @@
 package integration.messaging.hl7.component.adapter.mllp.outbound;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.apache.camel.Exchange;
-import org.apache.camel.ProducerTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.context.annotation.Scope;
@@ -9,10 +10,12 @@ import org.springframework.stereotype.Component;
 
 import integration.core.domain.IdentifierType;
 import integration.core.dto.MessageFlowDto;
+import integration.core.runtime.messaging.circuitbreaker.CircuitBreaker;
 import integration.core.runtime.messaging.component.BaseMessageFlowProcessor;
 import integration.core.runtime.messaging.component.OutboxEventProcessor;
 import integration.core.runtime.messaging.exception.retryable.OutboxEventSchedulerException;
 import integration.core.runtime.messaging.service.OutboxService;
+import integration.messaging.hl7.datamodel.HL7Message;
 
 
 /**
@@ -23,10 +26,10 @@ import integration.core.runtime.messaging.service.OutboxService;
 public class MLLPOutboundAdapterOutboxEventProcessor extends BaseMessageFlowProcessor<BaseMLLPOutboundAdapter> implements OutboxEventProcessor {
     
     @Autowired
-    protected ProducerTemplate producerTemplate;
+    protected OutboxService outboxService;
     
     @Autowired
-    protected OutboxService outboxService;
+    protected MLLPAcknowledgementHandler acknowledgementHandler;
     
     @Override
     public void process(Exchange exchange) throws Exception {
@@ -36,23 +39,62 @@ public class MLLPOutboundAdapterOutboxEventProcessor extends BaseMessageFlowProc
         try {
             messageFlowId = exchange.getMessage().getBody(Long.class);
             exchange.getMessage().setHeader(IdentifierType.MESSAGE_FLOW_ID.name(), messageFlowId);
-            messageFlowDto = messageFlowService.retrieveMessageFlow(messageFlowId, true);
             
             Long eventId = (Long)exchange.getMessage().getHeader(IdentifierType.EVENT_ID.name());
             
+            CircuitBreaker circuitBreaker = component.getCircuitBreaker();
+            
+            // The destination is down so leave the event until the circuit closes rather than using up one of its retries.
+            if (!circuitBreaker.isCallPermitted()) {
+                component.deferOutboxEvent(eventId);
+                return;
+            }
+            
+            messageFlowDto = messageFlowService.retrieveMessageFlow(messageFlowId, true);
+            
+            MLLPPipelinedEndpoint pipelinedEndpoint = component.getPipelinedEndpoint();
+            
+            if (pipelinedEndpoint != null) {
+                String controlId = messageFlowDto.getParsedMessage(HL7Message.class, HL7Message::new).getMSHSegment().getMessageControlId();
+                
+                // Without a control id the acknowledgement cannot be matched so the message is sent one at a time.
+                if (controlId != null && !controlId.isEmpty()) {
+                    CompletableFuture<Void> acknowledgement = null;
+                    
+                    try {
+                        acknowledgement = pipelinedEndpoint.send(messageFlowDto.getMessageContent(), controlId);
+                    } catch(Exception e) {
+                        circuitBreaker.recordFailure(e);
+                        throw new MLLPForwardingException(eventId, component.getIdentifier(), messageFlowId, e);
+                    }
+                    
+                    acknowledgement.whenComplete((result, e) -> {
+                        if (e == null) {
+                            circuitBreaker.recordSuccess();
+                        } else {
+                            circuitBreaker.recordFailure(e);
+                        }
+                    });
+                    
+                    // The event is deleted and the message flow updated once the acknowledgement arrives.
+                    acknowledgementHandler.onAcknowledgement(acknowledgement, component.getIdentifier(), eventId, messageFlowId, component.getRetryPolicy());
+                    return;
+                }
+            }
+            
             outboxService.deleteEvent(eventId);
-               
-            String target = component.getTargetHost() + ":" + component.getTargetPort();
-            String uri = "netty:tcp://" + target + component.constructAdapterOptions();
             
             messageFlowService.updatePendingForwardingToForwardedAction(messageFlowId);
             
-            // Forward the message via MLLP.
+            // Forward the message via MLLP using the adapters pooled connections.
             try {
-                producerTemplate.sendBodyAndHeaders(uri, messageFlowDto.getMessageContent(), component.getHeaders(messageFlowDto));
+                component.getOutboundEndpoint().send(messageFlowDto.getMessageContent(), component.getHeaders(messageFlowDto));
             } catch(Exception e) {
+                circuitBreaker.recordFailure(e);
                 throw new MLLPForwardingException(eventId, component.getIdentifier(), messageFlowId, e);
             }
+            
+            circuitBreaker.recordSuccess();
         } catch(Exception e) {
             throw new OutboxEventSchedulerException(component.getIdentifier(), messageFlowId, e);
         }         
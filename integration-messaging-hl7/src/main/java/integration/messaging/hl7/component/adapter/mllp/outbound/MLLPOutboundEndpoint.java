@@ -0,0 +1,163 @@
+package integration.messaging.hl7.component.adapter.mllp.outbound;
+
+import java.net.ConnectException;
+import java.util.Map;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePattern;
+import org.apache.camel.Producer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A pre-resolved netty endpoint and producer for an MLLP outbound adapter.
+ *
+ * The endpoint is only resolved again when the target host or port of the adapter changes.  The netty producer keeps a pool of persistent
+ * connections to the target.  Each connection is checked when it is borrowed from the pool and is replaced if it is no longer active.
+ *
+ * After a failed send no further connections are attempted until a backoff period has passed.  The backoff doubles after each consecutive
+ * failure up to a maximum and is reset by a successful send.
+ *
+ * @author Brendan Douglas
+ */
+public class MLLPOutboundEndpoint {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MLLPOutboundEndpoint.class);
+
+    private final BaseMLLPOutboundAdapter adapter;
+    private final CamelContext camelContext;
+    private final ReconnectBackoff backoff;
+
+    private volatile ResolvedEndpoint resolvedEndpoint;
+
+
+    public MLLPOutboundEndpoint(BaseMLLPOutboundAdapter adapter, CamelContext camelContext, ReconnectBackoff backoff) {
+        this.adapter = adapter;
+        this.camelContext = camelContext;
+        this.backoff = backoff;
+    }
+
+
+    /**
+     * Sends a message to the target and waits for the acknowledgement.
+     *
+     * @param content
+     * @param headers
+     * @throws Exception
+     */
+    public void send(String content, Map<String, Object> headers) throws Exception {
+        long wait = backoff.getRemainingWait();
+        if (wait > 0) {
+            throw new ConnectException("Waiting " + wait + "ms before reconnecting to " + getTarget());
+        }
+
+        ResolvedEndpoint current = getResolvedEndpoint();
+
+        Exchange exchange = current.endpoint.createExchange(ExchangePattern.InOut);
+        exchange.getMessage().setBody(content);
+        exchange.getMessage().setHeaders(headers);
+
+        try {
+            current.producer.process(exchange);
+        } catch(Exception e) {
+            sendFailed();
+            throw e;
+        }
+
+        if (exchange.getException() != null) {
+            sendFailed();
+            throw exchange.getException();
+        }
+
+        backoff.succeeded();
+    }
+
+
+    /**
+     * Stops the producer closing all the pooled connections.
+     */
+    public synchronized void close() {
+        if (resolvedEndpoint != null) {
+            stop(resolvedEndpoint);
+            resolvedEndpoint = null;
+        }
+    }
+
+
+    private ResolvedEndpoint getResolvedEndpoint() throws Exception {
+        ResolvedEndpoint current = resolvedEndpoint;
+
+        if (current != null && current.target.equals(getTarget())) {
+            return current;
+        }
+
+        return resolveEndpoint();
+    }
+
+
+    /**
+     * Resolves the endpoint for the current target and starts a producer for it.  Any previous producer is stopped so the connections
+     * to the old target are closed.
+     *
+     * @return
+     * @throws Exception
+     */
+    private synchronized ResolvedEndpoint resolveEndpoint() throws Exception {
+        String target = getTarget();
+
+        // Another thread may have already resolved the endpoint.
+        if (resolvedEndpoint != null && resolvedEndpoint.target.equals(target)) {
+            return resolvedEndpoint;
+        }
+
+        if (resolvedEndpoint != null) {
+            LOGGER.info("MLLP target changed from {} to {}", resolvedEndpoint.target, target);
+            stop(resolvedEndpoint);
+        }
+
+        Endpoint endpoint = camelContext.getEndpoint("netty:tcp://" + target + adapter.constructAdapterOptions());
+        Producer producer = endpoint.createProducer();
+        producer.start();
+
+        resolvedEndpoint = new ResolvedEndpoint(target, endpoint, producer);
+
+        return resolvedEndpoint;
+    }
+
+
+    private void stop(ResolvedEndpoint toStop) {
+        try {
+            toStop.producer.stop();
+            camelContext.removeEndpoint(toStop.endpoint);
+        } catch(Exception e) {
+            LOGGER.warn("Unable to stop the MLLP producer for {}", toStop.target, e);
+        }
+    }
+
+
+    private void sendFailed() {
+        LOGGER.warn("Send to {} failed.  Next attempt in {}ms", getTarget(), backoff.failed());
+    }
+
+
+    private String getTarget() {
+        return adapter.getTargetHost() + ":" + adapter.getTargetPort();
+    }
+
+
+    /**
+     * The endpoint and producer for a target.  Held in a single field so they are always read together.
+     */
+    private static class ResolvedEndpoint {
+        private final String target;
+        private final Endpoint endpoint;
+        private final Producer producer;
+
+        private ResolvedEndpoint(String target, Endpoint endpoint, Producer producer) {
+            this.target = target;
+            this.endpoint = endpoint;
+            this.producer = producer;
+        }
+    }
+}
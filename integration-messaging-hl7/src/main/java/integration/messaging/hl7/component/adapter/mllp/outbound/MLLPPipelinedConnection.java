@@ -0,0 +1,210 @@
+package integration.messaging.hl7.component.adapter.mllp.outbound;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import integration.messaging.hl7.datamodel.HL7Message;
+import integration.messaging.hl7.datamodel.Segment;
+
+/**
+ * A single MLLP connection which allows several messages to be sent before their acknowledgements are received.
+ *
+ * Acknowledgements are matched to the messages by the message control id (MSH-10 of the message, MSA-2 of the acknowledgement) so the
+ * target does not need to acknowledge the messages in order.  The number of unacknowledged messages is limited by the window size.  A
+ * message which is not acknowledged within the timeout is failed.
+ *
+ * If the connection is lost all unacknowledged messages are failed and the connection is not used again.
+ *
+ * @author Brendan Douglas
+ */
+public class MLLPPipelinedConnection {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MLLPPipelinedConnection.class);
+
+    private static final int START_BLOCK = 0x0B;
+    private static final int END_BLOCK = 0x1C;
+    private static final int CARRIAGE_RETURN = 0x0D;
+
+    private final String target;
+    private final Socket socket;
+    private final OutputStream out;
+    private final Semaphore window;
+    private final long acknowledgementTimeout;
+    private final Charset charset;
+
+    private final Map<String, CompletableFuture<Void>> unacknowledged = new ConcurrentHashMap<>();
+
+    private volatile boolean open = true;
+
+
+    public MLLPPipelinedConnection(String host, int port, int windowSize, long acknowledgementTimeout, int connectTimeout, Charset charset) throws IOException {
+        this.target = host + ":" + port;
+        this.window = new Semaphore(windowSize);
+        this.acknowledgementTimeout = acknowledgementTimeout;
+        this.charset = charset;
+
+        socket = new Socket();
+        socket.setKeepAlive(true);
+        socket.setTcpNoDelay(true);
+        socket.connect(new InetSocketAddress(host, port), connectTimeout);
+
+        out = new BufferedOutputStream(socket.getOutputStream());
+
+        Thread reader = new Thread(this::readAcknowledgements, "mllp-acknowledgement-reader-" + target);
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+
+    /**
+     * Sends a message without waiting for the acknowledgement.  Blocks while the window is full.
+     *
+     * @param content
+     * @param controlId the message control id.  MSH-10.
+     * @return a future which completes when the message is acknowledged.
+     * @throws IOException
+     * @throws InterruptedException
+     */
+    public CompletableFuture<Void> send(String content, String controlId) throws IOException, InterruptedException {
+        if (!open) {
+            throw new IOException("Connection to " + target + " is closed");
+        }
+
+        if (!window.tryAcquire(acknowledgementTimeout, TimeUnit.MILLISECONDS)) {
+            throw new IOException("Timed out waiting to send to " + target + ".  Too many unacknowledged messages");
+        }
+
+        CompletableFuture<Void> acknowledgement = new CompletableFuture<>();
+
+        if (unacknowledged.putIfAbsent(controlId, acknowledgement) != null) {
+            window.release();
+            throw new IOException("A message with control id " + controlId + " is already waiting for an acknowledgement from " + target);
+        }
+
+        // However the message completes it no longer uses a slot in the window.
+        acknowledgement.orTimeout(acknowledgementTimeout, TimeUnit.MILLISECONDS).whenComplete((result, e) -> {
+            unacknowledged.remove(controlId, acknowledgement);
+            window.release();
+        });
+
+        try {
+            synchronized (out) {
+                out.write(START_BLOCK);
+                out.write(content.getBytes(charset));
+                out.write(END_BLOCK);
+                out.write(CARRIAGE_RETURN);
+                out.flush();
+            }
+        } catch(IOException e) {
+            close(e);
+            throw e;
+        }
+
+        return acknowledgement;
+    }
+
+
+    public boolean isOpen() {
+        return open;
+    }
+
+
+    /**
+     * Closes the connection failing any unacknowledged messages.
+     *
+     * @param cause
+     */
+    public void close(Exception cause) {
+        if (!open) {
+            return;
+        }
+
+        open = false;
+
+        try {
+            socket.close();
+        } catch(IOException e) {
+            LOGGER.debug("Error closing connection to {}", target, e);
+        }
+
+        for (CompletableFuture<Void> acknowledgement : unacknowledged.values()) {
+            acknowledgement.completeExceptionally(cause);
+        }
+    }
+
+
+    /**
+     * Reads the acknowledgement frames until the connection is closed.
+     */
+    private void readAcknowledgements() {
+        try (InputStream in = new BufferedInputStream(socket.getInputStream())) {
+            ByteArrayOutputStream frame = new ByteArrayOutputStream();
+            boolean inFrame = false;
+            int b;
+
+            while ((b = in.read()) != -1) {
+                if (b == START_BLOCK) {
+                    frame.reset();
+                    inFrame = true;
+                } else if (b == END_BLOCK) {
+                    if (inFrame) {
+                        acknowledgementReceived(frame.toString(charset));
+                    }
+
+                    inFrame = false;
+                } else if (inFrame) {
+                    frame.write(b);
+                }
+            }
+
+            close(new EOFException("Connection closed by " + target));
+        } catch(IOException e) {
+            close(e);
+        }
+    }
+
+
+    private void acknowledgementReceived(String content) {
+        try {
+            List<Segment> msaSegments = new HL7Message(content).getSegments("MSA");
+
+            if (msaSegments.isEmpty()) {
+                LOGGER.warn("Acknowledgement from {} has no MSA segment", target);
+                return;
+            }
+
+            String acknowledgementCode = msaSegments.get(0).getFieldValue(1);
+            String controlId = msaSegments.get(0).getFieldValue(2);
+
+            CompletableFuture<Void> acknowledgement = unacknowledged.get(controlId);
+            if (acknowledgement == null) {
+                LOGGER.warn("Acknowledgement from {} for unknown message control id {}", target, controlId);
+                return;
+            }
+
+            if ("AA".equals(acknowledgementCode) || "CA".equals(acknowledgementCode)) {
+                acknowledgement.complete(null);
+            } else {
+                acknowledgement.completeExceptionally(new MLLPAcknowledgementException(controlId, acknowledgementCode));
+            }
+        } catch(Exception e) {
+            LOGGER.warn("Unable to read acknowledgement from {}", target, e);
+        }
+    }
+}
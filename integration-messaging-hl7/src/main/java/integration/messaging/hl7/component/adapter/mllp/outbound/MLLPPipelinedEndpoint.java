@@ -0,0 +1,118 @@
+package integration.messaging.hl7.component.adapter.mllp.outbound;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.nio.charset.Charset;
+import java.util.concurrent.CompletableFuture;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The pipelined connections from an MLLP outbound adapter to its target.  Messages are spread over the connections in turn.
+ *
+ * A closed connection is replaced the next time it is used.  A failed connection attempt or send stops any new connections being attempted
+ * until the backoff period has passed.  All connections are closed if the target host or port changes.
+ *
+ * @author Brendan Douglas
+ */
+public class MLLPPipelinedEndpoint {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MLLPPipelinedEndpoint.class);
+
+    private final BaseMLLPOutboundAdapter adapter;
+    private final MLLPPipelinedConnection[] connections;
+    private final int windowSize;
+    private final long acknowledgementTimeout;
+    private final int connectTimeout;
+    private final Charset charset;
+    private final ReconnectBackoff backoff;
+
+    private String target;
+    private int nextConnection;
+
+
+    public MLLPPipelinedEndpoint(BaseMLLPOutboundAdapter adapter, int connectionCount, int windowSize, long acknowledgementTimeout, int connectTimeout, Charset charset, ReconnectBackoff backoff) {
+        this.adapter = adapter;
+        this.connections = new MLLPPipelinedConnection[connectionCount];
+        this.windowSize = windowSize;
+        this.acknowledgementTimeout = acknowledgementTimeout;
+        this.connectTimeout = connectTimeout;
+        this.charset = charset;
+        this.backoff = backoff;
+    }
+
+
+    /**
+     * Sends a message without waiting for the acknowledgement.
+     *
+     * @param content
+     * @param controlId
+     * @return a future which completes when the message is acknowledged.
+     * @throws IOException
+     * @throws InterruptedException
+     */
+    public CompletableFuture<Void> send(String content, String controlId) throws IOException, InterruptedException {
+        long wait = backoff.getRemainingWait();
+        if (wait > 0) {
+            throw new ConnectException("Waiting " + wait + "ms before reconnecting to " + adapter.getTargetHost() + ":" + adapter.getTargetPort());
+        }
+
+        MLLPPipelinedConnection connection = getConnection();
+
+        try {
+            return connection.send(content, controlId);
+        } catch(IOException e) {
+            if (!connection.isOpen()) {
+                LOGGER.warn("Send to {} failed.  Next attempt in {}ms", target, backoff.failed());
+            }
+
+            throw e;
+        }
+    }
+
+
+    /**
+     * Closes all the connections.
+     */
+    public synchronized void close() {
+        for (int i = 0; i < connections.length; i++) {
+            if (connections[i] != null) {
+                connections[i].close(new IOException("MLLP endpoint closed"));
+                connections[i] = null;
+            }
+        }
+    }
+
+
+    private synchronized MLLPPipelinedConnection getConnection() throws IOException {
+        String currentTarget = adapter.getTargetHost() + ":" + adapter.getTargetPort();
+
+        if (!currentTarget.equals(target)) {
+            if (target != null) {
+                LOGGER.info("MLLP target changed from {} to {}", target, currentTarget);
+            }
+
+            close();
+            target = currentTarget;
+        }
+
+        int index = nextConnection;
+        nextConnection = (nextConnection + 1) % connections.length;
+
+        MLLPPipelinedConnection connection = connections[index];
+
+        if (connection == null || !connection.isOpen()) {
+            try {
+                connection = new MLLPPipelinedConnection(adapter.getTargetHost(), Integer.parseInt(adapter.getTargetPort()), windowSize, acknowledgementTimeout, connectTimeout, charset);
+                backoff.succeeded();
+            } catch(IOException e) {
+                LOGGER.warn("Unable to connect to {}.  Next attempt in {}ms", target, backoff.failed());
+                throw e;
+            }
+
+            connections[index] = connection;
+        }
+
+        return connection;
+    }
+}
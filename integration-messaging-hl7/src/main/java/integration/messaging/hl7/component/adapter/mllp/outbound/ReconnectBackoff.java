@@ -0,0 +1,57 @@
+package integration.messaging.hl7.component.adapter.mllp.outbound;
+
+/**
+ * Tracks how long to wait before connecting to an MLLP target again after a failure.  The wait doubles after each consecutive
+ * failure up to a maximum and is reset by a success.
+ *
+ * @author Brendan Douglas
+ */
+public class ReconnectBackoff {
+    private final long initialBackoff;
+    private final long maxBackoff;
+
+    private long backoff;
+    private volatile long nextAttempt;
+
+
+    public ReconnectBackoff(long initialBackoff, long maxBackoff) {
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+
+    /**
+     * The number of milliseconds until the next attempt is allowed.  Zero or less if an attempt can be made now.
+     *
+     * @return
+     */
+    public long getRemainingWait() {
+        return nextAttempt - System.currentTimeMillis();
+    }
+
+
+    /**
+     * Records a failure.
+     *
+     * @return the number of milliseconds until the next attempt.
+     */
+    public synchronized long failed() {
+        backoff = backoff == 0 ? initialBackoff : Math.min(backoff * 2, maxBackoff);
+        nextAttempt = System.currentTimeMillis() + backoff;
+
+        return backoff;
+    }
+
+
+    /**
+     * Records a success.
+     */
+    public void succeeded() {
+        if (nextAttempt != 0) {
+            synchronized (this) {
+                backoff = 0;
+                nextAttempt = 0;
+            }
+        }
+    }
+}
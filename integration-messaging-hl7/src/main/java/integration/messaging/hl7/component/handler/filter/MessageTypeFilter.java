@@ -27,7 +27,7 @@ public abstract class MessageTypeFilter extends MessageAcceptancePolicy {
     public MessageFlowPolicyResult applyPolicy(MessageFlowDto messageFlow) throws FilterException {
 
         try {
-            HL7Message source = new HL7Message(messageFlow.getMessage().getContent());
+            HL7Message source = messageFlow.getParsedMessage(HL7Message.class, HL7Message::new);
             
             String incomingMessageType = source.getMessageTypeField().value();
 
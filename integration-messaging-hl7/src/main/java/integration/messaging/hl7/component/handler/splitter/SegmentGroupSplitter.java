@@ -0,0 +1,94 @@
+package integration.messaging.hl7.component.handler.splitter;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import integration.core.dto.MessageFlowDto;
+import integration.core.runtime.messaging.component.type.handler.splitter.ContentSplitter;
+import integration.core.runtime.messaging.component.type.handler.splitter.SplitterException;
+import integration.messaging.hl7.datamodel.HL7Message;
+import integration.messaging.hl7.datamodel.Segment;
+
+/**
+ * A splitter which creates a message for each group of a segment.  eg. one ORU for each group of OBX segments.  Each split message has all the
+ * segments of the original message except the other groups of the split segment.
+ *
+ * A group is a run of consecutive segments with the same name.  The split messages are created one at a time as they are stored.
+ *
+ * @author Brendan Douglas
+ *
+ */
+public abstract class SegmentGroupSplitter extends ContentSplitter {
+
+    public abstract String getSegmentName();
+
+    @Override
+    public Iterator<String> splitContent(MessageFlowDto messageFlow) throws SplitterException {
+        try {
+            HL7Message source = messageFlow.getParsedMessage(HL7Message.class, HL7Message::new);
+
+            int numberOfGroups = source.getNumberOfSegmentGroups(getSegmentName());
+
+            return new Iterator<String>() {
+                private int groupNumber = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return groupNumber < numberOfGroups;
+                }
+
+                @Override
+                public String next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+
+                    try {
+                        return createSplitMessage(source, groupNumber++);
+                    } catch (Exception e) {
+                        throw new IllegalStateException("Unable to create the message for segment group " + groupNumber, e);
+                    }
+                }
+            };
+        } catch (Exception e) {
+            throw new SplitterException("Error splitting the message", messageFlow.getId(), e);
+        }
+    }
+
+
+    /**
+     * Creates the message for a group.  The source message is not changed as it is shared by all the split messages.
+     *
+     * @param source
+     * @param groupNumber
+     * @return
+     * @throws Exception
+     */
+    protected String createSplitMessage(HL7Message source, int groupNumber) throws Exception {
+        List<Segment> groupSegments = source.getSegmentsWithinGroup(getSegmentName(), groupNumber);
+
+        // Segments are compared by content so identical segments in different groups would be equal.
+        Set<Segment> group = Collections.newSetFromMap(new IdentityHashMap<>());
+        group.addAll(groupSegments);
+
+        StringBuilder sb = new StringBuilder();
+
+        for (Segment segment : source.getSegments()) {
+            if (segment.getName().equals(getSegmentName()) && !group.contains(segment)) {
+                continue;
+            }
+
+            if (sb.length() > 0) {
+                sb.append('\r');
+            }
+
+            sb.append(segment.toString());
+        }
+
+        return sb.toString();
+    }
+}
@@ -19,11 +19,15 @@ public abstract class DeleteSegmentTransformer extends MessageTransformer {
     public String transformMessage(MessageFlowDto messageFlow) throws TransformationException {
      
         try {
-            HL7Message source = new HL7Message(messageFlow.getMessage().getContent());
+            HL7Message source = messageFlow.getParsedMessage(HL7Message.class, HL7Message::new);
          
             source.removeAllSegments(getSegmentToDelete());
             
-            return source.toString();
+            // The parsed message has been changed so store it against the transformed content.
+            String transformedContent = source.toString();
+            messageFlow.getMessage().setContent(transformedContent, source);
+            
+            return transformedContent;
         } catch (Exception e) {
             throw new TransformationException("Error transforming the message", messageFlow.getId(), e);
         }
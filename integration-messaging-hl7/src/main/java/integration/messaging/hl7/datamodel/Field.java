@@ -20,42 +20,72 @@ import org.apache.commons.lang3.StringUtils;
 public class Field extends MessageComponent implements Serializable {
     private static final long serialVersionUID = 3815655672813186758L;
 
-    private List<FieldRepetition> repetitions = new ArrayList<>();
+    // Null until the repetitions are accessed.
+    private List<FieldRepetition> repetitions = null;
 
     private Segment segment = null;
 
+    // The unparsed value.  Only used until the repetitions are accessed.
+    private String source;
+    private int start;
+    private int end;
+    private boolean handleSeperators;
+
     protected Field() {
+        repetitions = new ArrayList<>();
     }
 
     public Field(String field, boolean handleSeperators, Segment segment) {
+        this(field, 0, field.length(), handleSeperators, segment);
+    }
+
+    Field(String source, int start, int end, boolean handleSeperators, Segment segment) {
         this.segment = segment;
+        this.source = source;
+        this.start = start;
+        this.end = end;
+        this.handleSeperators = handleSeperators;
+    }
 
-        String[] splitFieldRepetitions = null;
+    /**
+     * Returns the repetitions, splitting the value the first time they are accessed.
+     * 
+     * @return
+     */
+    private List<FieldRepetition> repetitions() {
+        if (repetitions == null) {
+            int[] bounds = handleSeperators ? HL7Parser.split(source, start, end, '~') : HL7Parser.whole(start, end);
 
-        if (handleSeperators) {
-            splitFieldRepetitions = field.split("\\~");
-        } else {
-            splitFieldRepetitions = new String[1];
-            splitFieldRepetitions[0] = field;
-        }
+            repetitions = new ArrayList<>(bounds.length / 2);
 
-        for (String value : splitFieldRepetitions) {
-            FieldRepetition repetition = new FieldRepetition(value, handleSeperators, this);
-            repetitions.add(repetition);
+            for (int i = 0; i < bounds.length; i += 2) {
+                FieldRepetition repetition = new FieldRepetition(source, bounds[i], bounds[i + 1], handleSeperators, this);
+                repetitions.add(repetition);
+            }
+
+            source = null;
         }
+
+        return repetitions;
     }
 
     public List<FieldRepetition> getRepetitions() {
-        return repetitions;
+        return repetitions();
     }
 
     public void setRepetitions(List<FieldRepetition> repetitions) {
         this.repetitions = repetitions;
+        this.source = null;
     }
 
     @Override
     public String toString() {
-        String originalValue = repetitions.stream().map(FieldRepetition::toString).collect(Collectors.joining("~"));
+        // A field which was not split on the separators may only contain separators, which is handled below.
+        if (repetitions == null && handleSeperators && HL7Parser.isUnchangedBySplit(source, start, end, HL7Parser.FIELD_DELIMITERS)) {
+            return source.substring(start, end);
+        }
+
+        String originalValue = repetitions().stream().map(FieldRepetition::toString).collect(Collectors.joining("~"));
 
         if (originalValue.isEmpty()) {
             return originalValue;
@@ -83,11 +113,11 @@ public class Field extends MessageComponent implements Serializable {
      * @return
      */
     public FieldRepetition getRepetition(int repetition) throws Exception {
-        if (repetition >= repetitions.size()) {
+        if (repetition >= repetitions().size()) {
             return addRepetition("");
         }
 
-        return repetitions.get(repetition);
+        return repetitions().get(repetition);
     }
 
     /**
@@ -113,11 +143,11 @@ public class Field extends MessageComponent implements Serializable {
      * @param repetition
      */
     public void removeRepetition(int repetition) throws Exception {
-        if (repetition > repetitions.size()) {
+        if (repetition > repetitions().size()) {
             return;
         }
 
-        repetitions.remove(repetition);
+        repetitions().remove(repetition);
     }
 
     /**
@@ -126,7 +156,7 @@ public class Field extends MessageComponent implements Serializable {
      * @param repetition
      */
     public void removeRepetition(FieldRepetition repetition) throws Exception {
-        repetitions.remove(repetition);
+        repetitions().remove(repetition);
     }
 
     /**
@@ -135,7 +165,7 @@ public class Field extends MessageComponent implements Serializable {
      * @param repetition
      */
     public void removeRepetitions(List<FieldRepetition> repetitionsToRemove) throws Exception {
-        repetitions.removeAll(repetitionsToRemove);
+        repetitions().removeAll(repetitionsToRemove);
     }
 
     /**
@@ -149,7 +179,7 @@ public class Field extends MessageComponent implements Serializable {
         // to the end.
         if (!this.value().isEmpty()) {
             getRepetitions().add(fieldRepetition);
-        } else if (!repetitions.isEmpty()) {
+        } else if (!repetitions().isEmpty()) {
             getRepetitions().set(0, fieldRepetition);
         } else {
             getRepetitions().add(fieldRepetition);
@@ -202,16 +232,12 @@ public class Field extends MessageComponent implements Serializable {
      */
     @Override
     public void setValue(String value) throws Exception {
-        repetitions.clear();
-
-        String[] splitFieldRepetitions = null;
+        repetitions = null;
 
-        splitFieldRepetitions = value.split("\\~");
-
-        for (String fieldValue : splitFieldRepetitions) {
-            FieldRepetition repetition = new FieldRepetition(fieldValue, true, this);
-            repetitions.add(repetition);
-        }
+        source = value;
+        start = 0;
+        end = value.length();
+        handleSeperators = true;
     }
 
     /**
@@ -220,7 +246,7 @@ public class Field extends MessageComponent implements Serializable {
      * @return
      */
     public int getNumberOfRepetitions() {
-        return repetitions.size();
+        return repetitions().size();
     }
 
     public Segment getSegment() {
@@ -422,7 +448,7 @@ public class Field extends MessageComponent implements Serializable {
      * @return
      */
     public boolean isEmpty() {
-        for (FieldRepetition fieldRepetition : repetitions) {
+        for (FieldRepetition fieldRepetition : repetitions()) {
             if (!fieldRepetition.isEmpty()) {
                 return false;
             }
@@ -548,7 +574,7 @@ public class Field extends MessageComponent implements Serializable {
      * @throws Exception
      */
     public void clearSubFieldsStartingFrom(int startingSubFieldIndex) throws Exception {
-        for (FieldRepetition repetition : this.repetitions) {
+        for (FieldRepetition repetition : repetitions()) {
             repetition.clearSubFieldsFrom(startingSubFieldIndex);
         }
     }
@@ -580,7 +606,7 @@ public class Field extends MessageComponent implements Serializable {
      * @throws Exception
      */
     public void clearSubFieldRange(int startingSubFieldIndex, int endingSubFieldIndex) throws Exception {
-        for (FieldRepetition fieldRepetition : this.repetitions) {
+        for (FieldRepetition fieldRepetition : repetitions()) {
             fieldRepetition.clearSubFieldRange(startingSubFieldIndex, endingSubFieldIndex);
         }
     }
@@ -602,7 +628,7 @@ public class Field extends MessageComponent implements Serializable {
      * @return
      */
     public boolean hasFieldMatchingValue(String matchType, String... matchValues) {
-        for (FieldRepetition fieldRepetition : this.repetitions) {
+        for (FieldRepetition fieldRepetition : repetitions()) {
             if (compare(matchType, fieldRepetition.value(), matchValues)) {
                 return true;
             }
@@ -620,7 +646,7 @@ public class Field extends MessageComponent implements Serializable {
      * @throws Exception
      */
     public boolean hasSubFieldMatchingValue(String matchType, int subFieldIndex, String... matchValues) throws Exception {
-        for (FieldRepetition fieldRepetition : this.repetitions) {
+        for (FieldRepetition fieldRepetition : repetitions()) {
             if (compare(matchType, fieldRepetition.getSubField(subFieldIndex).value(), matchValues)) {
                 return true;
             }
@@ -659,7 +685,7 @@ public class Field extends MessageComponent implements Serializable {
      */
     public void removeMatchingFieldRepetitions(String matchType, int subFieldIndex, String... matchValues) throws Exception {
         List<FieldRepetition> fieldRepetitions = this.getRepetitionsMatchingValue(matchType, subFieldIndex, matchValues);
-        this.repetitions.removeAll(fieldRepetitions);
+        repetitions().removeAll(fieldRepetitions);
     }
 
     /**
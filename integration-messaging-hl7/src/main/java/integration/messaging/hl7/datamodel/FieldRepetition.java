@@ -17,41 +17,70 @@ import ca.uhn.hl7v2.HL7Exception;
 public class FieldRepetition extends MessageComponent implements Serializable {
     private static final long serialVersionUID = -861537957069177073L;
 
-    private List<Subfield> subFields = new ArrayList<>();
+    // Null until the sub fields are accessed.
+    private List<Subfield> subFields = null;
     private Field field = null;
 
+    // The unparsed value.  Only used until the sub fields are accessed.
+    private String source;
+    private int start;
+    private int end;
+    private boolean handleSeperators;
+
     protected FieldRepetition() {
+        subFields = new ArrayList<>();
     }
 
     public FieldRepetition(String fieldRepetition, boolean handleSeperators, Field field) {
+        this(fieldRepetition, 0, fieldRepetition.length(), handleSeperators, field);
+    }
+
+    FieldRepetition(String source, int start, int end, boolean handleSeperators, Field field) {
         this.field = field;
+        this.source = source;
+        this.start = start;
+        this.end = end;
+        this.handleSeperators = handleSeperators;
+    }
 
-        String[] splitSubFieldRepetitions = null;
+    /**
+     * Returns the sub fields, splitting the value the first time they are accessed.
+     * 
+     * @return
+     */
+    private List<Subfield> subFields() {
+        if (subFields == null) {
+            int[] bounds = handleSeperators ? HL7Parser.split(source, start, end, '^') : HL7Parser.whole(start, end);
 
-        if (handleSeperators) {
-            splitSubFieldRepetitions = fieldRepetition.split("\\^");
-        } else {
-            splitSubFieldRepetitions = new String[1];
-            splitSubFieldRepetitions[0] = fieldRepetition;
-        }
+            subFields = new ArrayList<>(bounds.length / 2);
 
-        for (String value : splitSubFieldRepetitions) {
-            Subfield subField = new Subfield(value, true, this);
-            subFields.add(subField);
+            for (int i = 0; i < bounds.length; i += 2) {
+                Subfield subField = new Subfield(source, bounds[i], bounds[i + 1], true, this);
+                subFields.add(subField);
+            }
+
+            source = null;
         }
+
+        return subFields;
     }
 
     public List<Subfield> getSubFields() {
-        return subFields;
+        return subFields();
     }
 
     public void setSubFields(List<Subfield> subFields) {
         this.subFields = subFields;
+        this.source = null;
     }
 
     @Override
     public String toString() {
-        return subFields.stream().map(Subfield::toString).collect(Collectors.joining("^"));
+        if (subFields == null && HL7Parser.isUnchangedBySplit(source, start, end, handleSeperators ? HL7Parser.FIELD_REPETITION_DELIMITERS : HL7Parser.SUBFIELD_DELIMITERS)) {
+            return source.substring(start, end);
+        }
+
+        return subFields().stream().map(Subfield::toString).collect(Collectors.joining("^"));
     }
 
     /**
@@ -63,11 +92,11 @@ public class FieldRepetition extends MessageComponent implements Serializable {
     public Subfield getSubField(int subFieldIndex) throws Exception {
 
         // If the subfield doesn't exist then add it.
-        if (subFieldIndex > subFields.size()) {
+        if (subFieldIndex > subFields().size()) {
             addSubField("", subFieldIndex);
         }
 
-        return subFields.get(--subFieldIndex);
+        return subFields().get(--subFieldIndex);
     }
 
     /**
@@ -148,16 +177,12 @@ public class FieldRepetition extends MessageComponent implements Serializable {
      */
     @Override
     public void setValue(String value) throws Exception {
-        subFields.clear();
-
-        String[] splitSubFieldRepetitions = null;
+        subFields = null;
 
-        splitSubFieldRepetitions = value.split("\\^");
-
-        for (String fieldRepetitonValue : splitSubFieldRepetitions) {
-            Subfield subField = new Subfield(fieldRepetitonValue, true, this);
-            subFields.add(subField);
-        }
+        source = value;
+        start = 0;
+        end = value.length();
+        handleSeperators = true;
     }
 
     /**
@@ -192,7 +217,7 @@ public class FieldRepetition extends MessageComponent implements Serializable {
      * @return
      */
     public boolean isEmpty() {
-        for (Subfield subFIeld : subFields) {
+        for (Subfield subFIeld : subFields()) {
             if (!subFIeld.isEmpty()) {
                 return false;
             }
@@ -4,7 +4,6 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import org.springframework.util.SerializationUtils;
 
@@ -22,10 +21,11 @@ public class HL7Message implements Serializable {
 
     public HL7Message(String sourceHL7Message) {
 
-        String[] splitMessageSegments = sourceHL7Message.split("\r(?=[A-Za-z0-9]{3}|)");
+        // Only the segment boundaries are found here.  Each segment is split into fields when it is first accessed.
+        int[] bounds = HL7Parser.split(sourceHL7Message, 0, sourceHL7Message.length(), '\r');
 
-        for (String value : splitMessageSegments) {
-            Segment segment = createSegment(value);
+        for (int i = 0; i < bounds.length; i += 2) {
+            Segment segment = createSegment(sourceHL7Message, bounds[i], bounds[i + 1]);
 
             segments.add(segment);
         }
@@ -103,7 +103,17 @@ public class HL7Message implements Serializable {
 
     @Override
     public String toString() {
-        return segments.stream().map(Segment::toString).collect(Collectors.joining("\r"));
+        StringBuilder sb = new StringBuilder();
+
+        for (int i = 0; i < segments.size(); i++) {
+            if (i > 0) {
+                sb.append('\r');
+            }
+
+            sb.append(segments.get(i).toString());
+        }
+
+        return sb.toString();
     }
 
     /**
@@ -1149,14 +1159,18 @@ public class HL7Message implements Serializable {
     }
 
     private Segment createSegment(String value) {
+        return createSegment(value, 0, value.length());
+    }
+
+    private Segment createSegment(String source, int start, int end) {
         Segment segment = null;
 
-        if (value.startsWith("MSH")) {
-            segment = new MSHSegment(value, this);
-        } else if (value.startsWith("PID")) {
-            segment = new PIDSegment(value, this);
+        if (end - start >= 3 && source.startsWith("MSH", start)) {
+            segment = new MSHSegment(source, start, end, this);
+        } else if (end - start >= 3 && source.startsWith("PID", start)) {
+            segment = new PIDSegment(source, start, end, this);
         } else {
-            segment = new Segment(value, this);
+            segment = new Segment(source, start, end, this);
         }
 
         return segment;
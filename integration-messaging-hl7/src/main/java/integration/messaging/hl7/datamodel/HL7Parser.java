@@ -0,0 +1,123 @@
+package integration.messaging.hl7.datamodel;
+
+/**
+ * Index based parsing helpers used by the HL7 message components.
+ * 
+ * The components record the start and end offset of their value within the original message and only split it into child components
+ * when the children are accessed.  The split methods return the start and end offsets of each child as pairs in an int array so no
+ * substrings are created until a value is actually needed.
+ * 
+ * The splitting matches String.split with a single character delimiter (trailing empty values are removed) so the components behave
+ * exactly as they did when they were split eagerly.
+ * 
+ * @author Brendan Douglas
+ *
+ */
+final class HL7Parser {
+    static final String SEGMENT_DELIMITERS = "|~^&";
+    static final String FIELD_DELIMITERS = "~^&";
+    static final String FIELD_REPETITION_DELIMITERS = "^&";
+    static final String SUBFIELD_DELIMITERS = "&";
+    
+    static final String MSH_PREFIX = "MSH|^~\\&|";
+
+    private HL7Parser() {
+    }
+
+    
+    /**
+     * Splits the source between start and end on the delimiter.  Returns the start and end offset of each value.
+     * 
+     * @param source
+     * @param start
+     * @param end
+     * @param delimiter
+     * @return
+     */
+    static int[] split(String source, int start, int end, char delimiter) {
+        int count = 1;
+        
+        for (int i = start; i < end; i++) {
+            if (source.charAt(i) == delimiter) {
+                count++;
+            }
+        }
+
+        // No delimiter so the entire value is the only value, even if it is empty.
+        if (count == 1) {
+            return new int[] {start, end};
+        }
+        
+        int[] bounds = new int[count * 2];
+        int valueStart = start;
+        int index = 0;
+        
+        for (int i = start; i <= end; i++) {
+            if (i == end || source.charAt(i) == delimiter) {
+                bounds[index++] = valueStart;
+                bounds[index++] = i;
+                valueStart = i + 1;
+            }
+        }
+        
+        // Remove trailing empty values.
+        while (index > 0 && bounds[index - 1] == bounds[index - 2]) {
+            index -= 2;
+        }
+        
+        if (index == bounds.length) {
+            return bounds;
+        }
+        
+        int[] trimmed = new int[index];
+        System.arraycopy(bounds, 0, trimmed, 0, index);
+        
+        return trimmed;
+    }
+    
+    
+    /**
+     * Returns the start and end offset of a value which is not split.
+     * 
+     * @param start
+     * @param end
+     * @return
+     */
+    static int[] whole(int start, int end) {
+        return new int[] {start, end};
+    }
+    
+    
+    /**
+     * Is the value between start and end exactly what the component would produce if it was split and joined again?  This is the case
+     * unless there is an empty trailing value at some level, which is a delimiter followed by either the end of the value or a higher level
+     * delimiter.  When true the original value can be returned without splitting.
+     * 
+     * @param source
+     * @param start
+     * @param end
+     * @param delimiters the delimiters from the highest level to the lowest.
+     * @return
+     */
+    static boolean isUnchangedBySplit(String source, int start, int end, String delimiters) {
+        for (int i = start; i < end; i++) {
+            int level = delimiters.indexOf(source.charAt(i));
+            
+            if (level == -1) {
+                continue;
+            }
+            
+            if (i + 1 == end) {
+                return false;
+            }
+            
+            int nextLevel = delimiters.indexOf(source.charAt(i + 1));
+            
+            if (nextLevel != -1 && nextLevel < level) {
+                return false;
+            }
+        }
+        
+        return true;
+    }
+}
@@ -13,28 +13,46 @@ public class MSHSegment extends Segment implements Serializable {
     private static final long serialVersionUID = -8797054428191615724L;
 
     public MSHSegment(String segment, HL7Message message) {
-        this.message = message;
-
-        String[] splitSegmentFields = segment.split("\\|");
+        this(segment, 0, segment.length(), message);
+    }
 
-        fields.add(new Field(splitSegmentFields[0], true, this));
+    MSHSegment(String source, int start, int end, HL7Message message) {
+        super(source, start, end, message);
+    }
 
-        int startIndex = 1;
+    /**
+     * MSH-1 is the field separator and MSH-2 the encoding characters so neither is split.
+     */
+    @Override
+    protected void parseFields(int[] bounds) {
+        fields.add(new Field(source, bounds[0], bounds[1], true, this));
 
-        startIndex = 2;
         fields.add(new Field("|", false, this));
-        fields.add(new Field(splitSegmentFields[1], false, this));
+        fields.add(new Field(source, bounds[2], bounds[3], false, this));
 
-        for (int i = startIndex; i < splitSegmentFields.length; i++) {
-            String value = splitSegmentFields[i];
-            Field field = new Field(value, true, this);
+        for (int i = 4; i < bounds.length; i += 2) {
+            Field field = new Field(source, bounds[i], bounds[i + 1], true, this);
             fields.add(field);
         }
     }
 
+    /**
+     * The encoding characters are always written as ^~\& so the unparsed segment can only be returned as is if it uses them.
+     */
+    @Override
+    protected boolean isUnparsedValueUnchanged() {
+        int prefixEnd = start + HL7Parser.MSH_PREFIX.length();
+
+        return end > prefixEnd && source.startsWith(HL7Parser.MSH_PREFIX, start) && HL7Parser.isUnchangedBySplit(source, prefixEnd, end, HL7Parser.SEGMENT_DELIMITERS);
+    }
+
     @Override
     public String toString() {
-        String segment = fields.stream().skip(3).map(Field::toString).collect(Collectors.joining("|"));
+        if (fields == null && isUnparsedValueUnchanged()) {
+            return source.substring(start, end);
+        }
+
+        String segment = fields().stream().skip(3).map(Field::toString).collect(Collectors.joining("|"));
 
         return "MSH|^~\\&|" + segment;
     }
@@ -49,6 +67,16 @@ public class MSHSegment extends Segment implements Serializable {
         return this.getField(9);
     }
 
+    /**
+     * Returns the message control id.  MSH-10.
+     * 
+     * @return
+     * @throws Exception
+     */
+    public String getMessageControlId() throws Exception {
+        return this.getFieldValue(10);
+    }
+
     /**
      * Changes the version of this message.
      * 
@@ -17,6 +17,10 @@ public class PIDSegment extends Segment implements Serializable {
         super(segment, message);
     }
 
+    PIDSegment(String source, int start, int end, HL7Message message) {
+        super(source, start, end, message);
+    }
+
     /**
      * Removes a patient identifier from the PID segment.
      * 
@@ -17,35 +17,73 @@ import ca.uhn.hl7v2.HL7Exception;
 public class Segment extends MessageComponent implements Serializable {
     private static final long serialVersionUID = -8797054428191615724L;
 
-    protected List<Field> fields = new ArrayList<Field>();
+    // Null until the fields are accessed.
+    protected List<Field> fields = null;
     protected HL7Message message = null;
 
+    // The unparsed segment.  Only used until the fields are accessed.
+    protected String source;
+    protected int start;
+    protected int end;
+
     protected Segment() {
+        fields = new ArrayList<Field>();
     }
 
     public Segment(String segment, HL7Message message) {
-        this.message = message;
+        this(segment, 0, segment.length(), message);
+    }
 
-        String[] splitSegmentFields = segment.split("\\|");
+    Segment(String source, int start, int end, HL7Message message) {
+        this.message = message;
+        this.source = source;
+        this.start = start;
+        this.end = end;
+    }
 
-        fields.add(new Field(splitSegmentFields[0], true, this));
+    /**
+     * Returns the fields, splitting the segment the first time they are accessed.
+     * 
+     * @return
+     */
+    protected List<Field> fields() {
+        if (fields == null) {
+            fields = new ArrayList<Field>();
+            parseFields(HL7Parser.split(source, start, end, '|'));
+            source = null;
+        }
 
-        int startIndex = 1;
+        return fields;
+    }
 
-        for (int i = startIndex; i < splitSegmentFields.length; i++) {
-            String value = splitSegmentFields[i];
-            Field field = new Field(value, true, this);
+    /**
+     * Creates the fields from the start and end offset of each field within the segment.
+     * 
+     * @param bounds
+     */
+    protected void parseFields(int[] bounds) {
+        for (int i = 0; i < bounds.length; i += 2) {
+            Field field = new Field(source, bounds[i], bounds[i + 1], true, this);
             fields.add(field);
         }
     }
 
+    /**
+     * Can the unparsed segment be returned as is by toString?
+     * 
+     * @return
+     */
+    protected boolean isUnparsedValueUnchanged() {
+        return HL7Parser.isUnchangedBySplit(source, start, end, HL7Parser.SEGMENT_DELIMITERS);
+    }
+
     /**
      * Gets all the fields for this segment.
      * 
      * @return
      */
     public List<Field> getFields() {
-        return fields;
+        return fields();
     }
 
     /**
@@ -55,11 +93,16 @@ public class Segment extends MessageComponent implements Serializable {
      */
     public void setFields(List<Field> fields) throws Exception {
         this.fields = fields;
+        this.source = null;
     }
 
     @Override
     public String toString() {
-        return fields.stream().map(Field::toString).collect(Collectors.joining("|"));
+        if (fields == null && isUnparsedValueUnchanged()) {
+            return source.substring(start, end);
+        }
+
+        return fields().stream().map(Field::toString).collect(Collectors.joining("|"));
     }
 
     /**
@@ -69,11 +112,11 @@ public class Segment extends MessageComponent implements Serializable {
      * @return
      */
     public Field getField(int fieldIndex) throws Exception {
-        if (fieldIndex >= fields.size()) {
+        if (fieldIndex >= fields().size()) {
             addField("", fieldIndex);
         }
 
-        return fields.get(fieldIndex);
+        return fields().get(fieldIndex);
     }
 
     /**
@@ -95,7 +138,20 @@ public class Segment extends MessageComponent implements Serializable {
      * @return
      */
     public String getName() {
-        return fields.get(0).toString();
+        // The name can be read without splitting the segment.
+        if (fields == null) {
+            int nameEnd = source.indexOf('|', start);
+
+            if (nameEnd == -1 || nameEnd > end) {
+                nameEnd = end;
+            }
+
+            if (HL7Parser.isUnchangedBySplit(source, start, nameEnd, HL7Parser.FIELD_DELIMITERS)) {
+                return source.substring(start, nameEnd);
+            }
+        }
+
+        return fields().get(0).toString();
     }
 
     public HL7Message getMessage() {
@@ -108,7 +164,7 @@ public class Segment extends MessageComponent implements Serializable {
      * @param field
      */
     public void addField(Field field) throws Exception {
-        this.fields.add(field);
+        fields().add(field);
     }
 
     /**
@@ -152,7 +208,7 @@ public class Segment extends MessageComponent implements Serializable {
      * @throws Exception
      */
     public void clearField(int fieldIndex) throws Exception {
-        if (fieldIndex >= fields.size()) {
+        if (fieldIndex >= fields().size()) {
             return;
         }
 
@@ -458,14 +514,13 @@ public class Segment extends MessageComponent implements Serializable {
      */
     @Override
     public void setValue(String value) throws Exception {
-        fields.clear();
-
-        String[] splitFields = null;
+        fields = new ArrayList<Field>();
+        source = null;
 
-        splitFields = value.split("\\|");
+        int[] bounds = HL7Parser.split(value, 0, value.length(), '|');
 
-        for (String fieldValue : splitFields) {
-            Field field = new Field(fieldValue, true, this);
+        for (int i = 0; i < bounds.length; i += 2) {
+            Field field = new Field(value, bounds[i], bounds[i + 1], true, this);
             fields.add(field);
         }
     }
@@ -17,26 +17,49 @@ import org.apache.commons.lang3.StringUtils;
 public class Subfield extends MessageComponent implements Serializable {
     private static final long serialVersionUID = -8174677055244513493L;
 
-    private List<SubSubfield> subSubFields = new ArrayList<>();
+    // Null until the sub sub fields are accessed.
+    private List<SubSubfield> subSubFields = null;
 
     private FieldRepetition fieldRepetition = null;
 
+    // The unparsed value.  Only used until the sub sub fields are accessed.
+    private String source;
+    private int start;
+    private int end;
+    private boolean handleSeperators;
+
     public Subfield(String subField, boolean handleSeperators, FieldRepetition fieldRepetition) {
+        this(subField, 0, subField.length(), handleSeperators, fieldRepetition);
+    }
+
+    Subfield(String source, int start, int end, boolean handleSeperators, FieldRepetition fieldRepetition) {
         this.fieldRepetition = fieldRepetition;
+        this.source = source;
+        this.start = start;
+        this.end = end;
+        this.handleSeperators = handleSeperators;
+    }
 
-        String[] splitSubSubFields = null;
+    /**
+     * Returns the sub sub fields, splitting the value the first time they are accessed.
+     * 
+     * @return
+     */
+    private List<SubSubfield> subSubFields() {
+        if (subSubFields == null) {
+            int[] bounds = handleSeperators ? HL7Parser.split(source, start, end, '&') : HL7Parser.whole(start, end);
 
-        if (handleSeperators) {
-            splitSubSubFields = subField.split("\\&");
-        } else {
-            splitSubSubFields = new String[1];
-            splitSubSubFields[0] = subField;
-        }
+            subSubFields = new ArrayList<>(bounds.length / 2);
 
-        for (String value : splitSubSubFields) {
-            SubSubfield subSubField = new SubSubfield(value, this);
-            subSubFields.add(subSubField);
+            for (int i = 0; i < bounds.length; i += 2) {
+                SubSubfield subSubField = new SubSubfield(source.substring(bounds[i], bounds[i + 1]), this);
+                subSubFields.add(subSubField);
+            }
+
+            source = null;
         }
+
+        return subSubFields;
     }
 
     @Override
@@ -46,21 +69,21 @@ public class Subfield extends MessageComponent implements Serializable {
 
     @Override
     public void setValue(String value) throws Exception {
-        subSubFields.clear();
-
-        String[] splitSubSubFields = null;
-
-        splitSubSubFields = value.split("\\&");
+        subSubFields = null;
 
-        for (String subSubFieldValue : splitSubSubFields) {
-            SubSubfield subSubField = new SubSubfield(subSubFieldValue, this);
-            subSubFields.add(subSubField);
-        }
+        source = value;
+        start = 0;
+        end = value.length();
+        handleSeperators = true;
     }
 
     @Override
     public String toString() {
-        return subSubFields.stream().map(SubSubfield::toString).collect(Collectors.joining("&"));
+        if (subSubFields == null && (!handleSeperators || HL7Parser.isUnchangedBySplit(source, start, end, HL7Parser.SUBFIELD_DELIMITERS))) {
+            return source.substring(start, end);
+        }
+
+        return subSubFields().stream().map(SubSubfield::toString).collect(Collectors.joining("&"));
     }
 
     @Override
@@ -73,15 +96,16 @@ public class Subfield extends MessageComponent implements Serializable {
     }
 
     public SubSubfield getSubSubField(int subSubFieldIndex) {
-        return subSubFields.get(--subSubFieldIndex);
+        return subSubFields().get(--subSubFieldIndex);
     }
 
     public List<SubSubfield> getSubSubFields() {
-        return subSubFields;
+        return subSubFields();
     }
 
     public void setSubSubFields(List<SubSubfield> subSubFields) {
         this.subSubFields = subSubFields;
+        this.source = null;
     }
 
     /**
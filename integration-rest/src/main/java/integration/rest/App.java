@@ -6,12 +6,14 @@ import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableJpaRepositories(basePackages = "integration.core")
 @EntityScan(basePackages = "integration.core")
 @ComponentScan(basePackages = {"integration"})
 @EnableAsync
+@EnableScheduling
 public class App {
 
     public static void main(String[] args) {
@@ -0,0 +1,71 @@
+package integration.rest.controller;
+
+import java.util.Date;
+
+import integration.core.runtime.messaging.circuitbreaker.CircuitBreakerState;
+import integration.core.runtime.messaging.circuitbreaker.CircuitBreakerStatus;
+
+/**
+ * The state of an outbound adapter's circuit breaker.
+ */
+public class CircuitBreakerResponse {
+    private long componentId;
+    private String componentPath;
+    private CircuitBreakerState state;
+    private int consecutiveFailures;
+    private int failureThreshold;
+    private Date openUntil;
+    private String lastError;
+    private Date updatedDate;
+    
+    public CircuitBreakerResponse(CircuitBreakerStatus status) {
+        this.componentId = status.getComponentId();
+        this.componentPath = status.getComponentPath();
+        this.state = status.getState();
+        this.consecutiveFailures = status.getConsecutiveFailures();
+        this.failureThreshold = status.getFailureThreshold();
+        this.openUntil = status.getOpenUntil();
+        this.lastError = status.getLastError();
+        this.updatedDate = status.getUpdatedDate();
+    }
+
+    
+    public long getComponentId() {
+        return componentId;
+    }
+
+
+    public String getComponentPath() {
+        return componentPath;
+    }
+
+
+    public CircuitBreakerState getState() {
+        return state;
+    }
+
+
+    public int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+
+
+    public Date getOpenUntil() {
+        return openUntil;
+    }
+
+
+    public String getLastError() {
+        return lastError;
+    }
+
+
+    public Date getUpdatedDate() {
+        return updatedDate;
+    }
+}
@@ -0,0 +1,83 @@
+package integration.rest.controller;
+
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import integration.core.runtime.messaging.circuitbreaker.CircuitBreakerRegistry;
+import integration.core.runtime.messaging.circuitbreaker.CircuitBreakerStatus;
+
+/**
+ * A rest controller for the circuit breakers of the outbound adapters.  The state is read from the cluster wide cache the route nodes
+ * publish to and resets are broadcast to the route nodes.
+ * 
+ * @author Brendan Douglas
+ *
+ */
+@RestController
+@RequestMapping("/circuitbreaker")
+public class CircuitBreakerRestController {
+    
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    
+    /**
+     * Gets the state of all the circuit breakers.
+     * 
+     * @return
+     */
+    @GetMapping(value = "/components")
+    public List<CircuitBreakerResponse> getCircuitBreakers() {
+        return circuitBreakerRegistry.getAllStatuses().stream()
+                .sorted(Comparator.comparingLong(CircuitBreakerStatus::getComponentId))
+                .map(CircuitBreakerResponse::new)
+                .toList();
+    }
+
+    
+    /**
+     * Gets the state of a component's circuit breaker.
+     * 
+     * @param id
+     * @return
+     */
+    @GetMapping(value = "/component/{id}")
+    public ResponseEntity<CircuitBreakerResponse> getCircuitBreaker(@PathVariable("id") long id) {
+        CircuitBreakerStatus status = circuitBreakerRegistry.getStatus(id);
+        
+        if (status == null) {
+            return ResponseEntity.notFound().build();
+        }
+        
+        return ResponseEntity.ok(new CircuitBreakerResponse(status));
+    }
+
+    
+    /**
+     * Closes a component's circuit breaker on every node so the adapter starts sending again straight away.  The reset is applied
+     * asynchronously so the state returned is the state before the reset.
+     * 
+     * @param id
+     * @return
+     */
+    @PostMapping(value = "/component/{id}/reset")
+    public ResponseEntity<CircuitBreakerResponse> resetCircuitBreaker(@PathVariable("id") long id) {
+        CircuitBreakerStatus status = circuitBreakerRegistry.getStatus(id);
+        
+        if (status == null) {
+            return ResponseEntity.notFound().build();
+        }
+        
+        circuitBreakerRegistry.requestReset(id);
+        
+        return ResponseEntity.accepted().body(new CircuitBreakerResponse(status));
+    }
+}
@@ -0,0 +1,125 @@
+package integration.rest.controller;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import integration.core.exception.ComponentNotFoundException;
+import integration.core.runtime.messaging.exception.retryable.ComponentAccessException;
+import integration.core.runtime.messaging.exception.retryable.OutboxEventProcessingException;
+import integration.core.runtime.messaging.service.InboxService;
+import integration.core.runtime.messaging.service.OutboxService;
+import integration.core.service.ComponentService;
+
+/**
+ * A rest controller for inbox and outbox events.  Events which failed too many times or could not be retried are parked and are not
+ * processed again until they are replayed.
+ * 
+ * @author Brendan Douglas
+ *
+ */
+@RestController
+@RequestMapping("/event")
+public class EventRestController {
+    
+    @Autowired
+    private InboxService inboxService;
+    
+    @Autowired
+    private OutboxService outboxService;
+    
+    @Autowired
+    private ComponentService componentConfigurationService;
+    
+    @ExceptionHandler(ComponentNotFoundException.class)
+    public ResponseEntity<Map<String, String>> handleNotFound(ComponentNotFoundException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Component Not Found");
+        error.put("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+
+    
+    /**
+     * Gets the number of parked events for each component which has parked events.
+     * 
+     * @return
+     * @throws OutboxEventProcessingException 
+     */
+    @GetMapping(value = "/parked")
+    public List<ParkedEventsResponse> getParkedEvents() throws OutboxEventProcessingException {
+        Map<Long, Long> inboxCounts = inboxService.getParkedEventCountByComponent();
+        Map<Long, Long> outboxCounts = outboxService.getParkedEventCountByComponent();
+        
+        Set<Long> componentIds = new TreeSet<>(inboxCounts.keySet());
+        componentIds.addAll(outboxCounts.keySet());
+        
+        List<ParkedEventsResponse> response = new ArrayList<>();
+        
+        for (Long componentId : componentIds) {
+            response.add(new ParkedEventsResponse(componentId, inboxCounts.getOrDefault(componentId, 0L), outboxCounts.getOrDefault(componentId, 0L)));
+        }
+        
+        return response;
+    }
+
+    
+    /**
+     * Replays the parked inbox and outbox events of a component.
+     * 
+     * @param id
+     * @return the number of events replayed.
+     * @throws ComponentNotFoundException 
+     * @throws ComponentAccessException 
+     * @throws OutboxEventProcessingException 
+     */
+    @PostMapping(value = "/component/{id}/parked/replay")
+    public ResponseEntity<ParkedEventsResponse> replayParkedEvents(@PathVariable("id") long id) throws ComponentNotFoundException, ComponentAccessException, OutboxEventProcessingException {
+        // Make sure the component exists.
+        componentConfigurationService.getComponent(id);
+        
+        return ResponseEntity.ok(replay(id));
+    }
+
+    
+    /**
+     * Replays the parked events of every component.
+     * 
+     * @return the number of events replayed for each component.
+     * @throws OutboxEventProcessingException 
+     */
+    @PostMapping(value = "/parked/replay")
+    public ResponseEntity<List<ParkedEventsResponse>> replayAllParkedEvents() throws OutboxEventProcessingException {
+        Set<Long> componentIds = new TreeSet<>(inboxService.getParkedEventCountByComponent().keySet());
+        componentIds.addAll(outboxService.getParkedEventCountByComponent().keySet());
+        
+        List<ParkedEventsResponse> response = new ArrayList<>();
+        
+        for (Long componentId : componentIds) {
+            response.add(replay(componentId));
+        }
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    
+    private ParkedEventsResponse replay(long componentId) throws OutboxEventProcessingException {
+        int inboxEvents = inboxService.replayParkedEvents(componentId);
+        int outboxEvents = outboxService.replayParkedEvents(componentId);
+        
+        return new ParkedEventsResponse(componentId, inboxEvents, outboxEvents);
+    }
+}
@@ -0,0 +1,46 @@
+package integration.rest.controller;
+
+/**
+ * The number of parked inbox and outbox events for a component.  Also used to return the number of events replayed.
+ */
+public class ParkedEventsResponse {
+    private long componentId;
+    private long inboxEvents;
+    private long outboxEvents;
+    
+    public ParkedEventsResponse(long componentId, long inboxEvents, long outboxEvents) {
+        this.componentId = componentId;
+        this.inboxEvents = inboxEvents;
+        this.outboxEvents = outboxEvents;
+    }
+
+    
+    public long getComponentId() {
+        return componentId;
+    }
+
+
+    public void setComponentId(long componentId) {
+        this.componentId = componentId;
+    }
+
+
+    public long getInboxEvents() {
+        return inboxEvents;
+    }
+
+
+    public void setInboxEvents(long inboxEvents) {
+        this.inboxEvents = inboxEvents;
+    }
+
+
+    public long getOutboxEvents() {
+        return outboxEvents;
+    }
+
+
+    public void setOutboxEvents(long outboxEvents) {
+        this.outboxEvents = outboxEvents;
+    }
+}
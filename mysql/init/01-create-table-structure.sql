@@ -48,11 +48,14 @@ CREATE TABLE `component_property` (
 CREATE TABLE `message` (
   `id` int NOT NULL AUTO_INCREMENT,
   `content` blob,
+  `compressed_content` longblob,
+  `content_hash` varchar(64) DEFAULT NULL,
   `content_type` varchar(45) DEFAULT NULL,
   `created_by_user_id` varchar(45) DEFAULT NULL,
   `created_date` datetime DEFAULT NULL,
   PRIMARY KEY (`id`),
-  UNIQUE KEY `message_id_UNIQUE` (`id`)
+  UNIQUE KEY `message_id_UNIQUE` (`id`),
+  KEY `content_hash` (`content_hash`)
 ) ENGINE=InnoDB AUTO_INCREMENT=22 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 SELECT * FROM integration.component;
 
@@ -67,10 +70,13 @@ CREATE TABLE `outbox_event` (
   `retry_count` int DEFAULT NULL,
   `retry_after` datetime DEFAULT NULL,
   `error` blob,
+  `claimed_by` varchar(100) DEFAULT NULL,
+  `claim_expires` datetime DEFAULT NULL,
+  `parked_date` datetime DEFAULT NULL,
   `created_by_user_id` varchar(45) DEFAULT NULL,
   `created_date` datetime DEFAULT NULL,
   PRIMARY KEY (`id`),
-  KEY `component` (`component_id`),
+  KEY `poll` (`component_id`,`parked_date`,`created_date`),
   KEY `type` (`type`)
 ) ENGINE=InnoDB AUTO_INCREMENT=43 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 
@@ -86,10 +92,13 @@ CREATE TABLE `inbox_event` (
   `retry_count` int DEFAULT NULL,
   `retry_after` datetime DEFAULT NULL,
   `error` blob,
+  `claimed_by` varchar(100) DEFAULT NULL,
+  `claim_expires` datetime DEFAULT NULL,
+  `parked_date` datetime DEFAULT NULL,
   `created_by_user_id` varchar(45) DEFAULT NULL,
   `created_date` datetime DEFAULT NULL,
   PRIMARY KEY (`id`),
-  KEY `component` (`component_id`),
+  KEY `poll` (`component_id`,`parked_date`,`created_date`),
   KEY `type` (`type`)
 ) ENGINE=InnoDB AUTO_INCREMENT=43 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 
@@ -165,7 +174,8 @@ CREATE TABLE `message_flow_property` (
   `created_date` datetime DEFAULT NULL,
   `created_by_user_id` varchar(45) DEFAULT NULL,
   PRIMARY KEY (`id`),
-  UNIQUE KEY `id_UNIQUE` (`id`)
+  UNIQUE KEY `id_UNIQUE` (`id`),
+  KEY `message_flow` (`message_flow_id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 
 
@@ -0,0 +1,29 @@
+-- Converts an existing database to content addressed message storage.
+--
+-- Adds the hash and compressed content columns, backfills the hash for existing messages, points every message flow
+-- at a single message per distinct content and content type, and then removes the duplicate messages.
+
+ALTER TABLE `message` ADD COLUMN `compressed_content` longblob AFTER `content`;
+ALTER TABLE `message` ADD COLUMN `content_hash` varchar(64) DEFAULT NULL AFTER `compressed_content`;
+
+UPDATE `message` SET `content_hash` = SHA2(`content`, 256) WHERE `content` IS NOT NULL AND `content_hash` IS NULL;
+
+ALTER TABLE `message` ADD KEY `content_hash` (`content_hash`);
+
+CREATE TEMPORARY TABLE `message_canonical` AS
+  SELECT `content_hash`, `content_type`, MIN(`id`) AS `canonical_id`
+  FROM `message`
+  WHERE `content_hash` IS NOT NULL
+  GROUP BY `content_hash`, `content_type`;
+
+UPDATE `message_flow` mf
+  JOIN `message` m ON m.`id` = mf.`message_id`
+  JOIN `message_canonical` c ON c.`content_hash` = m.`content_hash` AND c.`content_type` <=> m.`content_type`
+  SET mf.`message_id` = c.`canonical_id`
+  WHERE m.`id` <> c.`canonical_id`;
+
+DELETE m FROM `message` m
+  JOIN `message_canonical` c ON c.`content_hash` = m.`content_hash` AND c.`content_type` <=> m.`content_type`
+  WHERE m.`id` <> c.`canonical_id`;
+
+DROP TEMPORARY TABLE `message_canonical`;
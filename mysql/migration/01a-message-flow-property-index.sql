@@ -0,0 +1,8 @@
+-- Indexes the message flow property table on the message flow.
+--
+-- Only the properties set on a message flow are stored against it so resolving a message flow's properties reads the properties of
+-- each of its ancestors by message flow id.  Without the index every one of those reads is a full table scan.  Run before
+-- 04-message-flow-partitioning.sql, which keeps the index when it partitions the table.  MySQL has no IF NOT EXISTS for indexes so do
+-- not run this against a database created with the key already in place.
+
+ALTER TABLE `message_flow_property` ADD KEY `message_flow` (`message_flow_id`), ALGORITHM=INPLACE, LOCK=NONE;
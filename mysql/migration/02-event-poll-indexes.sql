@@ -0,0 +1,8 @@
+-- Replaces the component index on the event tables with an index matching the poll query.
+--
+-- The poll filters on component and orders by created date so with this index the oldest events for a component are read in order and
+-- the read stops once the batch is full, rather than the whole backlog for the component being sorted on every poll.  InnoDB secondary
+-- indexes include the primary key so the id tie break is covered too.
+
+ALTER TABLE `outbox_event` ADD KEY `poll` (`component_id`,`created_date`), DROP KEY `component`, ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE `inbox_event` ADD KEY `poll` (`component_id`,`created_date`), DROP KEY `component`, ALGORITHM=INPLACE, LOCK=NONE;
@@ -0,0 +1,9 @@
+-- Adds the claim columns to the inbox and outbox events for databases created before events were claimed.
+--
+-- A node claims the events it reads by recording its name and a lease expiry time so the other nodes skip them until they have been
+-- processed or the lease has expired.  Run it after 02-event-poll-indexes.sql and before 03-event-table-partitioning.sql, which copies
+-- the claim columns into the partitioned tables.  MySQL has no IF NOT EXISTS for columns so do not run this against a database which
+-- already has them.
+
+ALTER TABLE `outbox_event` ADD COLUMN `claimed_by` varchar(100) DEFAULT NULL, ADD COLUMN `claim_expires` datetime DEFAULT NULL, ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE `inbox_event` ADD COLUMN `claimed_by` varchar(100) DEFAULT NULL, ADD COLUMN `claim_expires` datetime DEFAULT NULL, ALGORITHM=INPLACE, LOCK=NONE;
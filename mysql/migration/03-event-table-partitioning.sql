@@ -0,0 +1,135 @@
+-- Optional.  Converts the inbox and outbox event tables to tables partitioned by day on the created date.
+--
+-- Events are deleted once processed so the old partitions empty out and are dropped whole rather than leaving purged space and index
+-- entries behind.  Run with the routes stopped.  Once converted set integration.event.partitioning.enabled=true so the partitions for the
+-- coming days are created and empty old partitions dropped by maintain_event_partitions.
+--
+-- Every unique key has to include the partition column so the primary key becomes (id, created_date).  Rows for days without a partition
+-- go to the p_future partition which is split as new days are added.
+--
+-- Requires the claim columns from 02a-event-claims.sql.
+
+DELIMITER //
+
+CREATE PROCEDURE `maintain_event_partitions`(IN days_ahead INT)
+BEGIN
+  DECLARE event_table VARCHAR(64);
+  DECLARE table_index INT DEFAULT 0;
+  DECLARE day_index INT;
+  DECLARE partition_day DATE;
+  DECLARE new_partition VARCHAR(64);
+  DECLARE old_partition VARCHAR(64);
+
+  WHILE table_index < 2 DO
+    SET event_table = IF(table_index = 0, 'outbox_event', 'inbox_event');
+    SET day_index = 0;
+
+    WHILE day_index <= days_ahead DO
+      SET partition_day = CURRENT_DATE + INTERVAL day_index DAY;
+      SET new_partition = CONCAT('p_', DATE_FORMAT(partition_day, '%Y%m%d'));
+
+      IF NOT EXISTS (SELECT 1 FROM information_schema.partitions p
+                     WHERE p.table_schema = DATABASE() AND p.table_name = event_table AND p.partition_name = new_partition) THEN
+        SET @statement = CONCAT('ALTER TABLE `', event_table, '` REORGANIZE PARTITION p_future INTO (',
+                                'PARTITION ', new_partition, ' VALUES LESS THAN (''', partition_day + INTERVAL 1 DAY, '''), ',
+                                'PARTITION p_future VALUES LESS THAN (MAXVALUE))');
+        PREPARE maintenance FROM @statement;
+        EXECUTE maintenance;
+        DEALLOCATE PREPARE maintenance;
+      END IF;
+
+      SET day_index = day_index + 1;
+    END WHILE;
+
+    -- Nothing new is written to a past day so once a partition older than yesterday is empty it stays empty.
+    old_partitions: LOOP
+      SET old_partition = NULL;
+
+      SELECT MIN(p.partition_name) INTO old_partition
+      FROM information_schema.partitions p
+      WHERE p.table_schema = DATABASE()
+        AND p.table_name = event_table
+        AND p.partition_name REGEXP '^p_[0-9]{8}$'
+        AND STR_TO_DATE(SUBSTRING(p.partition_name, 3), '%Y%m%d') < CURRENT_DATE - INTERVAL 1 DAY
+        AND p.partition_name > IFNULL(@checked_partition, '');
+
+      IF old_partition IS NULL THEN
+        LEAVE old_partitions;
+      END IF;
+
+      SET @checked_partition = old_partition;
+      SET @statement = CONCAT('SELECT COUNT(*) INTO @partition_rows FROM `', event_table, '` PARTITION (', old_partition, ')');
+      PREPARE maintenance FROM @statement;
+      EXECUTE maintenance;
+      DEALLOCATE PREPARE maintenance;
+
+      IF @partition_rows = 0 THEN
+        SET @statement = CONCAT('ALTER TABLE `', event_table, '` DROP PARTITION ', old_partition);
+        PREPARE maintenance FROM @statement;
+        EXECUTE maintenance;
+        DEALLOCATE PREPARE maintenance;
+      END IF;
+    END LOOP;
+
+    SET @checked_partition = NULL;
+    SET table_index = table_index + 1;
+  END WHILE;
+END //
+
+DELIMITER ;
+
+
+RENAME TABLE `outbox_event` TO `outbox_event_unpartitioned`, `inbox_event` TO `inbox_event_unpartitioned`;
+
+CREATE TABLE `outbox_event` (
+  `id` int NOT NULL AUTO_INCREMENT,
+  `event_date_time` datetime DEFAULT NULL,
+  `message_flow_id` int DEFAULT NULL,
+  `component_id` int DEFAULT NULL,
+  `route_id` int DEFAULT NULL,
+  `owner` varchar(45) DEFAULT NULL,
+  `retry_count` int DEFAULT NULL,
+  `retry_after` datetime DEFAULT NULL,
+  `error` blob,
+  `claimed_by` varchar(100) DEFAULT NULL,
+  `claim_expires` datetime DEFAULT NULL,
+  `created_by_user_id` varchar(45) DEFAULT NULL,
+  `created_date` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (`id`,`created_date`),
+  KEY `poll` (`component_id`,`created_date`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci
+PARTITION BY RANGE COLUMNS(`created_date`) (PARTITION p_future VALUES LESS THAN (MAXVALUE));
+
+CREATE TABLE `inbox_event` (
+  `id` int NOT NULL AUTO_INCREMENT,
+  `event_date_time` datetime DEFAULT NULL,
+  `message_flow_id` int DEFAULT NULL,
+  `component_id` int DEFAULT NULL,
+  `route_id` int DEFAULT NULL,
+  `owner` varchar(45) DEFAULT NULL,
+  `jms_message_id` varchar(100) DEFAULT NULL,
+  `retry_count` int DEFAULT NULL,
+  `retry_after` datetime DEFAULT NULL,
+  `error` blob,
+  `claimed_by` varchar(100) DEFAULT NULL,
+  `claim_expires` datetime DEFAULT NULL,
+  `created_by_user_id` varchar(45) DEFAULT NULL,
+  `created_date` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (`id`,`created_date`),
+  KEY `poll` (`component_id`,`created_date`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci
+PARTITION BY RANGE COLUMNS(`created_date`) (PARTITION p_future VALUES LESS THAN (MAXVALUE));
+
+INSERT INTO `outbox_event` (`id`, `event_date_time`, `message_flow_id`, `component_id`, `route_id`, `owner`, `retry_count`, `retry_after`, `error`, `claimed_by`, `claim_expires`, `created_by_user_id`, `created_date`)
+  SELECT `id`, `event_date_time`, `message_flow_id`, `component_id`, `route_id`, `owner`, `retry_count`, `retry_after`, `error`, `claimed_by`, `claim_expires`, `created_by_user_id`, COALESCE(`created_date`, `event_date_time`, CURRENT_TIMESTAMP)
+  FROM `outbox_event_unpartitioned`;
+
+INSERT INTO `inbox_event` (`id`, `event_date_time`, `message_flow_id`, `component_id`, `route_id`, `owner`, `jms_message_id`, `retry_count`, `retry_after`, `error`, `claimed_by`, `claim_expires`, `created_by_user_id`, `created_date`)
+  SELECT `id`, `event_date_time`, `message_flow_id`, `component_id`, `route_id`, `owner`, `jms_message_id`, `retry_count`, `retry_after`, `error`, `claimed_by`, `claim_expires`, `created_by_user_id`, COALESCE(`created_date`, `event_date_time`, CURRENT_TIMESTAMP)
+  FROM `inbox_event_unpartitioned`;
+
+-- The events created before the conversion all end up in today's partition.
+CALL maintain_event_partitions(7);
+
+DROP TABLE `outbox_event_unpartitioned`;
+DROP TABLE `inbox_event_unpartitioned`;
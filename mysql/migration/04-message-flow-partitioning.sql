@@ -0,0 +1,125 @@
+-- Optional.  Converts the message flow tables to tables partitioned by day on the created date so the message flow retention can drop
+-- whole days instead of deleting row by row.
+--
+-- Partitioned: message_flow_group, message_flow, message_flow_property, message_flow_error and message_flow_filtered.  The message table
+-- is not partitioned as a stored message is shared by every message flow with the same content, so old messages are only deleted once no
+-- message flow refers to them.
+--
+-- Run with the routes stopped.  Once converted set integration.retention.age-days on every node and integration.retention.purge.enabled=true
+-- on one node.  Every unique key has to include the partition column so the primary keys become (id, created_date).  The rows created
+-- before the conversion all end up in the first day partition.
+
+DELIMITER //
+
+CREATE PROCEDURE `create_day_partitions`(IN parent_table VARCHAR(64), IN days_ahead INT)
+BEGIN
+  DECLARE day_index INT DEFAULT 0;
+  DECLARE partition_day DATE;
+  DECLARE new_partition VARCHAR(64);
+
+  WHILE day_index <= days_ahead DO
+    SET partition_day = CURRENT_DATE + INTERVAL day_index DAY;
+    SET new_partition = CONCAT('p_', DATE_FORMAT(partition_day, '%Y%m%d'));
+
+    IF NOT EXISTS (SELECT 1 FROM information_schema.partitions p
+                   WHERE p.table_schema = DATABASE() AND p.table_name = parent_table AND p.partition_name = new_partition) THEN
+      SET @statement = CONCAT('ALTER TABLE `', parent_table, '` REORGANIZE PARTITION p_future INTO (',
+                              'PARTITION ', new_partition, ' VALUES LESS THAN (''', partition_day + INTERVAL 1 DAY, '''), ',
+                              'PARTITION p_future VALUES LESS THAN (MAXVALUE))');
+      PREPARE maintenance FROM @statement;
+      EXECUTE maintenance;
+      DEALLOCATE PREPARE maintenance;
+    END IF;
+
+    SET day_index = day_index + 1;
+  END WHILE;
+END //
+
+
+-- Drops the day partitions before a day whether or not they are empty.  The caller is responsible for checking they are no longer needed.
+CREATE PROCEDURE `drop_day_partitions`(IN parent_table VARCHAR(64), IN before_day DATE)
+BEGIN
+  DECLARE old_partitions TEXT;
+
+  SELECT GROUP_CONCAT(p.partition_name) INTO old_partitions
+  FROM information_schema.partitions p
+  WHERE p.table_schema = DATABASE()
+    AND p.table_name = parent_table
+    AND p.partition_name REGEXP '^p_[0-9]{8}$'
+    AND STR_TO_DATE(SUBSTRING(p.partition_name, 3), '%Y%m%d') < before_day;
+
+  IF old_partitions IS NOT NULL THEN
+    SET @statement = CONCAT('ALTER TABLE `', parent_table, '` DROP PARTITION ', old_partitions);
+    PREPARE maintenance FROM @statement;
+    EXECUTE maintenance;
+    DEALLOCATE PREPARE maintenance;
+  END IF;
+END //
+
+
+CREATE PROCEDURE `maintain_message_flow_partitions`(IN days_ahead INT)
+BEGIN
+  CALL create_day_partitions('message_flow_group', days_ahead);
+  CALL create_day_partitions('message_flow', days_ahead);
+  CALL create_day_partitions('message_flow_property', days_ahead);
+  CALL create_day_partitions('message_flow_error', days_ahead);
+  CALL create_day_partitions('message_flow_filtered', days_ahead);
+END //
+
+
+CREATE PROCEDURE `drop_message_flow_partitions`(IN before_day DATE)
+BEGIN
+  -- Dropping a partition locks the table.  Give up rather than queue behind a long transaction and block the routes.
+  SET SESSION lock_wait_timeout = 5;
+
+  CALL drop_day_partitions('message_flow_group', before_day);
+  CALL drop_day_partitions('message_flow', before_day);
+  CALL drop_day_partitions('message_flow_property', before_day);
+  CALL drop_day_partitions('message_flow_error', before_day);
+  CALL drop_day_partitions('message_flow_filtered', before_day);
+END //
+
+DELIMITER ;
+
+
+UPDATE `message_flow_group` SET `created_date` = CURRENT_TIMESTAMP WHERE `created_date` IS NULL;
+UPDATE `message_flow` SET `created_date` = CURRENT_TIMESTAMP WHERE `created_date` IS NULL;
+UPDATE `message_flow_property` SET `created_date` = CURRENT_TIMESTAMP WHERE `created_date` IS NULL;
+UPDATE `message_flow_error` SET `created_date` = CURRENT_TIMESTAMP WHERE `created_date` IS NULL;
+UPDATE `message_flow_filtered` SET `created_date` = CURRENT_TIMESTAMP WHERE `created_date` IS NULL;
+
+ALTER TABLE `message_flow_group`
+  MODIFY `created_date` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  DROP PRIMARY KEY, ADD PRIMARY KEY (`id`,`created_date`),
+  ADD KEY `created_date` (`created_date`);
+
+ALTER TABLE `message_flow`
+  MODIFY `created_date` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  DROP PRIMARY KEY, ADD PRIMARY KEY (`id`,`created_date`),
+  ADD KEY `group` (`group_id`),
+  ADD KEY `message` (`message_id`);
+
+ALTER TABLE `message_flow_property`
+  MODIFY `created_date` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  DROP PRIMARY KEY, ADD PRIMARY KEY (`id`,`created_date`),
+  DROP KEY `id_UNIQUE`;
+
+ALTER TABLE `message_flow_error`
+  MODIFY `created_date` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  DROP PRIMARY KEY, ADD PRIMARY KEY (`id`,`created_date`),
+  ADD KEY `message_flow` (`message_flow_id`);
+
+ALTER TABLE `message_flow_filtered`
+  MODIFY `created_date` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  DROP PRIMARY KEY, ADD PRIMARY KEY (`id`,`created_date`),
+  ADD KEY `message_flow` (`message_flow_id`);
+
+ALTER TABLE `message` ADD KEY `created_date` (`created_date`);
+
+ALTER TABLE `message_flow_group` PARTITION BY RANGE COLUMNS(`created_date`) (PARTITION p_future VALUES LESS THAN (MAXVALUE));
+ALTER TABLE `message_flow` PARTITION BY RANGE COLUMNS(`created_date`) (PARTITION p_future VALUES LESS THAN (MAXVALUE));
+ALTER TABLE `message_flow_property` PARTITION BY RANGE COLUMNS(`created_date`) (PARTITION p_future VALUES LESS THAN (MAXVALUE));
+ALTER TABLE `message_flow_error` PARTITION BY RANGE COLUMNS(`created_date`) (PARTITION p_future VALUES LESS THAN (MAXVALUE));
+ALTER TABLE `message_flow_filtered` PARTITION BY RANGE COLUMNS(`created_date`) (PARTITION p_future VALUES LESS THAN (MAXVALUE));
+
+CALL maintain_message_flow_partitions(7);
@@ -0,0 +1,8 @@
+-- Adds the parked state to the inbox and outbox events.
+--
+-- An event is parked when it cannot be retried or has failed as many times as the component's retry policy allows.  Parked events are
+-- not selected by the event polls until they are replayed.  The poll index leads with the component and the parked date so the poll
+-- only reads the events of the component which are not parked, still in created date order.
+
+ALTER TABLE `outbox_event` ADD COLUMN `parked_date` datetime DEFAULT NULL, DROP KEY `poll`, ADD KEY `poll` (`component_id`,`parked_date`,`created_date`), ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE `inbox_event` ADD COLUMN `parked_date` datetime DEFAULT NULL, DROP KEY `poll`, ADD KEY `poll` (`component_id`,`parked_date`,`created_date`), ALGORITHM=INPLACE, LOCK=NONE;
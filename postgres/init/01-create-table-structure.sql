@@ -65,11 +65,15 @@ CREATE TABLE component_property (
 CREATE TABLE message (
   id                 INTEGER GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
   content            TEXT,
+  compressed_content BYTEA,
+  content_hash       VARCHAR(64),
   content_type       VARCHAR(45),
   created_by_user_id VARCHAR(45),
   created_date       TIMESTAMP
 );
 
+CREATE INDEX idx_message_content_hash ON message (content_hash);
+
 CREATE TABLE outbox_event (
   id                 INTEGER GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
   event_date_time    TIMESTAMP,
@@ -80,11 +84,15 @@ CREATE TABLE outbox_event (
   retry_count        INTEGER,
   retry_after        TIMESTAMP,
   error              TEXT,
+  claimed_by         VARCHAR(100),
+  claim_expires      TIMESTAMP,
+  parked_date        TIMESTAMP,
   created_by_user_id VARCHAR(45),
   created_date       TIMESTAMP
 );
 
-CREATE INDEX idx_outbox_event_component ON outbox_event (component_id);
+-- Matches the poll query so the oldest events for a component are read in order without sorting the backlog.  Parked events are never polled.
+CREATE INDEX idx_outbox_event_poll ON outbox_event (component_id, created_date, id) WHERE parked_date IS NULL;
 
 CREATE TABLE inbox_event (
   id                 INTEGER GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
@@ -97,11 +105,15 @@ CREATE TABLE inbox_event (
   retry_count        INTEGER,
   retry_after        TIMESTAMP,
   error              TEXT,
+  claimed_by         VARCHAR(100),
+  claim_expires      TIMESTAMP,
+  parked_date        TIMESTAMP,
   created_by_user_id VARCHAR(45),
   created_date       TIMESTAMP
 );
 
-CREATE INDEX idx_inbox_event_component ON inbox_event (component_id);
+-- Matches the poll query so the oldest events for a component are read in order without sorting the backlog.  Parked events are never polled.
+CREATE INDEX idx_inbox_event_poll ON inbox_event (component_id, created_date, id) WHERE parked_date IS NULL;
 
 CREATE TABLE message_flow_group (
   id                 INTEGER GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
@@ -163,6 +175,8 @@ CREATE TABLE message_flow_property (
   created_by_user_id VARCHAR(45)
 );
 
+CREATE INDEX idx_message_flow_property_message_flow ON message_flow_property (message_flow_id);
+
 -- Seed data equivalent
 INSERT INTO camel_messageprocessed_seq (sequence_name, next_val)
 VALUES ('default', 1)
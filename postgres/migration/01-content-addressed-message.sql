@@ -0,0 +1,30 @@
+-- Converts an existing database to content addressed message storage.
+--
+-- Adds the hash and compressed content columns, backfills the hash for existing messages, points every message flow
+-- at a single message per distinct content and content type, and then removes the duplicate messages.
+
+ALTER TABLE message ADD COLUMN compressed_content BYTEA;
+ALTER TABLE message ADD COLUMN content_hash VARCHAR(64);
+
+UPDATE message SET content_hash = encode(sha256(convert_to(content, 'UTF8')), 'hex') WHERE content IS NOT NULL AND content_hash IS NULL;
+
+CREATE INDEX idx_message_content_hash ON message (content_hash);
+
+CREATE TEMPORARY TABLE message_canonical AS
+  SELECT m.id AS message_id, 
+         MIN(m.id) OVER (PARTITION BY m.content_hash, m.content_type) AS canonical_id
+  FROM message m
+  WHERE m.content_hash IS NOT NULL;
+
+UPDATE message_flow mf
+  SET message_id = c.canonical_id
+  FROM message_canonical c
+  WHERE mf.message_id = c.message_id
+  AND c.message_id <> c.canonical_id;
+
+DELETE FROM message m
+  USING message_canonical c
+  WHERE m.id = c.message_id
+  AND c.message_id <> c.canonical_id;
+
+DROP TABLE message_canonical;
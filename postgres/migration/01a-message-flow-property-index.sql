@@ -0,0 +1,7 @@
+-- Indexes the message flow property table on the message flow.
+--
+-- Only the properties set on a message flow are stored against it so resolving a message flow's properties reads the properties of
+-- each of its ancestors by message flow id.  Without the index every one of those reads is a full table scan.  Run before
+-- 04-message-flow-partitioning.sql, which recreates the index on the partitioned table.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_message_flow_property_message_flow ON message_flow_property (message_flow_id);
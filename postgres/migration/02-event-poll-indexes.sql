@@ -0,0 +1,10 @@
+-- Replaces the component index on the event tables with an index matching the poll query.
+--
+-- The poll filters on component and orders by created date so with this index the oldest events for a component are read in order and
+-- the read stops once the batch is full, rather than the whole backlog for the component being sorted on every poll.
+
+CREATE INDEX CONCURRENTLY idx_outbox_event_poll ON outbox_event (component_id, created_date, id);
+CREATE INDEX CONCURRENTLY idx_inbox_event_poll ON inbox_event (component_id, created_date, id);
+
+DROP INDEX CONCURRENTLY idx_outbox_event_component;
+DROP INDEX CONCURRENTLY idx_inbox_event_component;
@@ -0,0 +1,10 @@
+-- Adds the claim columns to the inbox and outbox events for databases created before events were claimed.
+--
+-- A node claims the events it reads by recording its name and a lease expiry time so the other nodes skip them until they have been
+-- processed or the lease has expired.  Run it after 02-event-poll-indexes.sql and before 03-event-table-partitioning.sql, which copies
+-- the claim columns into the partitioned tables.  Adding a nullable column with no default does not rewrite the table.
+
+ALTER TABLE outbox_event ADD COLUMN IF NOT EXISTS claimed_by VARCHAR(100);
+ALTER TABLE outbox_event ADD COLUMN IF NOT EXISTS claim_expires TIMESTAMP;
+ALTER TABLE inbox_event ADD COLUMN IF NOT EXISTS claimed_by VARCHAR(100);
+ALTER TABLE inbox_event ADD COLUMN IF NOT EXISTS claim_expires TIMESTAMP;
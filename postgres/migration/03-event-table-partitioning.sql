@@ -0,0 +1,112 @@
+-- Optional.  Converts the inbox and outbox event tables to tables partitioned by day on the created date.
+--
+-- Events are deleted once processed so the old partitions empty out and are dropped whole rather than leaving dead rows and index
+-- entries behind for vacuum.  Run with the routes stopped.  Once converted set integration.event.partitioning.enabled=true so the
+-- partitions for the coming days are created and empty old partitions dropped by maintain_event_partitions.
+--
+-- The primary key has to include the partition column so it becomes (id, created_date).  Ids still come from a single identity sequence
+-- per table.
+--
+-- Requires the claim columns from 02a-event-claims.sql.
+
+CREATE OR REPLACE PROCEDURE maintain_event_partitions(days_ahead INTEGER) LANGUAGE plpgsql AS $$
+DECLARE
+  event_table    TEXT;
+  partition_day  DATE;
+  old_partition  TEXT;
+  has_rows       BOOLEAN;
+BEGIN
+  FOREACH event_table IN ARRAY ARRAY['outbox_event', 'inbox_event'] LOOP
+    FOR i IN 0..days_ahead LOOP
+      partition_day := CURRENT_DATE + i;
+
+      EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                     event_table || '_' || to_char(partition_day, 'YYYYMMDD'), event_table, partition_day, partition_day + 1);
+    END LOOP;
+
+    -- Nothing new is written to a past day so once a partition older than yesterday is empty it stays empty.
+    FOR old_partition IN
+      SELECT c.relname
+      FROM pg_inherits i
+      JOIN pg_class c ON c.oid = i.inhrelid
+      JOIN pg_class p ON p.oid = i.inhparent
+      WHERE p.relname = event_table
+        AND c.relname ~ ('^' || event_table || '_[0-9]{8}$')
+        AND to_date(right(c.relname, 8), 'YYYYMMDD') < CURRENT_DATE - 1
+    LOOP
+      EXECUTE format('SELECT EXISTS (SELECT 1 FROM %I)', old_partition) INTO has_rows;
+
+      IF NOT has_rows THEN
+        EXECUTE format('DROP TABLE %I', old_partition);
+      END IF;
+    END LOOP;
+  END LOOP;
+END;
+$$;
+
+
+ALTER TABLE outbox_event RENAME TO outbox_event_unpartitioned;
+ALTER TABLE inbox_event RENAME TO inbox_event_unpartitioned;
+
+-- Free the index names for the new tables.
+DROP INDEX IF EXISTS idx_outbox_event_poll;
+DROP INDEX IF EXISTS idx_inbox_event_poll;
+
+CREATE TABLE outbox_event (
+  id                 INTEGER GENERATED BY DEFAULT AS IDENTITY,
+  event_date_time    TIMESTAMP,
+  message_flow_id    INTEGER,
+  component_id       INTEGER,
+  route_id           INTEGER,
+  owner              VARCHAR(45),
+  retry_count        INTEGER,
+  retry_after        TIMESTAMP,
+  error              TEXT,
+  claimed_by         VARCHAR(100),
+  claim_expires      TIMESTAMP,
+  created_by_user_id VARCHAR(45),
+  created_date       TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (id, created_date)
+) PARTITION BY RANGE (created_date);
+
+CREATE TABLE inbox_event (
+  id                 INTEGER GENERATED BY DEFAULT AS IDENTITY,
+  event_date_time    TIMESTAMP,
+  message_flow_id    INTEGER,
+  component_id       INTEGER,
+  route_id           INTEGER,
+  owner              VARCHAR(45),
+  jms_message_id     VARCHAR(100),
+  retry_count        INTEGER,
+  retry_after        TIMESTAMP,
+  error              TEXT,
+  claimed_by         VARCHAR(100),
+  claim_expires      TIMESTAMP,
+  created_by_user_id VARCHAR(45),
+  created_date       TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (id, created_date)
+) PARTITION BY RANGE (created_date);
+
+CREATE INDEX idx_outbox_event_poll ON outbox_event (component_id, created_date, id);
+CREATE INDEX idx_inbox_event_poll ON inbox_event (component_id, created_date, id);
+
+-- Holds the events created before the conversion and anything which arrives for a day without a partition.
+CREATE TABLE outbox_event_default PARTITION OF outbox_event DEFAULT;
+CREATE TABLE inbox_event_default PARTITION OF inbox_event DEFAULT;
+
+-- Create the day partitions before the copy so no rows for those days land in the default partition.
+CALL maintain_event_partitions(7);
+
+INSERT INTO outbox_event (id, event_date_time, message_flow_id, component_id, route_id, owner, retry_count, retry_after, error, claimed_by, claim_expires, created_by_user_id, created_date)
+  SELECT id, event_date_time, message_flow_id, component_id, route_id, owner, retry_count, retry_after, error, claimed_by, claim_expires, created_by_user_id, COALESCE(created_date, event_date_time, CURRENT_TIMESTAMP)
+  FROM outbox_event_unpartitioned;
+
+INSERT INTO inbox_event (id, event_date_time, message_flow_id, component_id, route_id, owner, jms_message_id, retry_count, retry_after, error, claimed_by, claim_expires, created_by_user_id, created_date)
+  SELECT id, event_date_time, message_flow_id, component_id, route_id, owner, jms_message_id, retry_count, retry_after, error, claimed_by, claim_expires, created_by_user_id, COALESCE(created_date, event_date_time, CURRENT_TIMESTAMP)
+  FROM inbox_event_unpartitioned;
+
+SELECT setval(pg_get_serial_sequence('outbox_event', 'id'), COALESCE((SELECT MAX(id) FROM outbox_event), 0) + 1, false);
+SELECT setval(pg_get_serial_sequence('inbox_event', 'id'), COALESCE((SELECT MAX(id) FROM inbox_event), 0) + 1, false);
+
+DROP TABLE outbox_event_unpartitioned;
+DROP TABLE inbox_event_unpartitioned;
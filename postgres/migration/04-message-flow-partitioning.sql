@@ -0,0 +1,113 @@
+-- Optional.  Converts the message flow tables to tables partitioned by day on the created date so the message flow retention can drop
+-- whole days instead of deleting row by row.
+--
+-- Partitioned: message_flow_group, message_flow, message_flow_property, message_flow_error and message_flow_filtered.  The message table
+-- is not partitioned as a stored message is shared by every message flow with the same content, so old messages are only deleted once no
+-- message flow refers to them.
+--
+-- Run with the routes stopped.  Once converted set integration.retention.age-days on every node and integration.retention.purge.enabled=true
+-- on one node.  The rows created before the conversion are held in the default partitions and are deleted row by row once they pass the
+-- retention age.
+
+CREATE OR REPLACE PROCEDURE create_day_partitions(parent_table TEXT, days_ahead INTEGER) LANGUAGE plpgsql AS $$
+DECLARE
+  partition_day DATE;
+BEGIN
+  FOR i IN 0..days_ahead LOOP
+    partition_day := CURRENT_DATE + i;
+
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                   parent_table || '_' || to_char(partition_day, 'YYYYMMDD'), parent_table, partition_day, partition_day + 1);
+  END LOOP;
+END;
+$$;
+
+
+-- Drops the day partitions before a day whether or not they are empty.  The caller is responsible for checking they are no longer needed.
+CREATE OR REPLACE PROCEDURE drop_day_partitions(parent_table TEXT, before_day DATE) LANGUAGE plpgsql AS $$
+DECLARE
+  old_partition TEXT;
+BEGIN
+  FOR old_partition IN
+    SELECT c.relname
+    FROM pg_inherits i
+    JOIN pg_class c ON c.oid = i.inhrelid
+    JOIN pg_class p ON p.oid = i.inhparent
+    WHERE p.relname = parent_table
+      AND c.relname ~ ('^' || parent_table || '_[0-9]{8}$')
+      AND to_date(right(c.relname, 8), 'YYYYMMDD') < before_day
+  LOOP
+    EXECUTE format('DROP TABLE %I', old_partition);
+  END LOOP;
+
+  EXECUTE format('DELETE FROM %I WHERE created_date < %L', parent_table || '_default', before_day);
+END;
+$$;
+
+
+CREATE OR REPLACE PROCEDURE maintain_message_flow_partitions(days_ahead INTEGER) LANGUAGE plpgsql AS $$
+DECLARE
+  retained_table TEXT;
+BEGIN
+  FOREACH retained_table IN ARRAY ARRAY['message_flow_group', 'message_flow', 'message_flow_property', 'message_flow_error', 'message_flow_filtered'] LOOP
+    CALL create_day_partitions(retained_table, days_ahead);
+  END LOOP;
+END;
+$$;
+
+
+CREATE OR REPLACE PROCEDURE drop_message_flow_partitions(before_day DATE) LANGUAGE plpgsql AS $$
+DECLARE
+  retained_table TEXT;
+BEGIN
+  -- Dropping a partition locks the parent table.  Give up rather than queue behind a long transaction and block the routes.
+  SET LOCAL lock_timeout = '5s';
+
+  FOREACH retained_table IN ARRAY ARRAY['message_flow_group', 'message_flow', 'message_flow_property', 'message_flow_error', 'message_flow_filtered'] LOOP
+    CALL drop_day_partitions(retained_table, before_day);
+  END LOOP;
+END;
+$$;
+
+
+DROP INDEX IF EXISTS idx_message_flow_parent;
+DROP INDEX IF EXISTS idx_message_flow_property_message_flow;
+
+DO $$
+DECLARE
+  retained_table TEXT;
+BEGIN
+  FOREACH retained_table IN ARRAY ARRAY['message_flow_group', 'message_flow', 'message_flow_property', 'message_flow_error', 'message_flow_filtered'] LOOP
+    EXECUTE format('ALTER TABLE %I RENAME TO %I', retained_table, retained_table || '_unpartitioned');
+    EXECUTE format('UPDATE %I SET created_date = CURRENT_TIMESTAMP WHERE created_date IS NULL', retained_table || '_unpartitioned');
+
+    EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS INCLUDING IDENTITY, PRIMARY KEY (id, created_date)) PARTITION BY RANGE (created_date)',
+                   retained_table, retained_table || '_unpartitioned');
+    EXECUTE format('CREATE TABLE %I PARTITION OF %I DEFAULT', retained_table || '_default', retained_table);
+  END LOOP;
+END;
+$$;
+
+CREATE INDEX idx_message_flow_group_created_date ON message_flow_group (created_date);
+CREATE INDEX idx_message_flow_parent ON message_flow (parent_message_flow_id);
+CREATE INDEX idx_message_flow_group ON message_flow (group_id);
+CREATE INDEX idx_message_flow_message ON message_flow (message_id);
+CREATE INDEX idx_message_flow_property_message_flow ON message_flow_property (message_flow_id);
+CREATE INDEX idx_message_flow_error_message_flow ON message_flow_error (message_flow_id);
+CREATE INDEX idx_message_flow_filtered_message_flow ON message_flow_filtered (message_flow_id);
+CREATE INDEX idx_message_created_date ON message (created_date);
+
+-- Create the day partitions before the copy so no rows for those days land in the default partitions.
+CALL maintain_message_flow_partitions(7);
+
+DO $$
+DECLARE
+  retained_table TEXT;
+BEGIN
+  FOREACH retained_table IN ARRAY ARRAY['message_flow_group', 'message_flow', 'message_flow_property', 'message_flow_error', 'message_flow_filtered'] LOOP
+    EXECUTE format('INSERT INTO %I OVERRIDING SYSTEM VALUE SELECT * FROM %I', retained_table, retained_table || '_unpartitioned');
+    EXECUTE format('SELECT setval(pg_get_serial_sequence(%L, ''id''), COALESCE((SELECT MAX(id) FROM %I), 0) + 1, false)', retained_table, retained_table);
+    EXECUTE format('DROP TABLE %I', retained_table || '_unpartitioned');
+  END LOOP;
+END;
+$$;
@@ -0,0 +1,20 @@
+-- Adds the parked state to the inbox and outbox events.
+--
+-- An event is parked when it cannot be retried or has failed as many times as the component's retry policy allows.  Parked events are
+-- not selected by the event polls until they are replayed so the poll index only covers the events which are not parked.  Parked events
+-- are left out of the index entirely so however many there are they are never read by a poll.
+--
+-- Indexes cannot be created concurrently on partitioned tables so if 03-event-table-partitioning.sql has been applied run this with the
+-- routes stopped.
+
+ALTER TABLE outbox_event ADD COLUMN IF NOT EXISTS parked_date TIMESTAMP;
+ALTER TABLE inbox_event ADD COLUMN IF NOT EXISTS parked_date TIMESTAMP;
+
+CREATE INDEX idx_outbox_event_poll_unparked ON outbox_event (component_id, created_date, id) WHERE parked_date IS NULL;
+CREATE INDEX idx_inbox_event_poll_unparked ON inbox_event (component_id, created_date, id) WHERE parked_date IS NULL;
+
+DROP INDEX idx_outbox_event_poll;
+DROP INDEX idx_inbox_event_poll;
+
+ALTER INDEX idx_outbox_event_poll_unparked RENAME TO idx_outbox_event_poll;
+ALTER INDEX idx_inbox_event_poll_unparked RENAME TO idx_inbox_event_poll;